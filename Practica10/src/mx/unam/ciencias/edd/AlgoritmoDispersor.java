@@ -9,5 +9,15 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /** Algoritmo MurmurHash3 de 32 bits para cadenas. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash32 para cadenas. */
+    XXHASH32_STRING,
+    /** Algoritmo xxHash64 para cadenas. */
+    XXHASH64_STRING,
+    /** Algoritmo al estilo de wyhash para cadenas. */
+    WYHASH_STRING,
+    /** Algoritmo SipHash-1-3 para cadenas. */
+    SIPHASH_STRING;
 }
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
+
 import mx.unam.ciencias.edd.ArbolAVL.VerticeAVL;
 import mx.unam.ciencias.edd.ArbolBinario.Vertice;
 
@@ -13,95 +15,44 @@ public class ArbolAVL<T extends Comparable<T>>
     extends ArbolBinarioOrdenado<T> {
 
     /**
-     * Clase interna protegida para vértices de árboles AVL. La única diferencia
-     * con los vértices de árbol binario, es que tienen una variable de clase
-     * para la altura del vértice.
+     * Clase interna protegida para vértices de árboles AVL. La altura del
+     * vértice la guardan todos los vértices de árbol binario; los vértices
+     * AVL la muestran junto con su balance al escribirse, y la comparan en
+     * {@link #equals}.
      */
     protected class VerticeAVL extends Vertice {
 
-        /** La altura del vértice. */
-        public int altura;
-
         /**
          * Constructor único que recibe un elemento.
          * @param elemento el elemento del vértice.
          */
         public VerticeAVL(T elemento) {
         	super(elemento);
-               altura = 0;
         }
 
         /**
-         * Regresa la altura del vértice.
-         * @return la altura del vértice.
+         * Escribe el dibujo del subárbol del vértice AVL en la salida
+         * recibida. A diferencia de los vértices de árbol binario, un vértice
+         * AVL sin hijos también termina con salto de línea.
+         * @param salida la salida donde se escribe el subárbol.
+         * @throws IOException si la salida no puede escribirse.
          */
-        @Override public int altura() {
-        	return altura;
-        	}
+        @Override public void escribe(Appendable salida) throws IOException {
+            dibuja(salida, 0, new boolean[altura]);
+        }
 
         /**
-         * Regresa una representación en cadena del vértice AVL.
-         * @return una representación en cadena del vértice AVL.
+         * Escribe la etiqueta del vértice AVL: su elemento, su altura y su
+         * balance.
+         * @param salida la salida donde se escribe la etiqueta.
+         * @throws IOException si la salida no puede escribirse.
          */
-        @Override public String toString() {
-        	if(raiz == null) return "";
-        	            int[] arbin = new int[altura()];
-        	            for(int i = 0; i < arbin.length; i++){
-        	              arbin[i] = 0;
-        	            }
-        	            return toString(this, 0, arbin);
-        	//return elemento.toString()+ " " + altura + "/" + daBalance(this);
-        	//
-        	//      
-        	//        }
-        	//        
-        	//        public int calculaAltura(VerticeAVL v) {
-        	//        	if (v == null)
-        	//        		return -1;
-        	//        	return 1 + (int)Math.max(calculaAltura((VerticeAVL)(v.izquierdo)), calculaAltura((VerticeAVL)(v.derecho)));
-        	//        	
-        	        }        
-        	        
-        	        
-        	        private String toString(VerticeAVL v, int a, int[] arbin){
-        	            String s = v.elemento.toString() + " " + v.altura + "/" + daBalance(v) + "\n";
-        	            if(v.hayIzquierdo() && v.hayDerecho()){
-        	              arbin[a] = 1;
-        	              s += dibujaEspacios(a,arbin);
-        	              s += "├─›";
-        	              s += toString((VerticeAVL)v.izquierdo, a+1, arbin);
-        	              s += dibujaEspacios(a,arbin);
-        	              s += "└─»";
-        	              arbin[a] = 0;
-        	              s += toString((VerticeAVL)v.derecho, a+1, arbin);
-        	            }else if(v.hayIzquierdo()){
-        	              s += dibujaEspacios(a,arbin);
-        	              s += "└─›";
-        	              arbin[a] = 0;
-        	              s += toString((VerticeAVL)v.izquierdo, a+1, arbin);
-        	            }else if(v.hayDerecho()){
-        	              s += dibujaEspacios(a,arbin);
-        	              s += "└─»";
-        	              arbin[a] = 0;
-        	              s += toString((VerticeAVL)v.derecho, a+1, arbin);
-        	            }
-        	           return s;
-        	         }
-        	        
-        	        private int daBalance(VerticeAVL v) {
-        	        	return getAlturaCalculada((VerticeAVL)v.izquierdo) - getAlturaCalculada((VerticeAVL)(v.derecho));
-        	            
-        			}
-        	 
-        			private String dibujaEspacios(int a, int[] arbin){
-        	    	    String s = "";
-        	    	    for(int i = 0; i < a; i++)
-        	    		if(arbin[i] == 1)
-        	    		    s += "│  ";
-        	    		else
-        	    		    s += "   ";
-        	    	    return s;
-        	   }
+        @Override protected void escribeEtiqueta(Appendable salida)
+            throws IOException {
+            salida.append(elemento.toString()).append(' ')
+                  .append(String.valueOf(altura)).append('/')
+                  .append(String.valueOf(daBalance(this)));
+        }
 
         /**
          * Compara el vértice con otro objeto. La comparación es
@@ -158,29 +109,28 @@ public class ArbolAVL<T extends Comparable<T>>
      * @param elemento el elemento a agregar.
      */
     @Override public void agrega(T elemento) {
-    	super.agrega(elemento);
-    	       rebalanceo((VerticeAVL)ultimoAgregado);
-    	    }
-    	private void rebalanceo (VerticeAVL vertice) {
-    		if (vertice == null) 
-    			return;
-    		cambiaAltura(vertice);
-    	
-    	    if (balance(vertice) == -2) {
-    	        if (balance((VerticeAVL)(vertice.derecho)) == 1)
-    	            giraDerechaAVL((VerticeAVL)(vertice.derecho));
-    	
-    	        giraIzquierdaAVL(vertice);
-    	    } else if (balance(vertice) == 2) {
-    	        if (balance((VerticeAVL)(vertice.izquierdo)) == -1)
-    	            giraIzquierdaAVL((VerticeAVL)(vertice.izquierdo));
-    	
-    	        giraDerechaAVL(vertice);
-    	     }
-    	    
-    	    rebalanceo((VerticeAVL)(vertice.padre));
-    	}
-    	
+        super.agrega(elemento);
+        rebalanceo((VerticeAVL)ultimoAgregado);
+    }
+
+    /* Sube del vértice a la raíz actualizando alturas, y gira donde el
+     * balance llegue a 2 o -2. */
+    private void rebalanceo(VerticeAVL vertice) {
+        while (vertice != null) {
+            cambiaAltura(vertice);
+            if (balance(vertice) == -2) {
+                if (balance((VerticeAVL)(vertice.derecho)) == 1)
+                    giraDerechaAVL((VerticeAVL)(vertice.derecho));
+                giraIzquierdaAVL(vertice);
+            } else if (balance(vertice) == 2) {
+                if (balance((VerticeAVL)(vertice.izquierdo)) == -1)
+                    giraIzquierdaAVL((VerticeAVL)(vertice.izquierdo));
+                giraDerechaAVL(vertice);
+            }
+            vertice = (VerticeAVL)(vertice.padre);
+        }
+    }
+
     	private void cambiaAltura(VerticeAVL vertice) {
     	    vertice.altura = getAlturaCalculada(vertice);
     	}
@@ -242,7 +192,7 @@ public class ArbolAVL<T extends Comparable<T>>
     	            eliminaHoja(vertice);
     	        else
     	            subirHijo(vertice);
-    	        
+    	        actualiza(vertice.padre);
     	        rebalanceo((VerticeAVL)(vertice.padre));
     	        elementos--;
     	    }
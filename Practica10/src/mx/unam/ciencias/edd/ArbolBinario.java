@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
 import java.util.NoSuchElementException;
 
 import mx.unam.ciencias.edd.ArbolBinario.Vertice;
@@ -25,6 +26,10 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         public Vertice izquierdo;
         /** El derecho del vértice. */
         public Vertice derecho;
+        /** La altura del vértice; los árboles la actualizan al modificarse. */
+        public int altura;
+        /** El número de elementos en el subárbol del vértice. */
+        public int tamanio;
 
         /**
          * Constructor único que recibe un elemento.
@@ -32,7 +37,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         public Vertice(T elemento) {
         	this.elemento =  elemento;
-            
+            tamanio = 1;
         }
 
         /**
@@ -112,11 +117,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          * @return la altura del vértice.
          */
         @Override public int altura() {
-        	
-        	if (raiz == null)
-            	return -1 ;
-            return 1+ Math.max(hayDerecho() ? derecho.altura() : -1 , hayIzquierdo() ? izquierdo.altura(): -1);
-        
+            return altura;
         }
 
         /**
@@ -124,10 +125,10 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          * @return la profundidad del vértice.
          */
         @Override public int profundidad() {
-        	if (this == raiz)
-            	return 0;
-            return 1 + (padre.profundidad());
-        
+            int profundidad = 0;
+            for (Vertice v = padre; v != null; v = v.padre)
+                profundidad++;
+            return profundidad;
         }
 
         /**
@@ -157,72 +158,114 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
                     && equals(raiz.derecho, vertice.derecho);
         
         }
+        /* Compara los subárboles de dos vértices por sus elementos,
+         * recorriéndolos a la par con una pila en lugar de recursión. */
         private boolean equals(Vertice i, Vertice d) {
-            
-            if (i == null && d == null)
-                return true;
-          
-            else if (i != null && d == null || i == null && d != null)
-                return false;
-                     return i.get().equals(d.get()) && equals(i.izquierdo, d.izquierdo)
-                && equals(i.derecho, d.derecho);
-     }
-
-        
+            if (i == null || d == null)
+                return i == d;
+            PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+            pila.mete(i);
+            pila.mete(d);
+            while (!pila.esVacia()) {
+                d = pila.saca();
+                i = pila.saca();
+                if (!i.get().equals(d.get()) ||
+                    (i.izquierdo == null) != (d.izquierdo == null) ||
+                    (i.derecho == null) != (d.derecho == null))
+                    return false;
+                if (i.izquierdo != null) {
+                    pila.mete(i.izquierdo);
+                    pila.mete(d.izquierdo);
+                }
+                if (i.derecho != null) {
+                    pila.mete(i.derecho);
+                    pila.mete(d.derecho);
+                }
+            }
+            return true;
+        }
 
         /**
          * Regresa una representación en cadena del vértice.
          * @return una representación en cadena del vértice.
          */
-        public String toString() {
-        	if(altura() == 0) return elemento.toString();
-            int[] arbin = new int[altura()];
-            for(int i = 0; i < arbin.length; i++){
-              arbin[i] = 0;
-            }
-            return toString(this, 0, arbin);
-        
-        }
-    
-        private String toString(Vertice v, int a, int[] arbin){
-            String s = v.elemento.toString() + "\n";
-            if(v.hayIzquierdo() && v.hayDerecho()){
-              arbin[a] = 1;
-              s += dibujaEspacios(a,arbin);
-              s += "├─›";
-              s += toString(v.izquierdo, a+1, arbin);
-              s += dibujaEspacios(a,arbin);
-              s += "└─»";
-              arbin[a] = 0;
-              s += toString(v.derecho, a+1, arbin);
-            }else if(v.hayIzquierdo()){
-              s += dibujaEspacios(a,arbin);
-              s += "└─›";
-              arbin[a] = 0;
-              s += toString(v.izquierdo, a+1, arbin);
-            }else if(v.hayDerecho()){
-              s += dibujaEspacios(a,arbin);
-              s += "└─»";
-              arbin[a] = 0;
-              s += toString(v.derecho, a+1, arbin);
-            }
-            return s;
+        @Override public String toString() {
+            return Escritura.cadena(this::escribe);
         }
 
         /**
-          * metodo auxiliar que dibuja los espacios en un arbol
-          * @param a altura del vertice
-          * @param arbin arreglo binario
-          * @return los espacios a agregar en la cadena
-          */
-        private String dibujaEspacios(int a, int[] arbin){
-          String s = "";
-          for(int i = 0; i < a; i++)
-            if(arbin[i] == 1)
-              s += "│  ";
+         * Escribe el dibujo del subárbol del vértice en la salida recibida,
+         * sin construir cadenas intermedias. Un vértice sin hijos se escribe
+         * sin salto de línea.
+         * @param salida la salida donde se escribe el subárbol.
+         * @throws IOException si la salida no puede escribirse.
+         */
+        public void escribe(Appendable salida) throws IOException {
+            if (izquierdo == null && derecho == null)
+                escribeEtiqueta(salida);
             else
-              s += "   ";
-          return s;
+                dibuja(salida, 0, new boolean[altura()]);
+        }
+
+        /**
+         * Escribe la etiqueta del vértice, sin salto de línea. Las clases
+         * herederas la sobrecargan para agregar su información.
+         * @param salida la salida donde se escribe la etiqueta.
+         * @throws IOException si la salida no puede escribirse.
+         */
+        protected void escribeEtiqueta(Appendable salida)
+            throws IOException {
+            salida.append(elemento.toString());
+        }
+
+        /**
+         * Escribe el dibujo del subárbol del vértice, que está a profundidad
+         * <code>a</code> dentro del dibujo. El subárbol se recorre en
+         * pre-orden con una pila, sin recursión, así que árboles muy
+         * profundos no desbordan la pila de ejecución.
+         * @param salida la salida donde se escribe el subárbol.
+         * @param a la profundidad del vértice en el dibujo.
+         * @param ramas para cada nivel anterior, si hay que dibujar una barra
+         *        vertical.
+         * @throws IOException si la salida no puede escribirse.
+         */
+        protected void dibuja(Appendable salida, int a, boolean[] ramas)
+            throws IOException {
+            /* Para cada vértice pendiente se guarda su profundidad y con
+             * qué rama se dibuja: ninguna, "├─›", "└─›" o "└─»". */
+            PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+            PilaInt ramasPendientes = new PilaInt();
+            pila.mete(this);
+            ramasPendientes.mete(a << 2);
+            while (!pila.esVacia()) {
+                Vertice v = pila.saca();
+                int r = ramasPendientes.saca();
+                int p = r >> 2;
+                if ((r & 3) != 0) {
+                    ramas[p - 1] = (r & 3) == 1;
+                    dibujaEspacios(salida, p - 1, ramas);
+                    salida.append((r & 3) == 1 ? "├─›" :
+                                  (r & 3) == 2 ? "└─›" : "└─»");
+                }
+                v.escribeEtiqueta(salida);
+                salida.append('\n');
+                int h = (p + 1) << 2;
+                if (v.derecho != null) {
+                    pila.mete(v.derecho);
+                    ramasPendientes.mete(h | 3);
+                }
+                if (v.izquierdo != null) {
+                    pila.mete(v.izquierdo);
+                    ramasPendientes.mete(h | (v.derecho != null ? 1 : 2));
+                }
+            }
+        }
+
+        /* Escribe los espacios y barras verticales antes de una rama. */
+        private void dibujaEspacios(Appendable salida, int a, boolean[] ramas)
+            throws IOException {
+            for (int i = 0; i < a; i++)
+                salida.append(ramas[i] ? "│  " : "   ");
         }
 
 		
@@ -275,6 +318,60 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
   	       
      }
 
+    /**
+     * Calcula la altura del vértice a partir de las alturas de sus hijos.
+     * @param vertice el vértice del que queremos la altura.
+     * @return la altura del vértice; -1 si el vértice es <code>null</code>.
+     */
+    protected int calculaAltura(Vertice vertice) {
+        if (vertice == null)
+            return -1;
+        int i = vertice.izquierdo == null ? -1 : vertice.izquierdo.altura;
+        int d = vertice.derecho == null ? -1 : vertice.derecho.altura;
+        return 1 + Math.max(i, d);
+    }
+
+    /**
+     * Regresa el número de elementos en el subárbol del vértice.
+     * @param vertice el vértice del que queremos el número de elementos.
+     * @return el número de elementos en el subárbol del vértice; 0 si el
+     *         vértice es <code>null</code>.
+     */
+    protected int tamanio(Vertice vertice) {
+        return vertice == null ? 0 : vertice.tamanio;
+    }
+
+    /**
+     * Recalcula la altura del vértice y el número de elementos en su
+     * subárbol a partir de los de sus hijos.
+     * @param vertice el vértice a recalcular.
+     * @return <code>true</code> si la altura o el número de elementos del
+     *         vértice cambiaron; <code>false</code> en otro caso.
+     */
+    protected boolean recalcula(Vertice vertice) {
+        int altura = calculaAltura(vertice);
+        int tamanio = 1 + tamanio(vertice.izquierdo) +
+            tamanio(vertice.derecho);
+        if (altura == vertice.altura && tamanio == vertice.tamanio)
+            return false;
+        vertice.altura = altura;
+        vertice.tamanio = tamanio;
+        return true;
+    }
+
+    /**
+     * Actualiza la altura y el número de elementos del vértice recibido y de
+     * sus ancestros, después de que cambió uno de sus hijos. Sube hasta la
+     * raíz, o hasta el primer vértice que no cambia, porque sus ancestros
+     * tampoco cambian.
+     * @param vertice el vértice cuyos hijos cambiaron; puede ser
+     *        <code>null</code>.
+     */
+    protected void actualiza(Vertice vertice) {
+        while (vertice != null && recalcula(vertice))
+            vertice = vertice.padre;
+    }
+
     /**
      * Regresa el número de elementos que se han agregado al árbol.
      * @return el número de elementos en el árbol.
@@ -305,16 +402,33 @@ return elementos;
     public VerticeArbolBinario<T> busca(T elemento) {
     	return busca(raiz, elemento);
     }
+
+    /**
+     * Busca el vértice de un elemento en el subárbol del vértice recibido,
+     * recorriéndolo en pre-orden con una pila y deteniéndose en el primer
+     * vértice cuyo elemento es igual al recibido. Las clases herederas que
+     * conocen el orden de sus elementos pueden sobrecargarlo para no visitar
+     * todo el subárbol.
+     * @param vertice la raíz del subárbol donde se busca.
+     * @param elemento el elemento para buscar el vértice.
+     * @return el primer vértice en pre-orden que contiene el elemento
+     *         buscado; <tt>null</tt> si no hay ninguno.
+     */
     protected Vertice busca(Vertice vertice, T elemento) {
-        if (vertice == null)
+        if (vertice == null || elemento == null)
             return null;
-        if (vertice.get().equals(elemento))
-        	
-            return vertice;
-        Vertice mi = busca(vertice.izquierdo, elemento);
-        Vertice md = busca(vertice.derecho, elemento);
-        return mi != null ? mi : md;
-    
+        PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+        pila.mete(vertice);
+        while (!pila.esVacia()) {
+            Vertice v = pila.saca();
+            if (v.elemento.equals(elemento))
+                return v;
+            if (v.derecho != null)
+                pila.mete(v.derecho);
+            if (v.izquierdo != null)
+                pila.mete(v.izquierdo);
+        }
+        return null;
     }
 
     /**
@@ -368,9 +482,18 @@ return elementos;
      * @return una representación en cadena del árbol.
      */
     @Override public String toString() {
-    	if(raiz == null) return "";
-        return raiz.toString();
-    	 
+        return Escritura.cadena(this::escribe);
+    }
+
+    /**
+     * Escribe la representación en cadena del árbol en la salida recibida,
+     * vértice por vértice y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe el árbol.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        if (raiz != null)
+            raiz.escribe(salida);
     }
 
     /**
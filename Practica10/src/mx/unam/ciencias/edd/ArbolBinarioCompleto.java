@@ -15,11 +15,11 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     private class Iterador implements Iterator<T> {
 
         /* Cola para recorrer los vértices en BFS. */
-        private Cola<Vertice> cola;
+        private ColaArreglo<Vertice> cola;
 
         /* Constructor que recibe la raíz del árbol. */
         public Iterador() {
-        	cola = new Cola<>();
+        	cola = new ColaArreglo<>();
             if(raiz != null)
                 cola.mete(raiz);
         
@@ -42,6 +42,26 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         }
     }
 
+    /* Clase privada para vértices indexados. Los vértices con elementos
+     * iguales forman una lista doblemente ligada, cuya cabeza es la que
+     * guarda el índice. */
+    private class VerticeIndexado extends Vertice {
+
+        /* El vértice anterior con un elemento igual. */
+        public VerticeIndexado anterior;
+        /* El vértice siguiente con un elemento igual. */
+        public VerticeIndexado siguiente;
+
+        /* Construye un vértice indexado con un elemento. */
+        public VerticeIndexado(T elemento) {
+            super(elemento);
+        }
+    }
+
+    /* El índice de los elementos a sus vértices; null si el árbol no está
+     * indexado. */
+    private Diccionario<T, VerticeIndexado> indice;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -58,91 +78,175 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol binario completo vacío, que puede estar indexado.
+     * Un árbol indexado mantiene un {@link Diccionario} de sus elementos a
+     * sus vértices, así que {@link #contiene}, {@link #busca} y {@link
+     * #elimina} toman tiempo esperado <i>O</i>(1) en lugar de recorrer el
+     * árbol, a cambio de memoria extra por vértice. Los elementos de un árbol
+     * indexado deben implementar {@link Object#hashCode} de forma consistente
+     * con {@link Object#equals}.
+     * @param indexado si el árbol se indexa.
+     */
+    public ArbolBinarioCompleto(boolean indexado) {
+        if (indexado)
+            indice = new Diccionario<T, VerticeIndexado>();
+    }
+
+    /**
+     * Construye un árbol binario completo a partir de una colección, que
+     * puede estar indexado. El árbol binario completo tiene los mismos
+     * elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos el árbol
+     *        binario completo.
+     * @param indexado si el árbol se indexa.
+     * @see #ArbolBinarioCompleto(boolean)
+     */
+    public ArbolBinarioCompleto(Coleccion<T> coleccion, boolean indexado) {
+        this(indexado);
+        for (T elemento : coleccion)
+            agrega(elemento);
+    }
+
+    /**
+     * Nos dice si el árbol está indexado.
+     * @return <code>true</code> si el árbol está indexado,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esIndexado() {
+        return indice != null;
+    }
+
+    /* Regresa el vértice con el índice recibido en el recorrido BFS, donde
+     * la raíz tiene índice 1. Los bits del índice después del más
+     * significativo dicen, de arriba hacia abajo, si hay que bajar a la
+     * izquierda (0) o a la derecha (1). */
+    private Vertice verticeEn(int indice) {
+        Vertice vertice = raiz;
+        for (int b = Integer.highestOneBit(indice) >> 1; b > 0; b >>= 1)
+            vertice = (indice & b) == 0 ? vertice.izquierdo : vertice.derecho;
+        return vertice;
+    }
+
+    /* Crea un vértice indexado para el elemento y lo pone como cabeza de los
+     * vértices con elementos iguales. */
+    private VerticeIndexado indexa(T elemento) {
+        VerticeIndexado vertice = new VerticeIndexado(elemento);
+        vertice.siguiente = indice.get(elemento, null);
+        if (vertice.siguiente != null)
+            vertice.siguiente.anterior = vertice;
+        indice.agrega(elemento, vertice);
+        return vertice;
+    }
+
+    /* Saca al vértice de los vértices con elementos iguales. */
+    private void desindexa(VerticeIndexado vertice) {
+        if (vertice.siguiente != null)
+            vertice.siguiente.anterior = vertice.anterior;
+        if (vertice.anterior != null)
+            vertice.anterior.siguiente = vertice.siguiente;
+        else if (vertice.siguiente != null)
+            indice.agrega(vertice.elemento, vertice.siguiente);
+        else
+            indice.elimina(vertice.elemento);
+        vertice.anterior = vertice.siguiente = null;
+    }
+
+    /* Pone al vértice v en el lugar de u entre los vértices con elementos
+     * iguales; v ya tiene el elemento de u. */
+    private void reemplaza(VerticeIndexado u, VerticeIndexado v) {
+        v.anterior = u.anterior;
+        v.siguiente = u.siguiente;
+        if (v.siguiente != null)
+            v.siguiente.anterior = v;
+        if (v.anterior != null)
+            v.anterior.siguiente = v;
+        else
+            indice.agrega(v.elemento, v);
+    }
+
     /**
      * Agrega un elemento al árbol binario completo. El nuevo elemento se coloca
-     * a la derecha del último nivel, o a la izquierda de un nuevo nivel.
+     * a la derecha del último nivel, o a la izquierda de un nuevo nivel. El
+     * padre del nuevo vértice se encuentra bajando desde la raíz, en tiempo
+     * <i>O</i>(log <i>n</i>).
      * @param elemento el elemento a agregar al árbol.
      * @throws IllegalArgumentException si <code>elemento</code> es
      *         <code>null</code>.
      */
     @Override public void agrega(T elemento) {
-    	if (elemento == null)
+        if (elemento == null)
             throw new IllegalArgumentException();
-
-        Vertice el = new Vertice(elemento);
-        elementos ++;
-        
-        if (raiz == null)
-           raiz = el;       	 
-        
-        else {
-            
-            Vertice a = raiz;
-            Cola<Vertice> cola = new Cola<>();
-            
-            cola.mete(a);
-            while (!cola.esVacia()) {
-                a = cola.saca();
-            
-                if (!a.hayIzquierdo() || !a.hayDerecho()) {
-                    el.padre = a;
-                    if (!a.hayIzquierdo())
-                         a.izquierdo = el;
-                    else if (!a.hayDerecho())
-                       a.derecho = el;
-            
-                    break;
-                }
-   cola.mete(a.izquierdo);
-                cola.mete(a.derecho);
-            }
-            }
-
+        Vertice vertice = indice == null ?
+            nuevoVertice(elemento) : indexa(elemento);
+        if (raiz == null) {
+            raiz = vertice;
+        } else {
+            Vertice padre = verticeEn((elementos + 1) / 2);
+            vertice.padre = padre;
+            if (padre.izquierdo == null)
+                padre.izquierdo = vertice;
+            else
+                padre.derecho = vertice;
+            actualiza(padre);
+        }
+        elementos++;
     }
 
     /**
      * Elimina un elemento del árbol. El elemento a eliminar cambia lugares con
      * el último elemento del árbol al recorrerlo por BFS, y entonces es
-     * eliminado.
+     * eliminado. El último vértice se encuentra bajando desde la raíz, en
+     * tiempo <i>O</i>(log <i>n</i>); si el árbol está indexado, el vértice
+     * del elemento también.
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
-    	  if(elemento == null || esVacia())
-    		    return ;
-    		    	
-    		    Cola<Vertice> cola = new Cola<>();
-    		    
-    		    cola.mete(raiz);
-    		    
-    		    Vertice elimina = null;
-    		    Vertice ultimo = null;
-    		    while (!cola.esVacia()){
-    		    	ultimo = cola.saca();
-    		    	if (ultimo.get().equals(elemento)) elimina = ultimo ;
-    		    	if(ultimo.hayIzquierdo()) cola.mete(ultimo.izquierdo);
-    		    	if (ultimo.hayDerecho()) cola.mete(ultimo.derecho);
-    		    }
-    		    if (elimina == null)
-    		    	return ;
-    		    T a1 = elimina.get();
-    		    T a2 = ultimo.get();
-    		    
-    		    elimina.elemento = a2;
-    		    ultimo.elemento = a1;
-    		    
-    		    if (ultimo == raiz) {
-    		    	raiz = null;
-    		    raiz = null;
-    		    elementos = 0;
-    		    return ;
-    		    }
-    		    Vertice padre = ultimo.padre;
-    		    if(padre.izquierdo == ultimo)
-    		    	padre.izquierdo = null;
-    		    else padre.derecho = null;
-    		    elementos --;
-    		    
+        Vertice vertice = busca(raiz, elemento);
+        if (vertice == null)
+            return;
+        Vertice ultimo = verticeEn(elementos);
+        if (indice != null)
+            desindexa((VerticeIndexado)vertice);
+        if (ultimo != vertice) {
+            vertice.elemento = ultimo.elemento;
+            if (indice != null)
+                reemplaza((VerticeIndexado)ultimo, (VerticeIndexado)vertice);
+        }
+        Vertice padre = ultimo.padre;
+        if (padre == null)
+            raiz = null;
+        else if (padre.izquierdo == ultimo)
+            padre.izquierdo = null;
+        else
+            padre.derecho = null;
+        ultimo.padre = null;
+        actualiza(padre);
+        elementos--;
+    }
+
+    /**
+     * Busca el vértice de un elemento en el subárbol del vértice recibido.
+     * Si el árbol está indexado y el subárbol es todo el árbol, el vértice
+     * se obtiene del índice.
+     * @param vertice la raíz del subárbol donde se busca.
+     * @param elemento el elemento para buscar el vértice.
+     * @return un vértice que contiene el elemento buscado si lo encuentra;
+     *         <tt>null</tt> en otro caso.
+     */
+    @Override protected Vertice busca(Vertice vertice, T elemento) {
+        if (indice == null || vertice != raiz || elemento == null)
+            return super.busca(vertice, elemento);
+        return indice.get(elemento, null);
+    }
 
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        super.limpia();
+        if (indice != null)
+            indice.limpia();
     }
 
     /**
@@ -166,7 +270,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     public void bfs(AccionVerticeArbolBinario<T> accion) {
         if (esVacia())
         	return ;
-       Cola<Vertice> cola = new Cola<>();
+       ColaArreglo<Vertice> cola = new ColaArreglo<>();
        cola.mete(raiz);
        Vertice a;
        while (!cola.esVacia()) {
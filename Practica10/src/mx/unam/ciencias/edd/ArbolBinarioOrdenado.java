@@ -2,6 +2,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 
 
@@ -24,26 +25,40 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     private class Iterador implements Iterator<T> {
 
         /* Pila para recorrer los vertices en DFS in-order. */
-        private Pila<Vertice> pila;
-
-        /* Construye un iterador con el vertice recibido. */
-        public Iterador() {
-        	  pila = new Pila<>();
-              Vertice v = raiz;
-              while(v != null){
-                pila.mete(v);
-                v = v.izquierdo;
-              }
+        private PilaArreglo<Vertice> pila;
+        /* El límite superior del recorrido; null si no hay. */
+        private T hasta;
+
+        /* Construye un iterador para los elementos entre desde y hasta,
+         * inclusive; un límite null no acota el recorrido. Para empezar
+         * baja directo al primer elemento mayor o igual que desde, metiendo
+         * a la pila sólo los vértices que todavía hay que visitar. */
+        public Iterador(T desde, T hasta) {
+            this.hasta = hasta;
+            pila = new PilaArreglo<>();
+            Vertice v = raiz;
+            while (v != null) {
+                if (desde == null || desde.compareTo(v.elemento) <= 0) {
+                    pila.mete(v);
+                    v = v.izquierdo;
+                } else {
+                    v = v.derecho;
+                }
+            }
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
-        	return !pila.esVacia();
+            if (pila.esVacia())
+                return false;
+            return hasta == null || pila.mira().elemento.compareTo(hasta) <= 0;
         }
 
         /* Regresa el siguiente elemento en orden DFS in-order. */
         @Override public T next() {
-        	Vertice v = pila.saca();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Vertice v = pila.saca();
             T e = v.get();
             v = v.derecho;
             while(v != null){
@@ -51,11 +66,8 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
               v = v.izquierdo;
             }
             return e;
-                }
-
-
         }
-    
+    }
 
     /**
      * El vertice del ultimo elemento agegado. Este vertice solo se puede
@@ -97,24 +109,28 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         elementos++;
     }
 
-    private void agrega(Vertice a, Vertice b){
-      if(b.get().compareTo(a.get()) <= 0){
-        if(a.hayIzquierdo())
-          agrega(a.izquierdo,b);
-        else{
-          b.padre = a;
-          a.izquierdo = ultimoAgregado = b;
-        }
-      }else{
-        if(a.hayDerecho())
-          agrega(a.derecho,b);
-        else{
-          b.padre = a;
-          a.derecho = ultimoAgregado = b;
+    /* Cuelga al vértice b en el subárbol de a, bajando iterativamente por la
+     * izquierda si su elemento es menor o igual, y por la derecha si no. */
+    private void agrega(Vertice a, Vertice b) {
+        T elemento = b.elemento;
+        while (true) {
+            if (elemento.compareTo(a.elemento) <= 0) {
+                if (a.izquierdo == null) {
+                    a.izquierdo = b;
+                    break;
+                }
+                a = a.izquierdo;
+            } else {
+                if (a.derecho == null) {
+                    a.derecho = b;
+                    break;
+                }
+                a = a.derecho;
+            }
         }
-    	
-    	}
-
+        b.padre = a;
+        ultimoAgregado = b;
+        actualiza(a);
     }
 
     /**
@@ -133,6 +149,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           vertice = maximoEnSubarbol(vertice.izquierdo);
           aux.elemento = vertice.elemento;
         }
+        Vertice padre = vertice.padre;
         if(!vertice.hayIzquierdo() && !vertice.hayDerecho())
           if(vertice == raiz)
             raiz = ultimoAgregado = null;
@@ -162,15 +179,47 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             else
               vertice.padre.derecho = vertice.derecho;
           }
+        actualiza(padre);
         elementos--;
     }
-    protected Vertice busca(Vertice vertice, T elemento){
-        if(vertice == null) return null;
-        if(vertice.get().equals(elemento))return vertice;
-        Vertice mi = busca(vertice.izquierdo, elemento);
-        Vertice md = busca(vertice.derecho, elemento);
-        return mi != null ? mi : md;
-      }
+
+    /**
+     * Busca un vértice con un elemento igual al recibido en el subárbol del
+     * vértice, bajando por el orden del árbol sin recursión. Como elementos
+     * que se comparan iguales pueden quedar a ambos lados de un vértice, al
+     * encontrar uno que no es igual según {@link Object#equals} se buscan
+     * ambos lados; si no, sólo se recorre un camino.
+     * @param vertice la raíz del subárbol donde se busca.
+     * @param elemento el elemento a buscar.
+     * @return un vértice con el elemento, o <code>null</code> si no hay.
+     */
+    @Override protected Vertice busca(Vertice vertice, T elemento) {
+        if (elemento == null)
+            return null;
+        PilaArreglo<Vertice> pendientes = null;
+        while (true) {
+            while (vertice != null) {
+                int c = elemento.compareTo(vertice.elemento);
+                if (c < 0) {
+                    vertice = vertice.izquierdo;
+                } else if (c > 0) {
+                    vertice = vertice.derecho;
+                } else if (elemento.equals(vertice.elemento)) {
+                    return vertice;
+                } else {
+                    if (vertice.derecho != null) {
+                        if (pendientes == null)
+                            pendientes = new PilaArreglo<Vertice>();
+                        pendientes.mete(vertice.derecho);
+                    }
+                    vertice = vertice.izquierdo;
+                }
+            }
+            if (pendientes == null || pendientes.esVacia())
+                return null;
+            vertice = pendientes.saca();
+        }
+    }
     
 
     /**
@@ -226,7 +275,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             aponer.padre = padre;
           }
         }
-      
+        actualiza(vertice.padre);
 
     }
 
@@ -258,6 +307,223 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
            
           }
 
+    /**
+     * Regresa el número de elementos del árbol que son menores que el
+     * recibido. Cada vértice sabe cuántos elementos hay en su subárbol, así
+     * que el método sólo baja por un camino: toma tiempo proporcional a la
+     * altura del árbol, que en los árboles AVL y rojinegros es
+     * <i>O</i>(log <i>n</i>).
+     * @param elemento el elemento del que queremos el rango.
+     * @return el número de elementos menores que el recibido.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public int rango(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        return cuentaMenores(elemento, false);
+    }
+
+    /**
+     * Regresa el elemento con el índice recibido en el orden del árbol; el
+     * índice 0 es el del menor elemento. Toma tiempo proporcional a la
+     * altura del árbol.
+     * @param i el índice del elemento.
+     * @return el elemento con el índice recibido.
+     * @throws ExcepcionIndiceInvalido si el índice es menor que cero, o mayor
+     *         o igual que el número de elementos.
+     */
+    public T selecciona(int i) {
+        if (i < 0 || i >= elementos)
+            throw new ExcepcionIndiceInvalido("Índice inválido: " + i);
+        Vertice vertice = raiz;
+        while (true) {
+            int t = tamanio(vertice.izquierdo);
+            if (i == t)
+                return vertice.elemento;
+            if (i < t) {
+                vertice = vertice.izquierdo;
+            } else {
+                i -= t + 1;
+                vertice = vertice.derecho;
+            }
+        }
+    }
+
+    /**
+     * Regresa el número de elementos del árbol que están entre los dos
+     * recibidos, inclusive. Toma tiempo proporcional a la altura del árbol,
+     * sin importar cuántos elementos haya en el rango.
+     * @param desde el límite inferior del rango.
+     * @param hasta el límite superior del rango.
+     * @return el número de elementos en el rango; 0 si <code>desde</code> es
+     *         mayor que <code>hasta</code>.
+     * @throws IllegalArgumentException si alguno de los límites es
+     *         <code>null</code>.
+     */
+    public int cuentaEntre(T desde, T hasta) {
+        if (desde == null || hasta == null)
+            throw new IllegalArgumentException();
+        if (desde.compareTo(hasta) > 0)
+            return 0;
+        return cuentaMenores(hasta, true) - cuentaMenores(desde, false);
+    }
+
+    /* Regresa el número de elementos menores que el recibido, o menores o
+     * iguales si inclusivo es true. Los elementos iguales a un vértice pueden
+     * estar en ambos lados, así que al encontrar uno se sigue bajando. */
+    private int cuentaMenores(T elemento, boolean inclusivo) {
+        int cuenta = 0;
+        Vertice vertice = raiz;
+        while (vertice != null) {
+            int c = elemento.compareTo(vertice.elemento);
+            if (c < 0 || (c == 0 && !inclusivo)) {
+                vertice = vertice.izquierdo;
+            } else {
+                cuenta += tamanio(vertice.izquierdo) + 1;
+                vertice = vertice.derecho;
+            }
+        }
+        return cuenta;
+    }
+
+    /**
+     * Regresa el menor elemento del árbol.
+     * @return el menor elemento del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T minimo() {
+        if (raiz == null)
+            throw new NoSuchElementException();
+        Vertice vertice = raiz;
+        while (vertice.izquierdo != null)
+            vertice = vertice.izquierdo;
+        return vertice.elemento;
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol.
+     * @return el mayor elemento del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T maximo() {
+        if (raiz == null)
+            throw new NoSuchElementException();
+        return maximoEnSubarbol(raiz).elemento;
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol que es menor o igual que el
+     * recibido. Toma tiempo proporcional a la altura del árbol.
+     * @param elemento el elemento del que queremos el piso.
+     * @return el mayor elemento del árbol menor o igual que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T piso(T elemento) {
+        return cotaInferior(elemento, true);
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol que es estrictamente menor que el
+     * recibido. Toma tiempo proporcional a la altura del árbol.
+     * @param elemento el elemento del que queremos el anterior.
+     * @return el mayor elemento del árbol menor que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T menor(T elemento) {
+        return cotaInferior(elemento, false);
+    }
+
+    /**
+     * Regresa el menor elemento del árbol que es mayor o igual que el
+     * recibido. Toma tiempo proporcional a la altura del árbol.
+     * @param elemento el elemento del que queremos el techo.
+     * @return el menor elemento del árbol mayor o igual que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T techo(T elemento) {
+        return cotaSuperior(elemento, true);
+    }
+
+    /**
+     * Regresa el menor elemento del árbol que es estrictamente mayor que el
+     * recibido. Toma tiempo proporcional a la altura del árbol.
+     * @param elemento el elemento del que queremos el siguiente.
+     * @return el menor elemento del árbol mayor que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T mayor(T elemento) {
+        return cotaSuperior(elemento, false);
+    }
+
+    /* Regresa el mayor elemento menor que el recibido (o menor o igual, si
+     * inclusivo es true), bajando por un solo camino; o null si no hay. */
+    private T cotaInferior(T elemento, boolean inclusivo) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        T cota = null;
+        Vertice vertice = raiz;
+        while (vertice != null) {
+            int c = elemento.compareTo(vertice.elemento);
+            if (c > 0 || (c == 0 && inclusivo)) {
+                cota = vertice.elemento;
+                vertice = vertice.derecho;
+            } else {
+                vertice = vertice.izquierdo;
+            }
+        }
+        return cota;
+    }
+
+    /* Regresa el menor elemento mayor que el recibido (o mayor o igual, si
+     * inclusivo es true), bajando por un solo camino; o null si no hay. */
+    private T cotaSuperior(T elemento, boolean inclusivo) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        T cota = null;
+        Vertice vertice = raiz;
+        while (vertice != null) {
+            int c = elemento.compareTo(vertice.elemento);
+            if (c < 0 || (c == 0 && inclusivo)) {
+                cota = vertice.elemento;
+                vertice = vertice.izquierdo;
+            } else {
+                vertice = vertice.derecho;
+            }
+        }
+        return cota;
+    }
+
+    /**
+     * Regresa un iterador para recorrer en orden los elementos del árbol que
+     * están entre los dos recibidos, inclusive. El iterador es perezoso: al
+     * crearse baja directo al primer elemento del rango, y se detiene al
+     * pasar el límite superior, así que recorrer un rango de <i>k</i>
+     * elementos toma tiempo <i>O</i>(<i>h</i> + <i>k</i>), donde <i>h</i> es
+     * la altura del árbol. El árbol no debe modificarse mientras se usa el
+     * iterador.
+     * @param desde el límite inferior del rango.
+     * @param hasta el límite superior del rango.
+     * @return un iterador para los elementos en el rango; el iterador no
+     *         tiene elementos si <code>desde</code> es mayor que
+     *         <code>hasta</code>.
+     * @throws IllegalArgumentException si alguno de los límites es
+     *         <code>null</code>.
+     */
+    public Iterator<T> rango(T desde, T hasta) {
+        if (desde == null || hasta == null)
+            throw new IllegalArgumentException();
+        return new Iterador(desde, hasta);
+    }
+
     /**
      * Regresa el vertice que contiene el ultimo elemento agregado al
      * arbol. Este metodo solo se puede garantizar que funcione
@@ -300,7 +566,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
         verticeIzq.derecho = v;
         v.padre = verticeIzq;
-    
+        actualizaGiro(v);
     }
 
     /**
@@ -328,27 +594,50 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           verticeDer.izquierdo.padre = v;
       verticeDer.izquierdo = v;
       v.padre = verticeDer;
+      actualizaGiro(v);
 }
 
+    /* Actualiza los vértices después de girar sobre el vértice recibido: el
+     * vértice, que bajó, y su nuevo padre se recalculan siempre, porque el
+     * padre cambió de lugar; sus ancestros, sólo hasta que dejen de cambiar.
+     * El número de elementos de los ancestros no cambia con el giro. */
+    private void actualizaGiro(Vertice vertice) {
+        Vertice padre = vertice.padre;
+        recalcula(vertice);
+        recalcula(padre);
+        actualiza(padre.padre);
+    }
+
     /**
      * Realiza un recorrido DFS <em>pre-order</em> en el arbol, ejecutando la
      * accion recibida en cada elemento del arbol.
      * @param accion la accion a realizar en cada elemento del arbol.
      */
     public void dfsPreOrder(AccionVerticeArbolBinario<T> accion) {
-
         dfsPreOrder(accion, raiz);
-     }
- protected void dfsPreOrder (AccionVerticeArbolBinario <T> accion , Vertice v) {
- 	if (v == null)
- 		return;
- 	accion.actua(v);
- 	dfsPreOrder(accion, v.izquierdo);
- 	dfsPreOrder(accion , v.derecho);
- 	
- }
+    }
 
-    
+    /**
+     * Realiza un recorrido DFS <em>pre-order</em> en el subárbol del vértice,
+     * con una pila explícita en lugar de recursión.
+     * @param accion la accion a realizar en cada elemento del subárbol.
+     * @param v la raíz del subárbol.
+     */
+    protected void dfsPreOrder(AccionVerticeArbolBinario<T> accion,
+                               Vertice v) {
+        if (v == null)
+            return;
+        PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+        pila.mete(v);
+        while (!pila.esVacia()) {
+            v = pila.saca();
+            accion.actua(v);
+            if (v.derecho != null)
+                pila.mete(v.derecho);
+            if (v.izquierdo != null)
+                pila.mete(v.izquierdo);
+        }
+    }
 
     /**
      * Realiza un recorrido DFS <em>in-order</em> en el arbol, ejecutando la
@@ -356,17 +645,28 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      * @param accion la accion a realizar en cada elemento del arbol.
      */
     public void dfsInOrder(AccionVerticeArbolBinario<T> accion) {
-        dfsInOrder (accion , raiz);
-     }
-protected void dfsInOrder(AccionVerticeArbolBinario <T> accion ,Vertice v) {
-	
-	if (v == null)
-		return;
-	dfsInOrder(accion, v.izquierdo);
-	accion.actua(v);
-	dfsInOrder(accion , v.derecho);
-	
-}
+        dfsInOrder(accion, raiz);
+    }
+
+    /**
+     * Realiza un recorrido DFS <em>in-order</em> en el subárbol del vértice,
+     * con una pila explícita en lugar de recursión.
+     * @param accion la accion a realizar en cada elemento del subárbol.
+     * @param v la raíz del subárbol.
+     */
+    protected void dfsInOrder(AccionVerticeArbolBinario<T> accion,
+                              Vertice v) {
+        PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+        while (v != null || !pila.esVacia()) {
+            while (v != null) {
+                pila.mete(v);
+                v = v.izquierdo;
+            }
+            v = pila.saca();
+            accion.actua(v);
+            v = v.derecho;
+        }
+    }
 
     /**
      * Realiza un recorrido DFS <em>post-order</em> en el arbol, ejecutando la
@@ -374,17 +674,33 @@ protected void dfsInOrder(AccionVerticeArbolBinario <T> accion ,Vertice v) {
      * @param accion la accion a realizar en cada elemento del arbol.
      */
     public void dfsPostOrder(AccionVerticeArbolBinario<T> accion) {
-        dfsPostOrder (accion , raiz);
+        dfsPostOrder(accion, raiz);
     }
 
-    protected void dfsPostOrder(AccionVerticeArbolBinario <T> accion ,Vertice v) {
-    	
-    	if (v == null)
-    		return;
-    	dfsPostOrder(accion, v.izquierdo);
-    	
-    	dfsPostOrder(accion , v.derecho);
-    	accion.actua(v);
+    /**
+     * Realiza un recorrido DFS <em>post-order</em> en el subárbol del
+     * vértice, con una pila explícita en lugar de recursión: un vértice se
+     * visita cuando se regresa a él desde su último hijo.
+     * @param accion la accion a realizar en cada elemento del subárbol.
+     * @param v la raíz del subárbol.
+     */
+    protected void dfsPostOrder(AccionVerticeArbolBinario<T> accion,
+                                Vertice v) {
+        PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
+        Vertice visitado = null;
+        while (v != null || !pila.esVacia()) {
+            while (v != null) {
+                pila.mete(v);
+                v = v.izquierdo;
+            }
+            Vertice tope = pila.mira();
+            if (tope.derecho != null && tope.derecho != visitado) {
+                v = tope.derecho;
+            } else {
+                accion.actua(tope);
+                visitado = pila.saca();
+            }
+        }
     }
 
     /**
@@ -392,6 +708,6 @@ protected void dfsInOrder(AccionVerticeArbolBinario <T> accion ,Vertice v) {
      * @return un iterador para iterar el arbol.
      */
     @Override public Iterator<T> iterator() {
-        return new Iterador();
+        return new Iterador(null, null);
     }
 }
@@ -1,6 +1,6 @@
 package mx.unam.ciencias.edd;
 
-
+import java.io.IOException;
 
 /**
  * Clase para árboles rojinegros. Un árbol rojinegro cumple las siguientes
@@ -42,64 +42,28 @@ public class ArbolRojinegro<T extends Comparable<T>>
         }
 
         /**
-         * Regresa una representación en cadena del vértice rojinegro.
-         * @return una representación en cadena del vértice rojinegro.
+         * Escribe el dibujo del subárbol del vértice rojinegro en la salida
+         * recibida. A diferencia de los vértices de árbol binario, un vértice
+         * rojinegro sin hijos también termina con salto de línea.
+         * @param salida la salida donde se escribe el subárbol.
+         * @throws IOException si la salida no puede escribirse.
          */
-        public String toString() {
-        	if(raiz == null)return "";
-            int[] arbin = new int[altura()];
-            for(int i = 0; i < arbin.length; i++){
-              arbin[i] = 0;
-            }
-            return toString(this, 0, arbin);
+        @Override public void escribe(Appendable salida) throws IOException {
+            dibuja(salida, 0, new boolean[altura()]);
         }
 
         /**
-          * metodo auxiliar para crear la representacion de un vertice
-          * @param arbin arreglo binario, contiene informacion acerca de cuando dibujar una barra vertical
-          * @return la representacion en cadena del vertice
-          */
-        private String toString(VerticeRojinegro v, int a, int[] arbin){
-            String s = (v.color == Color.ROJO ? "R{" : "N{") + v.elemento.toString() + "}\n";
-            if(v.hayIzquierdo() && v.hayDerecho()){
-              arbin[a] = 1;
-              s += dibujaEspacios(a,arbin);
-              s += "├─›";
-              s += toString((VerticeRojinegro)v.izquierdo, a+1, arbin);
-              s += dibujaEspacios(a,arbin);
-              s += "└─»";
-              arbin[a] = 0;
-              s += toString((VerticeRojinegro)v.derecho, a+1, arbin);
-            }else if(v.hayIzquierdo()){
-              s += dibujaEspacios(a,arbin);
-        s += "└─›";
-              arbin[a] = 0;
-s += toString((VerticeRojinegro)v.izquierdo, a+1, arbin);
-            }else if(v.hayDerecho()){
-              s += dibujaEspacios(a,arbin);
-              s += "└─»";
-              arbin[a] = 0;
-              s += toString((VerticeRojinegro)v.derecho, a+1, arbin);
-            }
-            return s;
+         * Escribe la etiqueta del vértice rojinegro: su elemento, entre
+         * llaves precedidas por la inicial de su color.
+         * @param salida la salida donde se escribe la etiqueta.
+         * @throws IOException si la salida no puede escribirse.
+         */
+        @Override protected void escribeEtiqueta(Appendable salida)
+            throws IOException {
+            salida.append(color == Color.ROJO ? "R{" : "N{")
+                  .append(elemento.toString()).append('}');
         }
 
-        /**
-          * metodo auxiliar que dibuja los espacios en un arbol
-          * @param a altura del vertice
-          * @param arbin arreglo binario
-          * @return los espacios a agregar en la cadena
-          */
-        private String dibujaEspacios(int a, int[] arbin){
-          String s = "";
-          for(int i = 0; i < a; i++)
-            if(arbin[i] == 1)
-              s += "│  ";
-            else
-              s += "   ";
-          return s;
-}
-
         /**
          * Compara el vértice con otro objeto. La comparación es
          * <em>recursiva</em>.
@@ -181,81 +145,59 @@ super.agrega(elemento);
     }
      
     
-    private void rebalanceoAgrega(VerticeRojinegro vertice ) { 
-    	VerticeRojinegro padre,abuelo,tio;
-    	
-    	/** caso 1
-      	el vertice v tiene padre null: coloreamos a v de negro y terminamos 
-      	*/
-    if (vertice.padre == null) {
-    	vertice.color = Color.NEGRO;
-    return;
-    
-    }
-    padre = (VerticeRojinegro)vertice.padre;
-    /** caso 2
-     el vertice p es negro: como el vertice v es rojo el arbol no se ha desbalanceado y terminamos  
-    */  
-    if(esNegro(padre))
-    	return;
-    
-    abuelo = (VerticeRojinegro)padre.padre;
-    
-    
-    if(abuelo != null) {
-    	if(abuelo.derecho == padre)
-    		tio = (VerticeRojinegro)abuelo.izquierdo;
-    	else
-    		tio = (VerticeRojinegro)abuelo.derecho;
-    	
-    
-    
-    /**caso 3 
-     
-     el vertice t es rojo :como tambien p es rojo ,
-    coloreamos t y p de negro ,coloreamos a de rojo y hacemos recursion sobre a
-   */
-    
-  if (tio != null && getColor(tio) == Color.ROJO) {
-     padre.color =  Color.NEGRO;
-     tio.color = Color.NEGRO;
-     abuelo.color =  Color.ROJO;
-     
-     
-     
-     rebalanceoAgrega(abuelo);
-     return;
- }
-    
- /** --Caso 4---
-  * El vertice y su padre estan cruzados.
-  * Giramos sobre el padre en su direccion. 
-  * Se cumple unicamente cuando solo uno es hijo izquierdo. */
- if (padre.izquierdo == vertice ^ abuelo.izquierdo == padre) {
-     if (abuelo.izquierdo == padre)
-       super.giraIzquierda(padre);
-     else
-        super.giraDerecha(padre);
-     /**Intercambiamos el vertice con el padre, por que cuando se hace
-     un giro el vertice es el padre y el padre ahora es el vertice.
-     */
-     VerticeRojinegro aux = vertice;
-     vertice = padre;
-     padre = aux;
-    
- }
- /** --Caso 5---
- * Coloreamos al padre de NEGRO y al abuelo de ROJO, giramos sobre el
- * abuelo en direccion contraria del vertice. */
- padre.color = Color.NEGRO;
- abuelo.color = Color.ROJO;
- if (padre.izquierdo == vertice)
-    super.giraDerecha(abuelo);
- if(padre.derecho == vertice)
-     super.giraIzquierda(abuelo);
- 
-    }
- 
+    private void rebalanceoAgrega(VerticeRojinegro vertice) {
+        VerticeRojinegro padre, abuelo, tio;
+        /* Mientras el padre sea rojo hay dos vértices rojos seguidos. El
+         * caso 3 sube el problema al abuelo; los casos 4 y 5 lo resuelven
+         * dejando negro al padre del vértice, y el ciclo termina. */
+        while (vertice.padre != null &&
+               !esNegro((VerticeRojinegro)vertice.padre)) {
+            padre = (VerticeRojinegro)vertice.padre;
+            /* Un padre rojo nunca es la raíz, así que hay abuelo. */
+            abuelo = (VerticeRojinegro)padre.padre;
+            if (abuelo.derecho == padre)
+                tio = (VerticeRojinegro)abuelo.izquierdo;
+            else
+                tio = (VerticeRojinegro)abuelo.derecho;
+            /* --Caso 3--
+             * El tío es rojo: como también el padre es rojo, coloreamos al
+             * tío y al padre de negro, al abuelo de rojo, y seguimos con el
+             * abuelo. */
+            if (!esNegro(tio)) {
+                padre.color = Color.NEGRO;
+                tio.color = Color.NEGRO;
+                abuelo.color = Color.ROJO;
+                vertice = abuelo;
+            } else {
+                /* --Caso 4--
+                 * El vértice y su padre están cruzados: giramos sobre el
+                 * padre en su dirección, e intercambiamos al vértice con el
+                 * padre, porque el giro los intercambia en el árbol. */
+                if (padre.izquierdo == vertice ^ abuelo.izquierdo == padre) {
+                    if (abuelo.izquierdo == padre)
+                        super.giraIzquierda(padre);
+                    else
+                        super.giraDerecha(padre);
+                    VerticeRojinegro aux = vertice;
+                    vertice = padre;
+                    padre = aux;
+                }
+                /* --Caso 5--
+                 * Coloreamos al padre de negro y al abuelo de rojo, y
+                 * giramos sobre el abuelo en dirección contraria al
+                 * vértice. */
+                padre.color = Color.NEGRO;
+                abuelo.color = Color.ROJO;
+                if (padre.izquierdo == vertice)
+                    super.giraDerecha(abuelo);
+                else
+                    super.giraIzquierda(abuelo);
+            }
+        }
+        /* --Caso 1--
+         * El vértice es la raíz: lo coloreamos de negro. */
+        if (vertice.padre == null)
+            vertice.color = Color.NEGRO;
     }
 
     /**
@@ -283,6 +225,7 @@ super.agrega(elemento);
         }
         hijo = obtenerHijo(vertice);
         subirHijo(vertice);
+        actualiza(hijo.padre);
 
         if(esNegro(vertice) && esNegro(hijo)){
             hijo.color = Color.NEGRO;
@@ -326,23 +269,34 @@ super.agrega(elemento);
         if(fantasma != null)
             if(esRaiz(fantasma))
                 raiz = ultimoAgregado = fantasma = null;
-            else
+            else {
                 if(esHijoIzquierdo(fantasma))
                     fantasma.padre.izquierdo = null;
                 else
                     fantasma.padre.derecho = null;
+                actualiza(fantasma.padre);
+            }
     }
 
     private void rebalanceoElimina(VerticeRojinegro vertice) {
-        VerticeRojinegro padre, hermano, sobrinoIzq, sobrinoDer, aux;
+        /* El caso 3 sube el doble negro al padre; los demás casos lo
+         * resuelven y el ciclo termina. */
+        while (vertice.padre != null && subeDobleNegro(vertice))
+            vertice = (VerticeRojinegro)vertice.padre;
         /** --Caso 1--
          * El padre es null.
          * Terminamos. */
-        if (vertice.padre == null){
+        if (vertice.padre == null) {
             vertice.color = Color.NEGRO;
             raiz = vertice;
-            return;
         }
+    }
+
+    /* Aplica los casos 2 a 6 al vértice doble negro, que tiene padre.
+     * Regresa true si se aplicó el caso 3, que sube el doble negro al
+     * padre, y false si el árbol quedó balanceado. */
+    private boolean subeDobleNegro(VerticeRojinegro vertice) {
+        VerticeRojinegro padre, hermano, sobrinoIzq, sobrinoDer;
         padre = (VerticeRojinegro)vertice.padre;
         hermano = obtenerHermano(vertice);
         /** --Caso 2--
@@ -352,7 +306,7 @@ super.agrega(elemento);
         if (!esNegro(hermano)) {
             hermano.color = Color.NEGRO;
             padre.color = Color.ROJO;
-            
+
             if (esHijoIzquierdo(vertice))
                 super.giraIzquierda(padre);
             else
@@ -365,11 +319,10 @@ super.agrega(elemento);
         sobrinoDer = (VerticeRojinegro)(hermano.derecho);
         /** --Caso 3--
          * El padre, el hermano y los hijos del hermano son negros.
-         * Coloreamos al hermano de ROJO, recursamos sobre el padre y terminamos */
+         * Coloreamos al hermano de ROJO y subimos al padre. */
         if (esNegro(padre) && esNegro(hermano) && sobrinosNegros(sobrinoIzq, sobrinoDer)) {
             hermano.color = Color.ROJO;
-            rebalanceoElimina(padre);
-            return;
+            return true;
         }
         /** --Caso 4--
          * El hermano y los sobrinos son negros, y el padre es ROJO.
@@ -377,7 +330,7 @@ super.agrega(elemento);
         if (esNegro(hermano) && sobrinosNegros(sobrinoIzq, sobrinoDer) && !esNegro(padre)) {
             padre.color = Color.NEGRO;
             hermano.color = Color.ROJO;
-            return;
+            return false;
         }
         /** --Caso 5--
          * Los sobrinos son bicoloreados cruzados.
@@ -417,6 +370,7 @@ super.agrega(elemento);
             super.giraIzquierda(padre);
         else
             super.giraDerecha(padre);
+        return false;
     }
 
     private VerticeRojinegro obtenerHijo(VerticeRojinegro vertice){
@@ -3,18 +3,25 @@ package mx.unam.ciencias.edd;
 import java.util.Comparator;
 
 /**
- * Clase para ordenar y buscar arreglos genericos.
+ * Clase para ordenar y buscar arreglos genericos, y arreglos de enteros y
+ * dobles sin envolver sus elementos.
  */
 public class Arreglos {
 
+    /* Los rangos de a lo más este tamaño se ordenan por inserción. */
+    private static final int UMBRAL_INSERCION = 24;
+    /* Los rangos de más de este tamaño escogen sus pivotes con novenas. */
+    private static final int UMBRAL_NOVENA = 128;
+
     /* Constructor privado para evitar instanciacion. */
     private Arreglos() {}
 
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Intercambia dos elementos del arreglo recibido.
      * @param <T> tipo del que puede ser el arreglo.
-     * @param arreglo el arreglo a ordenar.
-     * @param comparador el comparador para ordenar el arreglo.
+     * @param arreglo el arreglo donde se intercambian los elementos.
+     * @param a el índice del primer elemento.
+     * @param b el índice del segundo elemento.
      */
     public static <T> void intercambia(T[] arreglo,int a , int b) {
     	T pico = arreglo[a];
@@ -26,41 +33,180 @@ public class Arreglos {
     
     }
     
-    public static <T> void  quickSort(T[] arreglo, Comparator<T> comparador) {
-    	Cola <Integer> c1 = new Cola<>();
-    	c1.mete(0);
-    	c1.mete(arreglo.length -1);
-    	
-    	while(!c1.esVacia()) {
-    		
-    		
-    		int ini = c1.saca();
-    		
-    		int fin = c1.saca();
-    		if (fin <= ini) continue;
-    		int i= ini +1 , j = fin;
-    		while (i<j) {
-    			if (comparador.compare(arreglo[i], arreglo[ini])>0 && comparador.compare(arreglo[j],arreglo[ini]) <= 0) {
-    				
-    				intercambia(arreglo, i++,j--);
-    				
-    			}
-    			else if (comparador.compare(arreglo[i], arreglo[ini]) <= 0)
-    				i++;
-    			else j--;
-    			
-    		
-    	}
-    		if (comparador.compare(arreglo[i], arreglo[ini]) > 0)
-    			i--;
-    		intercambia (arreglo,ini,i);
-    		c1.mete(ini);
-    	    c1.mete(i -1);
-    	
-c1.mete(i+1);
-c1.mete(fin);
-    	}
+    /**
+     * Ordena el arreglo recibido usando QuickSort. La implementación es
+     * introspectiva: particiona alrededor de dos pivotes, escogidos como
+     * medianas de tres (o de nueve, en rangos grandes) cerca de los tercios
+     * del rango; ordena los rangos pequeños por inserción, y si la
+     * partición se degenera más allá de 2·log <i>n</i> niveles, termina el
+     * rango con HeapSort. Así el peor caso es <i>O</i>(<i>n</i> log
+     * <i>n</i>), incluso con arreglos ya ordenados. Los rangos pendientes se
+     * guardan en una pila de enteros, sin recursión.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void quickSort(T[] arreglo, Comparator<T> comparador) {
+        if (arreglo.length < 2)
+            return;
+        int limite = 2 * log2(arreglo.length);
+        /* Cada rango pendiente ocupa tres enteros: inicio, fin y nivel. */
+        int[] pila = new int[3 * (2 * limite + 5)];
+        int tope = 0;
+        pila[tope++] = 0;
+        pila[tope++] = arreglo.length - 1;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int nivel = pila[--tope];
+            int fin = pila[--tope];
+            int ini = pila[--tope];
+            if (fin - ini < UMBRAL_INSERCION) {
+                insertionSort(arreglo, ini, fin, comparador);
+                continue;
+            }
+            if (nivel == limite) {
+                heapSort(arreglo, ini, fin, comparador);
+                continue;
+            }
+            int[] p = particiona(arreglo, ini, fin, comparador);
+            /* Metemos al final el rango más pequeño, para sacarlo primero y
+             * mantener la pila en O(log n). */
+            int[] rangos = { ini, p[0] - 1, p[0] + 1, p[1] - 1,
+                             p[1] + 1, fin };
+            if (comparador.compare(arreglo[p[0]], arreglo[p[1]]) == 0)
+                rangos[3] = rangos[2] - 1;
+            ordenaRangos(rangos);
+            for (int i = 0; i < rangos.length; i += 2) {
+                if (rangos[i + 1] <= rangos[i])
+                    continue;
+                pila[tope++] = rangos[i];
+                pila[tope++] = rangos[i + 1];
+                pila[tope++] = nivel + 1;
+            }
+        }
+    }
+
+    /* Ordena los tres rangos [ini, fin] de mayor a menor longitud. */
+    private static void ordenaRangos(int[] r) {
+        for (int i = 2; i < r.length; i += 2)
+            for (int j = i; j > 0 && r[j + 1] - r[j] > r[j - 1] - r[j - 2];
+                 j -= 2) {
+                int a = r[j], b = r[j + 1];
+                r[j] = r[j - 2];
+                r[j + 1] = r[j - 1];
+                r[j - 2] = a;
+                r[j - 1] = b;
+            }
+    }
+
+    /* Regresa el logaritmo base 2 de n, redondeado hacia abajo. */
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
 
+    /* Regresa el índice de la mediana de los elementos en a, b y c. */
+    private static <T> int mediana(T[] arreglo, int a, int b, int c,
+                                   Comparator<T> comparador) {
+        if (comparador.compare(arreglo[a], arreglo[b]) < 0) {
+            if (comparador.compare(arreglo[b], arreglo[c]) < 0)
+                return b;
+            return comparador.compare(arreglo[a], arreglo[c]) < 0 ? c : a;
+        }
+        if (comparador.compare(arreglo[a], arreglo[c]) < 0)
+            return a;
+        return comparador.compare(arreglo[b], arreglo[c]) < 0 ? c : b;
+    }
+
+    /* Regresa el índice de un pivote cerca de m: la mediana de tres
+     * elementos separados por d, o la mediana de tres medianas (la novena)
+     * si el rango es grande. */
+    private static <T> int pivote(T[] arreglo, int m, int d, boolean novena,
+                                  Comparator<T> comparador) {
+        if (!novena)
+            return mediana(arreglo, m - d, m, m + d, comparador);
+        int e = d / 3;
+        return mediana(arreglo,
+                       mediana(arreglo, m - d - e, m - d, m - d + e,
+                               comparador),
+                       mediana(arreglo, m - e, m, m + e, comparador),
+                       mediana(arreglo, m + d - e, m + d, m + d + e,
+                               comparador),
+                       comparador);
+    }
+
+    /* Particiona el rango [ini, fin] alrededor de dos pivotes p <= q, de
+     * forma que queden los elementos menores que p, p, los elementos entre
+     * p y q, q, y los elementos mayores que q. Regresa los índices finales
+     * de p y q. */
+    private static <T> int[] particiona(T[] arreglo, int ini, int fin,
+                                        Comparator<T> comparador) {
+        int n = fin - ini + 1;
+        int d = n / 12;
+        boolean novena = n > UMBRAL_NOVENA;
+        int a = pivote(arreglo, ini + n / 3, d, novena, comparador);
+        int b = pivote(arreglo, fin - n / 3, d, novena, comparador);
+        intercambia(arreglo, ini, a);
+        intercambia(arreglo, fin, b == ini ? a : b);
+        if (comparador.compare(arreglo[ini], arreglo[fin]) > 0)
+            intercambia(arreglo, ini, fin);
+        T p = arreglo[ini], q = arreglo[fin];
+        int l = ini + 1, g = fin - 1;
+        for (int k = l; k <= g; k++) {
+            if (comparador.compare(arreglo[k], p) < 0) {
+                intercambia(arreglo, k, l++);
+            } else if (comparador.compare(arreglo[k], q) > 0) {
+                while (k < g && comparador.compare(arreglo[g], q) > 0)
+                    g--;
+                intercambia(arreglo, k, g--);
+                if (comparador.compare(arreglo[k], p) < 0)
+                    intercambia(arreglo, k, l++);
+            }
+        }
+        intercambia(arreglo, ini, --l);
+        intercambia(arreglo, fin, ++g);
+        return new int[] { l, g };
+    }
+
+    /* Ordena el rango [ini, fin] por inserción. */
+    private static <T> void insertionSort(T[] arreglo, int ini, int fin,
+                                          Comparator<T> comparador) {
+        for (int i = ini + 1; i <= fin; i++) {
+            T e = arreglo[i];
+            int j = i - 1;
+            for (; j >= ini && comparador.compare(arreglo[j], e) > 0; j--)
+                arreglo[j + 1] = arreglo[j];
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Ordena el rango [ini, fin] con HeapSort. */
+    private static <T> void heapSort(T[] arreglo, int ini, int fin,
+                                     Comparator<T> comparador) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hundeMaximo(arreglo, ini, i, n, comparador);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            hundeMaximo(arreglo, ini, 0, m, comparador);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de máximos de n elementos que
+     * empieza en ini. */
+    private static <T> void hundeMaximo(T[] arreglo, int ini, int i, int n,
+                                        Comparator<T> comparador) {
+        T e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && comparador.compare(arreglo[ini + h + 1],
+                                                arreglo[ini + h]) > 0)
+                h++;
+            if (comparador.compare(arreglo[ini + h], e) <= 0)
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
     }
 
     /**
@@ -143,4 +289,620 @@ if (comparador.compare(arreglo[j], arreglo[m] )< 0)
     busquedaBinaria(T[] arreglo, T elemento) {
         return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
     }
+
+    /**
+     * Ordena el arreglo de ints recibido usando QuickSort, sin envolver
+     * sus elementos en objetos. Usa la misma implementación introspectiva
+     * que {@link #quickSort(Object[],Comparator)}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(int[] arreglo) {
+        if (arreglo.length < 2)
+            return;
+        int limite = 2 * log2(arreglo.length);
+        int[] pila = new int[3 * (2 * limite + 5)];
+        int tope = 0;
+        pila[tope++] = 0;
+        pila[tope++] = arreglo.length - 1;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int nivel = pila[--tope];
+            int fin = pila[--tope];
+            int ini = pila[--tope];
+            if (fin - ini < UMBRAL_INSERCION) {
+                insertionSort(arreglo, ini, fin);
+                continue;
+            }
+            if (nivel == limite) {
+                heapSort(arreglo, ini, fin);
+                continue;
+            }
+            int[] p = particiona(arreglo, ini, fin);
+            int[] rangos = { ini, p[0] - 1, p[0] + 1, p[1] - 1,
+                             p[1] + 1, fin };
+            if (arreglo[p[0]] == arreglo[p[1]])
+                rangos[3] = rangos[2] - 1;
+            ordenaRangos(rangos);
+            for (int i = 0; i < rangos.length; i += 2) {
+                if (rangos[i + 1] <= rangos[i])
+                    continue;
+                pila[tope++] = rangos[i];
+                pila[tope++] = rangos[i + 1];
+                pila[tope++] = nivel + 1;
+            }
+        }
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(int[] arreglo, int a, int b) {
+        int t = arreglo[a];
+        arreglo[a] = arreglo[b];
+        arreglo[b] = t;
+    }
+
+    /* Regresa el índice de la mediana de los elementos en a, b y c. */
+    private static int mediana(int[] arreglo, int a, int b, int c) {
+        if (arreglo[a] < arreglo[b]) {
+            if (arreglo[b] < arreglo[c])
+                return b;
+            return arreglo[a] < arreglo[c] ? c : a;
+        }
+        if (arreglo[a] < arreglo[c])
+            return a;
+        return arreglo[b] < arreglo[c] ? c : b;
+    }
+
+    /* Regresa el índice de un pivote cerca de m. */
+    private static int pivote(int[] arreglo, int m, int d, boolean novena) {
+        if (!novena)
+            return mediana(arreglo, m - d, m, m + d);
+        int e = d / 3;
+        return mediana(arreglo,
+                       mediana(arreglo, m - d - e, m - d, m - d + e),
+                       mediana(arreglo, m - e, m, m + e),
+                       mediana(arreglo, m + d - e, m + d, m + d + e));
+    }
+
+    /* Particiona el rango [ini, fin] alrededor de dos pivotes. */
+    private static int[] particiona(int[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        int d = n / 12;
+        boolean novena = n > UMBRAL_NOVENA;
+        int a = pivote(arreglo, ini + n / 3, d, novena);
+        int b = pivote(arreglo, fin - n / 3, d, novena);
+        intercambia(arreglo, ini, a);
+        intercambia(arreglo, fin, b == ini ? a : b);
+        if (arreglo[fin] < arreglo[ini])
+            intercambia(arreglo, ini, fin);
+        int p = arreglo[ini], q = arreglo[fin];
+        int l = ini + 1, g = fin - 1;
+        for (int k = l; k <= g; k++) {
+            if (arreglo[k] < p) {
+                intercambia(arreglo, k, l++);
+            } else if (q < arreglo[k]) {
+                while (k < g && q < arreglo[g])
+                    g--;
+                intercambia(arreglo, k, g--);
+                if (arreglo[k] < p)
+                    intercambia(arreglo, k, l++);
+            }
+        }
+        intercambia(arreglo, ini, --l);
+        intercambia(arreglo, fin, ++g);
+        return new int[] { l, g };
+    }
+
+    /* Ordena el rango [ini, fin] por inserción. */
+    private static void insertionSort(int[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            int e = arreglo[i];
+            int j = i - 1;
+            for (; j >= ini && e < arreglo[j]; j--)
+                arreglo[j + 1] = arreglo[j];
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Ordena el rango [ini, fin] con HeapSort. */
+    private static void heapSort(int[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hundeMaximo(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            hundeMaximo(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de máximos de n elementos que
+     * empieza en ini. */
+    private static void hundeMaximo(int[] arreglo, int ini, int i, int n) {
+        int e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && arreglo[ini + h] < arreglo[ini + h + 1])
+                h++;
+            if (!(e < arreglo[ini + h]))
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Ordena el arreglo de ints recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(int[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[m])
+                    m = j;
+            intercambia(arreglo, i, m);
+        }
+    }
+
+    /**
+     * Hace una busqueda binaria del elemento en el arreglo de ints. Regresa
+     * el indice del elemento en el arreglo, o -1 si no se encuentra.
+     * @param arreglo el arreglo ordenado donde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el indice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(int[] arreglo, int elemento) {
+        int inf = 0, sup = arreglo.length - 1;
+        while (inf <= sup) {
+            int centro = (inf + sup) >>> 1;
+            if (arreglo[centro] < elemento)
+                inf = centro + 1;
+            else if (elemento < arreglo[centro])
+                sup = centro - 1;
+            else
+                return centro;
+        }
+        return -1;
+    }
+
+    /**
+     * Ordena el arreglo de longs recibido usando QuickSort, sin envolver
+     * sus elementos en objetos. Usa la misma implementación introspectiva
+     * que {@link #quickSort(Object[],Comparator)}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(long[] arreglo) {
+        if (arreglo.length < 2)
+            return;
+        int limite = 2 * log2(arreglo.length);
+        int[] pila = new int[3 * (2 * limite + 5)];
+        int tope = 0;
+        pila[tope++] = 0;
+        pila[tope++] = arreglo.length - 1;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int nivel = pila[--tope];
+            int fin = pila[--tope];
+            int ini = pila[--tope];
+            if (fin - ini < UMBRAL_INSERCION) {
+                insertionSort(arreglo, ini, fin);
+                continue;
+            }
+            if (nivel == limite) {
+                heapSort(arreglo, ini, fin);
+                continue;
+            }
+            int[] p = particiona(arreglo, ini, fin);
+            int[] rangos = { ini, p[0] - 1, p[0] + 1, p[1] - 1,
+                             p[1] + 1, fin };
+            if (arreglo[p[0]] == arreglo[p[1]])
+                rangos[3] = rangos[2] - 1;
+            ordenaRangos(rangos);
+            for (int i = 0; i < rangos.length; i += 2) {
+                if (rangos[i + 1] <= rangos[i])
+                    continue;
+                pila[tope++] = rangos[i];
+                pila[tope++] = rangos[i + 1];
+                pila[tope++] = nivel + 1;
+            }
+        }
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(long[] arreglo, int a, int b) {
+        long t = arreglo[a];
+        arreglo[a] = arreglo[b];
+        arreglo[b] = t;
+    }
+
+    /* Regresa el índice de la mediana de los elementos en a, b y c. */
+    private static int mediana(long[] arreglo, int a, int b, int c) {
+        if (arreglo[a] < arreglo[b]) {
+            if (arreglo[b] < arreglo[c])
+                return b;
+            return arreglo[a] < arreglo[c] ? c : a;
+        }
+        if (arreglo[a] < arreglo[c])
+            return a;
+        return arreglo[b] < arreglo[c] ? c : b;
+    }
+
+    /* Regresa el índice de un pivote cerca de m. */
+    private static int pivote(long[] arreglo, int m, int d, boolean novena) {
+        if (!novena)
+            return mediana(arreglo, m - d, m, m + d);
+        int e = d / 3;
+        return mediana(arreglo,
+                       mediana(arreglo, m - d - e, m - d, m - d + e),
+                       mediana(arreglo, m - e, m, m + e),
+                       mediana(arreglo, m + d - e, m + d, m + d + e));
+    }
+
+    /* Particiona el rango [ini, fin] alrededor de dos pivotes. */
+    private static int[] particiona(long[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        int d = n / 12;
+        boolean novena = n > UMBRAL_NOVENA;
+        int a = pivote(arreglo, ini + n / 3, d, novena);
+        int b = pivote(arreglo, fin - n / 3, d, novena);
+        intercambia(arreglo, ini, a);
+        intercambia(arreglo, fin, b == ini ? a : b);
+        if (arreglo[fin] < arreglo[ini])
+            intercambia(arreglo, ini, fin);
+        long p = arreglo[ini], q = arreglo[fin];
+        int l = ini + 1, g = fin - 1;
+        for (int k = l; k <= g; k++) {
+            if (arreglo[k] < p) {
+                intercambia(arreglo, k, l++);
+            } else if (q < arreglo[k]) {
+                while (k < g && q < arreglo[g])
+                    g--;
+                intercambia(arreglo, k, g--);
+                if (arreglo[k] < p)
+                    intercambia(arreglo, k, l++);
+            }
+        }
+        intercambia(arreglo, ini, --l);
+        intercambia(arreglo, fin, ++g);
+        return new int[] { l, g };
+    }
+
+    /* Ordena el rango [ini, fin] por inserción. */
+    private static void insertionSort(long[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            long e = arreglo[i];
+            int j = i - 1;
+            for (; j >= ini && e < arreglo[j]; j--)
+                arreglo[j + 1] = arreglo[j];
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Ordena el rango [ini, fin] con HeapSort. */
+    private static void heapSort(long[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hundeMaximo(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            hundeMaximo(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de máximos de n elementos que
+     * empieza en ini. */
+    private static void hundeMaximo(long[] arreglo, int ini, int i, int n) {
+        long e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && arreglo[ini + h] < arreglo[ini + h + 1])
+                h++;
+            if (!(e < arreglo[ini + h]))
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Ordena el arreglo de longs recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(long[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[m])
+                    m = j;
+            intercambia(arreglo, i, m);
+        }
+    }
+
+    /**
+     * Hace una busqueda binaria del elemento en el arreglo de longs. Regresa
+     * el indice del elemento en el arreglo, o -1 si no se encuentra.
+     * @param arreglo el arreglo ordenado donde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el indice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(long[] arreglo, long elemento) {
+        int inf = 0, sup = arreglo.length - 1;
+        while (inf <= sup) {
+            int centro = (inf + sup) >>> 1;
+            if (arreglo[centro] < elemento)
+                inf = centro + 1;
+            else if (elemento < arreglo[centro])
+                sup = centro - 1;
+            else
+                return centro;
+        }
+        return -1;
+    }
+
+    /**
+     * Ordena el arreglo de doubles recibido usando QuickSort, sin envolver
+     * sus elementos en objetos. Usa la misma implementación introspectiva
+     * que {@link #quickSort(Object[],Comparator)}. Los
+     * elementos se comparan como con {@link Double#compare}: -0.0 va
+     * antes que 0.0, y NaN al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(double[] arreglo) {
+        if (arreglo.length < 2)
+            return;
+        int limite = 2 * log2(arreglo.length);
+        int[] pila = new int[3 * (2 * limite + 5)];
+        int tope = 0;
+        pila[tope++] = 0;
+        pila[tope++] = arreglo.length - 1;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int nivel = pila[--tope];
+            int fin = pila[--tope];
+            int ini = pila[--tope];
+            if (fin - ini < UMBRAL_INSERCION) {
+                insertionSort(arreglo, ini, fin);
+                continue;
+            }
+            if (nivel == limite) {
+                heapSort(arreglo, ini, fin);
+                continue;
+            }
+            int[] p = particiona(arreglo, ini, fin);
+            int[] rangos = { ini, p[0] - 1, p[0] + 1, p[1] - 1,
+                             p[1] + 1, fin };
+            if (Double.compare(arreglo[p[0]], arreglo[p[1]]) == 0)
+                rangos[3] = rangos[2] - 1;
+            ordenaRangos(rangos);
+            for (int i = 0; i < rangos.length; i += 2) {
+                if (rangos[i + 1] <= rangos[i])
+                    continue;
+                pila[tope++] = rangos[i];
+                pila[tope++] = rangos[i + 1];
+                pila[tope++] = nivel + 1;
+            }
+        }
+    }
+
+    /* Nos dice si a va antes que b, según Double.compare. */
+    private static boolean menor(double a, double b) {
+        return Double.compare(a, b) < 0;
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(double[] arreglo, int a, int b) {
+        double t = arreglo[a];
+        arreglo[a] = arreglo[b];
+        arreglo[b] = t;
+    }
+
+    /* Regresa el índice de la mediana de los elementos en a, b y c. */
+    private static int mediana(double[] arreglo, int a, int b, int c) {
+        if (menor(arreglo[a], arreglo[b])) {
+            if (menor(arreglo[b], arreglo[c]))
+                return b;
+            return menor(arreglo[a], arreglo[c]) ? c : a;
+        }
+        if (menor(arreglo[a], arreglo[c]))
+            return a;
+        return menor(arreglo[b], arreglo[c]) ? c : b;
+    }
+
+    /* Regresa el índice de un pivote cerca de m. */
+    private static int pivote(double[] arreglo, int m, int d, boolean novena) {
+        if (!novena)
+            return mediana(arreglo, m - d, m, m + d);
+        int e = d / 3;
+        return mediana(arreglo,
+                       mediana(arreglo, m - d - e, m - d, m - d + e),
+                       mediana(arreglo, m - e, m, m + e),
+                       mediana(arreglo, m + d - e, m + d, m + d + e));
+    }
+
+    /* Particiona el rango [ini, fin] alrededor de dos pivotes. */
+    private static int[] particiona(double[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        int d = n / 12;
+        boolean novena = n > UMBRAL_NOVENA;
+        int a = pivote(arreglo, ini + n / 3, d, novena);
+        int b = pivote(arreglo, fin - n / 3, d, novena);
+        intercambia(arreglo, ini, a);
+        intercambia(arreglo, fin, b == ini ? a : b);
+        if (menor(arreglo[fin], arreglo[ini]))
+            intercambia(arreglo, ini, fin);
+        double p = arreglo[ini], q = arreglo[fin];
+        int l = ini + 1, g = fin - 1;
+        for (int k = l; k <= g; k++) {
+            if (menor(arreglo[k], p)) {
+                intercambia(arreglo, k, l++);
+            } else if (menor(q, arreglo[k])) {
+                while (k < g && menor(q, arreglo[g]))
+                    g--;
+                intercambia(arreglo, k, g--);
+                if (menor(arreglo[k], p))
+                    intercambia(arreglo, k, l++);
+            }
+        }
+        intercambia(arreglo, ini, --l);
+        intercambia(arreglo, fin, ++g);
+        return new int[] { l, g };
+    }
+
+    /* Ordena el rango [ini, fin] por inserción. */
+    private static void insertionSort(double[] arreglo, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            double e = arreglo[i];
+            int j = i - 1;
+            for (; j >= ini && menor(e, arreglo[j]); j--)
+                arreglo[j + 1] = arreglo[j];
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Ordena el rango [ini, fin] con HeapSort. */
+    private static void heapSort(double[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hundeMaximo(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            hundeMaximo(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Hunde el elemento i del montículo de máximos de n elementos que
+     * empieza en ini. */
+    private static void hundeMaximo(double[] arreglo, int ini, int i, int n) {
+        double e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && menor(arreglo[ini + h], arreglo[ini + h + 1]))
+                h++;
+            if (!menor(e, arreglo[ini + h]))
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Ordena el arreglo de doubles recibido usando SelectionSort. Los
+     * elementos se comparan como con {@link Double#compare}: -0.0 va
+     * antes que 0.0, y NaN al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(double[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int m = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (menor(arreglo[j], arreglo[m]))
+                    m = j;
+            intercambia(arreglo, i, m);
+        }
+    }
+
+    /**
+     * Hace una busqueda binaria del elemento en el arreglo de doubles. Regresa
+     * el indice del elemento en el arreglo, o -1 si no se encuentra. Los
+     * elementos se comparan como con {@link Double#compare}: -0.0 va
+     * antes que 0.0, y NaN al final.
+     * @param arreglo el arreglo ordenado donde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el indice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(double[] arreglo, double elemento) {
+        int inf = 0, sup = arreglo.length - 1;
+        while (inf <= sup) {
+            int centro = (inf + sup) >>> 1;
+            if (menor(arreglo[centro], elemento))
+                inf = centro + 1;
+            else if (menor(elemento, arreglo[centro]))
+                sup = centro - 1;
+            else
+                return centro;
+        }
+        return -1;
+    }
+
+    /**
+     * Ordena el arreglo de ints recibido usando RadixSort: hace una pasada
+     * estable por cada uno de los cuatro bytes de los elementos, del menos al
+     * más significativo, contando cuántos elementos tienen cada valor del
+     * byte. Toma tiempo <i>O</i>(<i>n</i>) y usa un arreglo auxiliar de
+     * <i>n</i> elementos; las pasadas donde todos los elementos tienen el
+     * mismo byte se omiten.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void radixSort(int[] arreglo) {
+        int n = arreglo.length;
+        if (n < 2)
+            return;
+        int[] origen = arreglo, destino = new int[n];
+        int[] cuentas = new int[257];
+        for (int c = 0; c < 32; c += 8) {
+            for (int i = 0; i < cuentas.length; i++)
+                cuentas[i] = 0;
+            for (int e : origen)
+                cuentas[digito(e, c) + 1]++;
+            if (cuentas[digito(origen[0], c) + 1] == n)
+                continue;
+            for (int i = 1; i < cuentas.length; i++)
+                cuentas[i] += cuentas[i - 1];
+            for (int e : origen)
+                destino[cuentas[digito(e, c)]++] = e;
+            int[] t = origen;
+            origen = destino;
+            destino = t;
+        }
+        if (origen != arreglo)
+            System.arraycopy(origen, 0, arreglo, 0, n);
+    }
+
+    /* Regresa el byte del elemento que empieza en el bit c, con el bit de
+     * signo invertido para que los negativos queden antes. */
+    private static int digito(int e, int c) {
+        return ((e ^ Integer.MIN_VALUE) >>> c) & 0xff;
+    }
+
+    /**
+     * Ordena el arreglo de longs recibido usando RadixSort: hace una pasada
+     * estable por cada uno de los ocho bytes de los elementos, del menos al
+     * más significativo, contando cuántos elementos tienen cada valor del
+     * byte. Toma tiempo <i>O</i>(<i>n</i>) y usa un arreglo auxiliar de
+     * <i>n</i> elementos; las pasadas donde todos los elementos tienen el
+     * mismo byte se omiten.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void radixSort(long[] arreglo) {
+        int n = arreglo.length;
+        if (n < 2)
+            return;
+        long[] origen = arreglo, destino = new long[n];
+        int[] cuentas = new int[257];
+        for (int c = 0; c < 64; c += 8) {
+            for (int i = 0; i < cuentas.length; i++)
+                cuentas[i] = 0;
+            for (long e : origen)
+                cuentas[digito(e, c) + 1]++;
+            if (cuentas[digito(origen[0], c) + 1] == n)
+                continue;
+            for (int i = 1; i < cuentas.length; i++)
+                cuentas[i] += cuentas[i - 1];
+            for (long e : origen)
+                destino[cuentas[digito(e, c)]++] = e;
+            long[] t = origen;
+            origen = destino;
+            destino = t;
+        }
+        if (origen != arreglo)
+            System.arraycopy(origen, 0, arreglo, 0, n);
+    }
+
+    /* Regresa el byte del elemento que empieza en el bit c, con el bit de
+     * signo invertido para que los negativos queden antes. */
+    private static int digito(long e, int c) {
+        return (int)(((e ^ Long.MIN_VALUE) >>> c) & 0xff);
+    }
 }
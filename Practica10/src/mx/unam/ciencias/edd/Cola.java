@@ -1,6 +1,6 @@
 package mx.unam.ciencias.edd;
 
-
+import java.io.IOException;
 
 /**
  * Clase para colas genericas.
@@ -8,22 +8,14 @@ package mx.unam.ciencias.edd;
 public class Cola<T> extends MeteSaca<T> {
 
     /**
-     * Regresa una representacion en cadena de la cola.
-     * @return una representacion en cadena de la cola.
+     * Escribe los elementos de la cola en la salida recibida, del inicio al
+     * final, cada uno seguido de una coma.
+     * @param salida la salida donde se escribe la cola.
+     * @throws IOException si la salida no puede escribirse.
      */
-    @Override public String toString() {
-    	Nodo n1 = cabeza;
-        
-    	String cadena = "";
-        while (n1!= null ) {
-        	
-        	cadena += n1.elemento + ",";
-        	    	n1 = n1.siguiente;
-        	
-        }
-       
-        return cadena + "";
-
+    @Override public void escribe(Appendable salida) throws IOException {
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            salida.append(String.valueOf(n.elemento)).append(',');
     }
 
     /**
@@ -0,0 +1,120 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas genericas respaldadas por un arreglo.</p>
+ *
+ * <p>Las colas arreglo cumplen el mismo contrato que {@link Cola}, pero en
+ * lugar de crear un nodo por cada elemento, guardan sus elementos en un
+ * arreglo circular que crece al doble cuando se llena; meter y sacar
+ * elementos no genera basura mientras la cola no crezca.</p>
+ */
+public class ColaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; su longitud siempre es potencia de 2. */
+    private T[] arreglo;
+    /* La casilla del primer elemento de la cola. */
+    private int inicio;
+    /* Número de elementos en la cola. */
+    private int elementos;
+
+    /**
+     * Construye una cola vacía con una capacidad inicial predeterminada.
+     */
+    public ColaArreglo() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una cola vacía con una capacidad inicial definida por el
+     * usuario. La cola puede crecer más allá de esta capacidad.
+     * @param capacidad la capacidad inicial de la cola.
+     */
+    public ColaArreglo(int capacidad) {
+        int n = MINIMA_CAPACIDAD;
+        while (n < capacidad)
+            n *= 2;
+        arreglo = nuevoArreglo(n);
+    }
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Escribe los elementos de la cola en la salida recibida, del inicio al
+     * final, cada uno seguido de una coma.
+     * @param salida la salida donde se escribe la cola.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    @Override public void escribe(Appendable salida) throws IOException {
+        for (int i = 0; i < elementos; i++) {
+            T e = arreglo[(inicio + i) & (arreglo.length - 1)];
+            salida.append(String.valueOf(e)).append(',');
+        }
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (elementos == arreglo.length) {
+            T[] nuevo = nuevoArreglo(arreglo.length * 2);
+            int n = arreglo.length - inicio;
+            System.arraycopy(arreglo, inicio, nuevo, 0, n);
+            System.arraycopy(arreglo, 0, nuevo, n, inicio);
+            arreglo = nuevo;
+            inicio = 0;
+        }
+        arreglo[(inicio + elementos++) & (arreglo.length - 1)] = elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        T elemento = arreglo[inicio];
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo de la
+     * misma.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[inicio];
+    }
+
+    /**
+     * Nos dice si la cola esta vacia.
+     * @return <tt>true</tt> si la cola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+}
@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas concurrentes sin candados.</p>
+ *
+ * <p>La cola cumple el contrato mete/saca/mira de {@link Cola}, pero puede
+ * usarse desde varios hilos a la vez sin sincronización externa. Se
+ * implementa con el algoritmo de Michael y Scott: los elementos están en una
+ * lista ligada que empieza con un nodo centinela, y tanto meter como sacar
+ * avanzan sus extremos con operaciones compare-and-set; si un hilo encuentra
+ * el rabo atrasado porque otro hilo no ha terminado de meter, le ayuda a
+ * avanzarlo en lugar de esperarlo.</p>
+ *
+ * <p>Contar los elementos requeriría recorrer la cola, así que ésta no
+ * lleva la cuenta. {@link #escribe} muestra los elementos que encuentra
+ * durante su recorrido, aunque otros hilos la modifiquen mientras
+ * tanto.</p>
+ */
+public class ColaConcurrente<T> extends MeteSaca<T> {
+
+    /* Clase para los nodos de la cola. */
+    private static class Nodo<T> {
+        /* El elemento del nodo; null en el centinela. */
+        private volatile T elemento;
+        /* El siguiente nodo. */
+        private volatile Nodo<T> siguiente;
+
+        /* Construye un nodo con un elemento. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* Manejador para el siguiente de los nodos. */
+    private static final VarHandle SIGUIENTE;
+    /* Manejador para el primer nodo de la cola. */
+    private static final VarHandle PRIMERO;
+    /* Manejador para el último nodo de la cola. */
+    private static final VarHandle ULTIMO;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            SIGUIENTE = l.findVarHandle(Nodo.class, "siguiente", Nodo.class);
+            PRIMERO = l.findVarHandle(ColaConcurrente.class, "primero",
+                                      Nodo.class);
+            ULTIMO = l.findVarHandle(ColaConcurrente.class, "ultimo",
+                                     Nodo.class);
+        } catch (ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /* El centinela; su siguiente es el primer elemento de la cola. */
+    private volatile Nodo<T> primero;
+    /* El último nodo de la cola, o uno que le precede. */
+    private volatile Nodo<T> ultimo;
+
+    /**
+     * Construye una cola concurrente vacía.
+     */
+    public ColaConcurrente() {
+        primero = ultimo = new Nodo<T>(null);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        Nodo<T> nodo = new Nodo<T>(elemento);
+        while (true) {
+            Nodo<T> u = ultimo;
+            Nodo<T> s = u.siguiente;
+            if (u != ultimo)
+                continue;
+            if (s != null) {
+                ULTIMO.compareAndSet(this, u, s);
+            } else if (SIGUIENTE.compareAndSet(u, null, nodo)) {
+                ULTIMO.compareAndSet(this, u, nodo);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, o regresa
+     * <code>null</code> si la cola está vacía.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola está vacía.
+     */
+    public T intentaSacar() {
+        while (true) {
+            Nodo<T> p = primero;
+            Nodo<T> u = ultimo;
+            Nodo<T> s = p.siguiente;
+            if (p != primero)
+                continue;
+            if (s == null)
+                return null;
+            if (p == u) {
+                ULTIMO.compareAndSet(this, u, s);
+                continue;
+            }
+            T elemento = s.elemento;
+            if (elemento != null && PRIMERO.compareAndSet(this, p, s)) {
+                /* s es el nuevo centinela; soltamos su elemento. */
+                s.elemento = null;
+                return elemento;
+            }
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T saca() {
+        T elemento = intentaSacar();
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo de la
+     * misma.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T mira() {
+        while (true) {
+            Nodo<T> s = primero.siguiente;
+            if (s == null)
+                throw new NoSuchElementException();
+            T elemento = s.elemento;
+            if (elemento != null)
+                return elemento;
+        }
+    }
+
+    /**
+     * Nos dice si la cola esta vacia.
+     * @return <tt>true</tt> si la cola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return primero.siguiente == null;
+    }
+
+    /**
+     * Escribe los elementos de la cola en la salida recibida, del inicio al
+     * final, cada uno seguido de una coma.
+     * @param salida la salida donde se escribe la cola.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    @Override public void escribe(Appendable salida) throws IOException {
+        for (Nodo<T> n = primero.siguiente; n != null; n = n.siguiente) {
+            T elemento = n.elemento;
+            if (elemento != null)
+                salida.append(elemento.toString()).append(',');
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Clase para colas concurrentes acotadas, con varios productores y un
+ * solo consumidor.</p>
+ *
+ * <p>La cola guarda sus elementos en un arreglo circular de capacidad fija,
+ * así que no crea nodos. Cualquier número de hilos puede meter elementos a
+ * la vez: cada productor reserva una casilla avanzando el fondo con una
+ * operación compare-and-set, y después publica su elemento en ella. Sacar y
+ * mirar elementos, en cambio, sólo puede hacerlo un hilo a la vez; el
+ * consumidor avanza el frente sin operaciones atómicas, y puede vaciar
+ * muchos elementos de una vez con {@link #sacaVarios}.</p>
+ */
+public class ColaConcurrenteAcotada<T> extends MeteSaca<T> {
+
+    /* Las casillas; una casilla vacía tiene null. */
+    private AtomicReferenceArray<T> casillas;
+    /* Máscara para obtener la casilla de una posición. */
+    private int mascara;
+    /* La posición del siguiente elemento a sacar; sólo la escribe el
+     * consumidor. */
+    private volatile long frente;
+    /* La posición de la siguiente casilla a reservar. */
+    private AtomicLong fondo;
+
+    /**
+     * Construye una cola concurrente acotada con la capacidad recibida,
+     * redondeada a la siguiente potencia de 2.
+     * @param capacidad la capacidad mínima de la cola.
+     * @throws IllegalArgumentException si la capacidad es menor que 1 o
+     *         mayor que 2<sup>30</sup>.
+     */
+    public ColaConcurrenteAcotada(int capacidad) {
+        if (capacidad < 1 || capacidad > (1 << 30))
+            throw new IllegalArgumentException("Capacidad inválida: " +
+                                               capacidad);
+        int n = 1;
+        while (n < capacidad)
+            n *= 2;
+        casillas = new AtomicReferenceArray<T>(n);
+        mascara = n - 1;
+        fondo = new AtomicLong();
+    }
+
+    /**
+     * Regresa la capacidad de la cola.
+     * @return la capacidad de la cola.
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, si hay espacio. Puede llamarse
+     * desde varios hilos a la vez.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó, <code>false</code>
+     *         si la cola estaba llena.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public boolean ofrece(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long r;
+        do {
+            r = fondo.get();
+            if (r - frente > mascara)
+                return false;
+        } while (!fondo.compareAndSet(r, r + 1));
+        casillas.lazySet((int)r & mascara, elemento);
+        return true;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Puede llamarse desde varios
+     * hilos a la vez.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (!ofrece(elemento))
+            throw new IllegalStateException("La cola está llena.");
+    }
+
+    /* Regresa el elemento en la posición p, esperando a que su productor lo
+     * publique si ya reservó la casilla; o null si la cola está vacía. */
+    private T espera(long p) {
+        int i = (int)p & mascara;
+        T elemento = casillas.get(i);
+        while (elemento == null) {
+            if (fondo.get() == p)
+                return null;
+            Thread.onSpinWait();
+            elemento = casillas.get(i);
+        }
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, o regresa
+     * <code>null</code> si la cola está vacía. Sólo puede llamarse desde un
+     * hilo a la vez.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola está vacía.
+     */
+    public T intentaSacar() {
+        long c = frente;
+        T elemento = espera(c);
+        if (elemento == null)
+            return null;
+        casillas.set((int)c & mascara, null);
+        frente = c + 1;
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa. Sólo puede
+     * llamarse desde un hilo a la vez.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T saca() {
+        T elemento = intentaSacar();
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Saca hasta <code>n</code> elementos de la cola y los agrega, en orden,
+     * a la colección recibida. El frente de la cola se publica una sola vez
+     * al final, así que los productores no ven el espacio liberado sino hasta
+     * que termina el método. Sólo puede llamarse desde un hilo a la vez.
+     * @param n el máximo número de elementos a sacar.
+     * @param destino la colección donde se agregan los elementos.
+     * @return el número de elementos sacados.
+     */
+    public int sacaVarios(int n, Coleccion<? super T> destino) {
+        long c = frente;
+        int sacados = 0;
+        while (sacados < n) {
+            int i = (int)(c + sacados) & mascara;
+            T elemento = casillas.get(i);
+            if (elemento == null)
+                break;
+            casillas.lazySet(i, null);
+            destino.agrega(elemento);
+            sacados++;
+        }
+        frente = c + sacados;
+        return sacados;
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo de la
+     * misma. Sólo puede llamarse desde el hilo consumidor.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    @Override public T mira() {
+        T elemento = espera(frente);
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Nos dice si la cola esta vacia.
+     * @return <tt>true</tt> si la cola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return fondo.get() == frente;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola. Si otros hilos modifican la
+     * cola, el número es aproximado.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos() {
+        long c = frente;
+        return (int)Math.max(0, fondo.get() - c);
+    }
+
+    /**
+     * Escribe los elementos de la cola en la salida recibida, del inicio al
+     * final, cada uno seguido de una coma.
+     * @param salida la salida donde se escribe la cola.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    @Override public void escribe(Appendable salida) throws IOException {
+        long r = fondo.get();
+        for (long p = frente; p < r; p++) {
+            T elemento = casillas.get((int)p & mascara);
+            if (elemento != null)
+                salida.append(elemento.toString()).append(',');
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas de enteros.</p>
+ *
+ * <p>Las colas de enteros tienen las operaciones mete/saca/mira de {@link
+ * Cola}, pero guardan los enteros directamente en un arreglo circular de
+ * <code>int</code> que crece al doble cuando se llena; los enteros nunca se
+ * envuelven en objetos.</p>
+ */
+public class ColaInt {
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; su longitud siempre es potencia de 2. */
+    private int[] arreglo;
+    /* La casilla del primer elemento de la cola. */
+    private int inicio;
+    /* Número de elementos en la cola. */
+    private int elementos;
+
+    /**
+     * Construye una cola vacía con una capacidad inicial predeterminada.
+     */
+    public ColaInt() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una cola vacía con una capacidad inicial definida por el
+     * usuario. La cola puede crecer más allá de esta capacidad.
+     * @param capacidad la capacidad inicial de la cola.
+     */
+    public ColaInt(int capacidad) {
+        int n = MINIMA_CAPACIDAD;
+        while (n < capacidad)
+            n *= 2;
+        arreglo = new int[n];
+    }
+
+    /**
+     * Agrega un entero al final de la cola.
+     * @param elemento el entero a agregar.
+     */
+    public void mete(int elemento) {
+        if (elementos == arreglo.length) {
+            int[] nuevo = new int[arreglo.length * 2];
+            int n = arreglo.length - inicio;
+            System.arraycopy(arreglo, inicio, nuevo, 0, n);
+            System.arraycopy(arreglo, 0, nuevo, n, inicio);
+            arreglo = nuevo;
+            inicio = 0;
+        }
+        arreglo[(inicio + elementos++) & (arreglo.length - 1)] = elemento;
+    }
+
+    /**
+     * Elimina el entero al inicio de la cola y lo regresa.
+     * @return el entero al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    public int saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        int elemento = arreglo[inicio];
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el entero al inicio de la cola, sin sacarlo de la
+     * misma.
+     * @return el entero al inicio de la cola.
+     * @throws NoSuchElementException si la cola esta vacia.
+     */
+    public int mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[inicio];
+    }
+
+    /**
+     * Nos dice si la cola esta vacia.
+     * @return <tt>true</tt> si la cola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de enteros en la cola.
+     * @return el número de enteros en la cola.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia la cola de elementos, dejándola vacía. La cola conserva su
+     * capacidad.
+     */
+    public void limpia() {
+        inicio = 0;
+        elementos = 0;
+    }
+
+    /**
+     * Regresa una representacion en cadena de la cola.
+     * @return una representacion en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(arreglo[(inicio + i) & (arreglo.length - 1)])
+              .append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la cola con un objeto.
+     * @param o el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una cola de enteros
+     *         con los mismos enteros en el mismo orden; <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ColaInt c = (ColaInt)o;
+        if (elementos != c.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (arreglo[(inicio + i) & (arreglo.length - 1)] !=
+                c.arreglo[(c.inicio + i) & (c.arreglo.length - 1)])
+                return false;
+        return true;
+    }
+}
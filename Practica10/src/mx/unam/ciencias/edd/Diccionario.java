@@ -1,8 +1,10 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 
 /**
  * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
@@ -11,60 +13,92 @@ import java.util.NoSuchElementException;
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
-    /* Clase para las entradas del diccionario. */
-    private class Entrada {
+    /* Clase para las entradas del diccionario. Las entradas con la misma
+     * casilla forman una lista ligada simple, para que cada operación
+     * recorra su casilla una sola vez. Cada entrada guarda la dispersión
+     * completa de su llave, para compararla antes de llamar a equals y para
+     * no volver a dispersar la llave al crecer el arreglo. Las entradas se
+     * ordenan por dispersión para poder indexar las casillas largas con
+     * árboles rojinegros. */
+    private class Entrada implements Comparable<Entrada> {
 
         /* La llave. */
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión de la llave. */
+        public int dispersion;
+        /* La siguiente entrada en la misma casilla. */
+        public Entrada siguiente;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
-        	this.llave = llave;
+        public Entrada(K llave, V valor, int dispersion) {
+            this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
+        }
+
+        /* Nos dice si la entrada es de la llave con la dispersión d. */
+        public boolean esDe(K llave, int d) {
+            return dispersion == d && this.llave.equals(llave);
+        }
+
+        /* Compara por dispersión, luego por el nombre de la clase de las
+         * llaves, luego por llave si son de la misma clase comparable, y al
+         * final por identidad de las llaves. Desempatar por clase antes que
+         * por identidad hace que el orden sea transitivo aunque en una
+         * casilla haya llaves de clases distintas. */
+        @Override public int compareTo(Entrada e) {
+            int c = Integer.compare(dispersion, e.dispersion);
+            if (c == 0)
+                c = comparaClases(llave, e.llave);
+            if (c == 0)
+                c = comparaLlaves(llave, e.llave);
+            if (c == 0)
+                c = Integer.compare(System.identityHashCode(llave),
+                                    System.identityHashCode(e.llave));
+            return c;
         }
     }
 
     /* Clase privada para iteradores de diccionarios. */
     private class Iterador {
 
-        /* En qué lista estamos. */
+        /* En qué casilla estamos. */
         private int indice;
-        /* Iterador auxiliar. */
-        private Iterator<Entrada> iterador;
+        /* La siguiente entrada a regresar. */
+        private Entrada siguiente;
 
-        /* Construye un nuevo iterador, auxiliándose de las listas del
-         * diccionario. */
+        /* Construye un nuevo iterador, posicionándolo en la primera entrada
+         * del diccionario. */
         public Iterador() {
-        	Lista<Entrada> l = new Lista<>();
-
-            for (int i = 0; i < entradas.length; i++)
-                if (entradas[i] != null) {
-               	 indice = 0;
-               	 for (Entrada e : entradas[i])
-                        l.agrega(e);
-                }
-            this.iterador = l.iterator();
+            terminaMigracion();
+            indice = -1;
+            avanzaCasilla();
+        }
+
+        /* Mueve el iterador a la primera entrada de la siguiente casilla no
+         * vacía. */
+        private void avanzaCasilla() {
+            siguiente = null;
+            while (siguiente == null && ++indice < entradas.length)
+                siguiente = entradas[indice];
         }
 
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
-        	 return iterador.hasNext();
+            return siguiente != null;
         }
 
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
-        	if (iterador == null) {
-        		throw new NoSuchElementException();
-        	}
-        	if (!iterador.hasNext() ) {
-        	while(iterador == null)
-        indice++;
-        iterador = entradas[indice].iterator();
-        }
-        Entrada e = iterador.next();
-        return e;
+            if (siguiente == null)
+                throw new NoSuchElementException();
+            Entrada e = siguiente;
+            siguiente = e.siguiente;
+            if (siguiente == null)
+                avanzaCasilla();
+            return e;
         }
     }
 
@@ -74,12 +108,12 @@ public class Diccionario<K, V> implements Iterable<V> {
 
         /* Construye un nuevo iterador de llaves del diccionario. */
         public IteradorLlaves() {
-        	super();
+            super();
         }
 
         /* Regresa el siguiente elemento. */
         @Override public K next() {
-        	 return siguiente().llave;
+            return siguiente().llave;
         }
     }
 
@@ -89,34 +123,84 @@ public class Diccionario<K, V> implements Iterable<V> {
 
         /* Construye un nuevo iterador de llaves del diccionario. */
         public IteradorValores() {
-        	super();
+            super();
         }
 
         /* Regresa el siguiente elemento. */
         @Override public V next() {
-        	 return this.siguiente().valor;
+            return siguiente().valor;
         }
     }
 
     /** Máxima carga permitida por el diccionario. */
     public static final double MAXIMA_CARGA = 0.72;
 
+    /** Carga mínima predeterminada antes de reducir el diccionario. */
+    public static final double MINIMA_CARGA = 0.125;
+
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
 
+    /* Casillas viejas que se migran en cada operación durante una
+     * redimensión incremental. Con 8 casillas por operación la migración
+     * termina mucho antes de que la carga vuelva a llegar al máximo. */
+    private static final int CASILLAS_POR_PASO = 8;
+
+    /** Umbral sugerido para {@link #setUmbralArbol}. */
+    public static final int UMBRAL_ARBOL = 8;
+
     /* Dispersor. */
     private Dispersor<K> dispersor;
     /* Nuestro diccionario. */
-    private Lista<Entrada>[] entradas;
+    private Entrada[] entradas;
     /* Número de valores. */
     private int elementos;
+    /* Carga debajo de la cual el arreglo se reduce a la mitad. */
+    private double cargaMinima;
+    /* Tamaño debajo del cual el arreglo no se reduce automáticamente. */
+    private int capacidadMinima;
+    /* Si crecemos el arreglo de forma incremental. */
+    private boolean incremental;
+    /* El arreglo anterior mientras se migra; null si no se está migrando. */
+    private Entrada[] viejas;
+    /* La siguiente casilla de viejas a migrar. */
+    private int migradas;
+    /* Longitud a partir de la cual una casilla se indexa con un árbol; 0 si
+     * no se usan árboles. */
+    private int umbralArbol;
+    /* Los árboles de las casillas largas, paralelos a entradas; null si no
+     * hay ninguno. */
+    private ArbolRojinegro<Entrada>[] arboles;
 
     /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
        compilador. */
     @SuppressWarnings("unchecked")
-    private Lista<Entrada>[] nuevoArreglo(int n) {
-        return (Lista<Entrada>[])Array.newInstance(Lista.class, n);
+    private Entrada[] nuevoArreglo(int n) {
+        return (Entrada[])Array.newInstance(Entrada.class, n);
+    }
+
+    /* Crea un arreglo de árboles. */
+    @SuppressWarnings("unchecked")
+    private ArbolRojinegro<Entrada>[] nuevoArregloArboles(int n) {
+        return (ArbolRojinegro<Entrada>[])
+            Array.newInstance(ArbolRojinegro.class, n);
+    }
+
+    /* Compara las clases de dos llaves por su nombre; regresa 0 si son de
+     * la misma clase, o de clases distintas con el mismo nombre. */
+    private static int comparaClases(Object a, Object b) {
+        Class<?> ca = a.getClass(), cb = b.getClass();
+        return ca == cb ? 0 : ca.getName().compareTo(cb.getName());
+    }
+
+    /* Compara dos llaves si son de la misma clase comparable; regresa 0 en
+     * otro caso. */
+    @SuppressWarnings("unchecked")
+    private static int comparaLlaves(Object a, Object b) {
+        if (a.getClass() != b.getClass() || !(a instanceof Comparable))
+            return 0;
+        return ((Comparable<Object>)a).compareTo(b);
     }
 
     /**
@@ -124,7 +208,7 @@ public class Diccionario<K, V> implements Iterable<V> {
      * predeterminados.
      */
     public Diccionario() {
-    	this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
     }
 
     /**
@@ -133,7 +217,7 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param capacidad la capacidad a utilizar.
      */
     public Diccionario(int capacidad) {
-    	this(capacidad, (K llave) -> llave.hashCode());
+        this(capacidad, (K llave) -> llave.hashCode());
     }
 
     /**
@@ -142,7 +226,7 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param dispersor el dispersor a utilizar.
      */
     public Diccionario(Dispersor<K> dispersor) {
-    	this(MINIMA_CAPACIDAD, dispersor);
+        this(MINIMA_CAPACIDAD, dispersor);
     }
 
     /**
@@ -152,91 +236,285 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param dispersor el dispersor a utilizar.
      */
     public Diccionario(int capacidad, Dispersor<K> dispersor) {
-//    	
-//    	this.dispersor = dispersor;
-//     int tam = capacidad <= MINIMA_CAPACIDAD ? mascara(MINIMA_CAPACIDAD) : mascara(capacidad);
-//    	
-//        this.entradas = nuevoArreglo(tam + 1);
-    if (capacidad < MINIMA_CAPACIDAD)
-    	capacidad = MINIMA_CAPACIDAD;
-    int p = 128;
-    while(p<capacidad * 2)
-    	p = p*2;
-    this.entradas = nuevoArreglo(p);
-    this.dispersor = dispersor;
-    this.elementos = 0;
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int n = 128;
+        while (n < capacidad * 2)
+            n *= 2;
+        this.entradas = nuevoArreglo(n);
+        this.dispersor = dispersor;
+        this.elementos = 0;
+        this.cargaMinima = MINIMA_CARGA;
+        this.capacidadMinima = n;
     }
 
     /**
-     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
-     * la llave ya había sido utilizada antes para agregar un valor, el
-     * diccionario reemplaza ese valor con el recibido aquí.
-     * @param llave la llave para agregar el valor.
-     * @param valor el valor a agregar.
-     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     * Define si el diccionario crece de forma incremental. En modo
+     * incremental, cuando la carga llega a {@link #MAXIMA_CARGA} el
+     * diccionario crea el nuevo arreglo pero no mueve las entradas de
+     * inmediato; en su lugar, cada llamada a {@link #agrega}, {@link #get},
+     * {@link #contiene}, {@link #elimina} o {@link #calcula} migra un número
+     * acotado de casillas del arreglo viejo al nuevo. Así ninguna operación
+     * individual paga el costo de redispersar todo el diccionario. Las
+     * operaciones que de por sí recorren todo el diccionario (iterarlo,
+     * compararlo, convertirlo en cadena o contar sus colisiones) terminan
+     * la migración pendiente.
+     * @param incremental si el diccionario debe crecer de forma incremental.
      */
-    public void agrega(K llave, V valor) {
-    	if (llave == null || valor == null)
-            throw new IllegalArgumentException();
+    public void setCrecimientoIncremental(boolean incremental) {
+        this.incremental = incremental;
+        if (!incremental)
+            terminaMigracion();
+    }
 
-        int indice = calculaIndice(llave);
-      if (entradas[indice] == null)
-    	  entradas[indice] = new    Lista<Entrada>();
-    
-      for(Entrada e : entradas[indice]) {
-    	  if (e.llave.equals(llave))
-      return;
-      }
-     entradas[indice].agrega(new Entrada(llave,valor));
-     elementos++;     
-     
-        if (carga() >= MAXIMA_CARGA)
-            duplicaArreglo();
+    /**
+     * Define la carga mínima del diccionario. Cuando al eliminar una entrada
+     * la carga queda debajo de este valor, el arreglo del diccionario se
+     * reduce a la mitad, sin bajar nunca de la capacidad con la que se
+     * construyó el diccionario (o a la que se compactó por última vez). Una
+     * carga mínima de 0 desactiva la reducción automática.
+     * @param cargaMinima la nueva carga mínima.
+     * @throws IllegalArgumentException si la carga mínima es negativa, o si
+     *         no es menor que la mitad de {@link #MAXIMA_CARGA}.
+     */
+    public void setCargaMinima(double cargaMinima) {
+        if (cargaMinima < 0.0 || cargaMinima >= MAXIMA_CARGA / 2)
+            throw new IllegalArgumentException("Carga mínima inválida");
+        this.cargaMinima = cargaMinima;
     }
-    private int calculaIndice(K llave) {
-   int tam = entradas.length -1;
-    	return dispersor.dispersa(llave) &  tam;
+
+    /**
+     * Compacta el diccionario, reduciendo su arreglo al menor tamaño que
+     * usaría un diccionario recién construido con capacidad para sus
+     * elementos actuales. La reducción automática por {@link
+     * #setCargaMinima} nunca bajará de este nuevo tamaño.
+     */
+    public void compacta() {
+        int n = 128;
+        while (n < elementos * 2)
+            n *= 2;
+        if (n != entradas.length)
+            redimensiona(n);
+        terminaMigracion();
+        capacidadMinima = n;
+    }
+
+    /**
+     * Define la longitud a partir de la cual una casilla se indexa con un
+     * {@link ArbolRojinegro}. Si un adversario elige llaves que caen todas en
+     * la misma casilla, recorrerla toma tiempo lineal; con el árbol, buscar
+     * en ella toma tiempo logarítmico. Las entradas se ordenan por
+     * dispersión, luego por llave si las llaves son {@link Comparable}, así
+     * que con llaves comparables incluso las dispersiones idénticas se
+     * buscan en tiempo logarítmico. Eliminar una entrada todavía recorre su
+     * casilla. Un umbral de 0 (el predeterminado) desactiva los árboles;
+     * {@link #UMBRAL_ARBOL} es un buen valor.
+     * @param umbral la longitud de casilla a partir de la cual se usa un
+     *        árbol, o 0 para no usarlos.
+     * @throws IllegalArgumentException si el umbral es negativo.
+     */
+    public void setUmbralArbol(int umbral) {
+        if (umbral < 0)
+            throw new IllegalArgumentException("Umbral inválido");
+        umbralArbol = umbral;
+        if (umbral == 0)
+            arboles = null;
+    }
+
+    /* Regresa el árbol de la casilla i, o null si no tiene. */
+    private ArbolRojinegro<Entrada> arbol(int i) {
+        return arboles == null ? null : arboles[i];
+    }
+
+    /* Indexa la casilla i con un árbol si tiene más de umbralArbol
+     * entradas; n es la longitud de la casilla. */
+    private void arboliza(int i, int n) {
+        if (umbralArbol == 0 || n <= umbralArbol || arbol(i) != null)
+            return;
+        if (arboles == null)
+            arboles = nuevoArregloArboles(entradas.length);
+        ArbolRojinegro<Entrada> arbol = new ArbolRojinegro<Entrada>();
+        for (Entrada e = entradas[i]; e != null; e = e.siguiente)
+            arbol.agrega(e);
+        arboles[i] = arbol;
     }
 
-   
+    /* Busca la entrada de la llave de dispersión d en un árbol, bajando por
+     * el orden de las entradas. Sólo la dispersión y la comparación entre
+     * llaves de la misma clase deciden un lado: una llave igual a la buscada
+     * puede ser de otra clase, así que si la llave empata con la de un
+     * vértice, o es de otra clase, hay que buscar en ambos lados. */
+    private Entrada buscaEnArbol(ArbolRojinegro<Entrada> arbol, K llave,
+                                 int d) {
+        return arbol.esVacia() ? null : buscaEnArbol(arbol.raiz(), llave, d);
+    }
 
-    private Entrada buscaEntradaConLlave(Lista<Entrada> l, K llave) {
-        for (Entrada e : l)
-            if (e.llave.equals(llave))
+    /* Busca la entrada de la llave de dispersión d en el subárbol de v. */
+    private Entrada buscaEnArbol(VerticeArbolBinario<Entrada> v, K llave,
+                                 int d) {
+        while (v != null) {
+            Entrada e = v.get();
+            if (e.esDe(llave, d))
                 return e;
+            int c = Integer.compare(d, e.dispersion);
+            if (c == 0)
+                c = comparaLlaves(llave, e.llave);
+            if (c == 0 && v.hayIzquierdo()) {
+                Entrada r = buscaEnArbol(v.izquierdo(), llave, d);
+                if (r != null)
+                    return r;
+            }
+            if (c < 0)
+                v = v.hayIzquierdo() ? v.izquierdo() : null;
+            else
+                v = v.hayDerecho() ? v.derecho() : null;
+        }
         return null;
     }
 
-    private void duplicaArreglo() {
-       int tam = mascara(entradas.length * 2);
-       
-		Lista<Entrada>[] nuevaEntrada = nuevoArreglo(tam + 1);
-        for (int i = 0; i < entradas.length; i++) {
-            if (entradas[i] != null) {
-                for (Entrada e : entradas[i]) {
-                    int indice = calculaIndice(e.llave);
-                    nuevaEntrada[indice] = nuevaEntrada(nuevaEntrada[indice], e);
-                }
-            }
+    /* Regresa la entrada que precede a e en la casilla i, o null si e es la
+     * primera. */
+    private Entrada anterior(int i, Entrada e) {
+        Entrada a = null;
+        for (Entrada f = entradas[i]; f != e; f = f.siguiente)
+            a = f;
+        return a;
+    }
+
+    /* Regresa la casilla que le corresponde a una dispersión. */
+    private int indice(int dispersion) {
+        return dispersion & (entradas.length - 1);
+    }
+
+    /* Regresa la casilla que le corresponde a una dispersión, migrando antes
+     * la casilla vieja que podría tener entradas con esa dispersión. La llave
+     * se dispersa una sola vez por operación. */
+    private int ubica(int dispersion) {
+        if (viejas != null)
+            migraCasilla(dispersion & (viejas.length - 1));
+        return indice(dispersion);
+    }
+
+    /* Mueve al arreglo nuevo las entradas de la casilla vieja i. */
+    private void migraCasilla(int i) {
+        Entrada e = viejas[i];
+        viejas[i] = null;
+        while (e != null) {
+            Entrada s = e.siguiente;
+            int j = indice(e.dispersion);
+            e.siguiente = entradas[j];
+            entradas[j] = e;
+            if (arbol(j) != null)
+                arboles[j].agrega(e);
+            e = s;
+        }
+    }
+
+    /* Migra las siguientes casillas viejas, si se está migrando. */
+    private void avanzaMigracion() {
+        if (viejas == null)
+            return;
+        int fin = Math.min(migradas + CASILLAS_POR_PASO, viejas.length);
+        for (; migradas < fin; migradas++)
+            migraCasilla(migradas);
+        if (migradas == viejas.length)
+            viejas = null;
+    }
+
+    /* Migra todas las casillas viejas que falten. */
+    private void terminaMigracion() {
+        if (viejas == null)
+            return;
+        for (; migradas < viejas.length; migradas++)
+            migraCasilla(migradas);
+        viejas = null;
+    }
+
+    /* Regresa la entrada con la llave de dispersión d, o null si no está. Si
+     * la casilla resulta demasiado larga, se indexa con un árbol. */
+    private Entrada busca(K llave, int d) {
+        int i = ubica(d);
+        if (arbol(i) != null)
+            return buscaEnArbol(arboles[i], llave, d);
+        int n = 0;
+        Entrada e = entradas[i];
+        for (; e != null && !e.esDe(llave, d); e = e.siguiente)
+            n++;
+        arboliza(i, n);
+        return e;
+    }
+
+    /* Agrega al final de la casilla i una entrada que sabemos que no está en
+     * el diccionario, y crece el arreglo si es necesario; si ultima es null
+     * la entrada se agrega al inicio. La casilla tenía n entradas. */
+    private void agregaNueva(int i, Entrada ultima, int n,
+                             K llave, V valor, int d) {
+        Entrada e = new Entrada(llave, valor, d);
+        if (ultima == null) {
+            e.siguiente = entradas[i];
+            entradas[i] = e;
+        } else {
+            ultima.siguiente = e;
         }
-        entradas = nuevaEntrada;
-    }
-    private int mascara(int n) {
-        int m = 1;
-        while (m <= n)
-            m = (m << 1) | 1;
-        m = (m << 1) | 1;
-        return m;
-    }
-    private Lista<Entrada> nuevaEntrada(Lista<Entrada> le, Entrada e) {
-        Lista<Entrada> l;
-        if (le == null)
-            l = new Lista<Entrada>();
+        if (arbol(i) != null)
+            arboles[i].agrega(e);
         else
-            l = le;
-        l.agrega(e);
-        return l;
+            arboliza(i, n + 1);
+        elementos++;
+        if (carga() >= MAXIMA_CARGA)
+            redimensiona(entradas.length * 2);
+    }
+
+    /* Cambia el tamaño del arreglo a n, moviendo las entradas sin crear
+     * nuevas ni volver a dispersar sus llaves. En modo incremental sólo se
+     * crea el arreglo nuevo y las entradas se migran poco a poco; como n es
+     * potencia de 2, las entradas de una casilla nueva sólo pueden venir de
+     * la casilla vieja que corresponde a su dispersión, tanto al crecer como
+     * al reducir. */
+    private void redimensiona(int n) {
+        terminaMigracion();
+        viejas = entradas;
+        migradas = 0;
+        entradas = nuevoArreglo(n);
+        arboles = null;
+        if (!incremental)
+            terminaMigracion();
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        avanzaMigracion();
+        int d = dispersor.dispersa(llave);
+        int i = ubica(d);
+        if (arbol(i) != null) {
+            Entrada e = buscaEnArbol(arboles[i], llave, d);
+            if (e != null)
+                e.valor = valor;
+            else
+                agregaNueva(i, null, 0, llave, valor, d);
+            return;
+        }
+        Entrada ultima = null;
+        int n = 0;
+        for (Entrada e = entradas[i]; e != null; e = e.siguiente, n++) {
+            if (e.esDe(llave, d)) {
+                e.valor = valor;
+                return;
+            }
+            ultima = e;
+        }
+        agregaNueva(i, ultima, n, llave, valor, d);
     }
+
     /**
      * Regresa el valor del diccionario asociado a la llave proporcionada.
      * @param llave la llave para buscar el valor.
@@ -245,18 +523,74 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @throws NoSuchElementException si la llave no está en el diccionario.
      */
     public V get(K llave) {
-    	 if (llave == null)
-    		  throw new IllegalArgumentException();
-    	    	
-    	    	
-    	    int i = calculaIndice(llave);
-    	if(contiene(llave))
-    	        for (Entrada e : entradas[i]) {
-    	            if (e.llave.equals(llave))
-    	                return e.valor;
-    	        }
-    	        throw new NoSuchElementException();
-    	   
+        if (llave == null)
+            throw new IllegalArgumentException();
+        avanzaMigracion();
+        Entrada e = busca(llave, dispersor.dispersa(llave));
+        if (e == null)
+            throw new NoSuchElementException();
+        return e.valor;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o
+     * el valor por omisión si la llave no está en el diccionario. A
+     * diferencia de combinar {@link #contiene} con {@link #get}, la casilla
+     * se recorre una sola vez.
+     * @param llave la llave para buscar el valor.
+     * @param porOmision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>porOmision</code>
+     *         si la llave no está en el diccionario.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public V get(K llave, V porOmision) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        avanzaMigracion();
+        Entrada e = busca(llave, dispersor.dispersa(llave));
+        return e == null ? porOmision : e.valor;
+    }
+
+    /**
+     * Calcula un nuevo valor para la llave a partir de su valor actual,
+     * recorriendo la casilla de la llave una sola vez. La función recibe la
+     * llave y su valor actual (o <code>null</code> si la llave no está en el
+     * diccionario); si regresa <code>null</code> la entrada se elimina, y en
+     * otro caso su resultado queda asociado a la llave.
+     * @param llave la llave del valor a calcular.
+     * @param funcion la función que calcula el nuevo valor.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la
+     *         llave ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V calcula(K llave,
+                     BiFunction<? super K, ? super V, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException();
+        avanzaMigracion();
+        int d = dispersor.dispersa(llave);
+        int i = ubica(d);
+        boolean conArbol = arbol(i) != null;
+        Entrada anterior = null;
+        Entrada e;
+        int n = 0;
+        if (conArbol) {
+            e = buscaEnArbol(arboles[i], llave, d);
+        } else {
+            e = entradas[i];
+            for (; e != null && !e.esDe(llave, d); e = e.siguiente, n++)
+                anterior = e;
+        }
+        V valor = funcion.apply(llave, e == null ? null : e.valor);
+        if (e == null) {
+            if (valor != null)
+                agregaNueva(i, anterior, n, llave, valor, d);
+        } else if (valor == null) {
+            desliga(i, conArbol ? anterior(i, e) : anterior, e);
+        } else {
+            e.valor = valor;
+        }
+        return valor;
     }
 
     /**
@@ -266,17 +600,10 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         <tt>false</tt> en otro caso.
      */
     public boolean contiene(K llave) {
-    	if (llave == null)
-    		return false;
-    	
-    	int i = calculaIndice(llave);
-        if (entradas[i] == null)
+        if (llave == null)
             return false;
-        for (Entrada e : entradas[i]) {
-            if (e.llave.equals(llave))
-                return true;
-        }
-        return false;
+        avanzaMigracion();
+        return busca(llave, dispersor.dispersa(llave)) != null;
     }
 
     /**
@@ -287,14 +614,45 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         el diccionario.
      */
     public void elimina(K llave) {
-    	if(llave == null)
-        	throw new  IllegalArgumentException();
-        	int i = calculaIndice(llave);
-            if (entradas[i] == null)
+        if (llave == null)
+            throw new IllegalArgumentException();
+        avanzaMigracion();
+        int d = dispersor.dispersa(llave);
+        int i = ubica(d);
+        if (arbol(i) != null) {
+            Entrada e = buscaEnArbol(arboles[i], llave, d);
+            if (e == null)
                 throw new NoSuchElementException();
-            Entrada e = buscaEntradaConLlave(entradas[i], llave);
-            entradas[i].elimina(e);
-            elementos--;
+            desliga(i, anterior(i, e), e);
+            return;
+        }
+        Entrada anterior = null;
+        for (Entrada e = entradas[i]; e != null; e = e.siguiente) {
+            if (e.esDe(llave, d)) {
+                desliga(i, anterior, e);
+                return;
+            }
+            anterior = e;
+        }
+        throw new NoSuchElementException();
+    }
+
+    /* Desliga la entrada e de la casilla i, y reduce el arreglo si es
+     * necesario; anterior es la entrada que precede a e en la casilla, o
+     * null si e es la primera. */
+    private void desliga(int i, Entrada anterior, Entrada e) {
+        if (anterior == null)
+            entradas[i] = e.siguiente;
+        else
+            anterior.siguiente = e.siguiente;
+        if (arbol(i) != null) {
+            arboles[i].elimina(e);
+            if (arboles[i].getElementos() <= umbralArbol / 2)
+                arboles[i] = null;
+        }
+        elementos--;
+        if (carga() < cargaMinima && entradas.length > capacidadMinima)
+            redimensiona(entradas.length / 2);
     }
 
     /**
@@ -302,12 +660,11 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones() {
-    	int colisiones = 0;
-        for (int i = 0; i < entradas.length; i++) {
-            if (entradas[i] != null) {
-                colisiones += entradas[i].getElementos() - 1;
-            }
-        }
+        terminaMigracion();
+        int colisiones = 0;
+        for (int i = 0; i < entradas.length; i++)
+            if (entradas[i] != null)
+                colisiones += longitud(entradas[i]) - 1;
         return colisiones;
     }
 
@@ -317,25 +674,29 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima() {
-    	int colision = 0;
+        terminaMigracion();
         int colisionMaxima = 0;
-        for (int i = 0; i < entradas.length; i++) {
-            if (entradas[i] != null) {
-                colision = entradas[i].getElementos() - 1;
-                if (colision > colisionMaxima)
-                    colisionMaxima = colision;
-            }
-        }
+        for (int i = 0; i < entradas.length; i++)
+            if (entradas[i] != null)
+                colisionMaxima = Math.max(colisionMaxima,
+                                          longitud(entradas[i]) - 1);
         return colisionMaxima;
     }
 
+    /* Regresa el número de entradas en la casilla que empieza en e. */
+    private int longitud(Entrada e) {
+        int n = 0;
+        for (; e != null; e = e.siguiente)
+            n++;
+        return n;
+    }
+
     /**
      * Nos dice la carga del diccionario.
      * @return la carga del diccionario.
      */
     public double carga() {
-    	 double carga = (elementos + 0.0) / entradas.length;
-         return carga;
+        return ((double)elementos) / entradas.length;
     }
 
     /**
@@ -343,7 +704,7 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el número de entradas en el diccionario.
      */
     public int getElementos() {
-    	return elementos;
+        return elementos;
     }
 
     /**
@@ -352,17 +713,19 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         en otro caso.
      */
     public boolean esVacia() {
-    	if ( elementos == 0)
-    		return true;
-    				return false;
+        return elementos == 0;
     }
 
     /**
-     * Limpia el diccionario de elementos, dejándolo vacío.
+     * Limpia el diccionario de elementos, dejándolo vacío. El arreglo
+     * regresa a la capacidad con la que se construyó el diccionario (o a la
+     * que se compactó por última vez).
      */
     public void limpia() {
-    	 entradas = nuevoArreglo(entradas.length);
-         elementos = 0;
+        entradas = nuevoArreglo(capacidadMinima);
+        arboles = null;
+        viejas = null;
+        elementos = 0;
     }
 
     /**
@@ -370,19 +733,31 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return una representación en cadena del diccionario.
      */
     @Override public String toString() {
-      String s = "{ ";
-      if(elementos == 0)
-    	  return "{}";
-      for (int i=0 ; i < entradas.length ; i ++)
-    	  if (entradas[i] != null) {
-    		  for (Entrada e : entradas[i]) {
-    			  s += String.format("'%s':	'%s', ",  e.llave.toString(), e.valor.toString());
-    		  }
-    	  }
-    
-    return s+"}";
-}
+        return Escritura.cadena(this::escribe);
+    }
 
+    /**
+     * Escribe la representación en cadena del diccionario en la salida
+     * recibida, entrada por entrada y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe el diccionario.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        if (elementos == 0) {
+            salida.append("{}");
+            return;
+        }
+        terminaMigracion();
+        salida.append("{ ");
+        for (int i = 0; i < entradas.length; i++) {
+            for (Entrada e = entradas[i]; e != null; e = e.siguiente) {
+                salida.append('\'').append(String.valueOf(e.llave));
+                salida.append("': '").append(String.valueOf(e.valor));
+                salida.append("', ");
+            }
+        }
+        salida.append('}');
+    }
 
     /**
      * Nos dice si el diccionario es igual al objeto recibido.
@@ -397,23 +772,21 @@ public class Diccionario<K, V> implements Iterable<V> {
         @SuppressWarnings("unchecked") Diccionario<K, V> d =
             (Diccionario<K, V>)o;
         if (elementos != d.elementos)
-        	return false;
-        for(K llave : recorreLLaves())
-        	if (!d.contiene(llave) || !d.get(llave).equals(get(llave)))
-        		return false;
+            return false;
+        terminaMigracion();
+        d.terminaMigracion();
+        boolean mismoDispersor = dispersor == d.dispersor;
+        for (int i = 0; i < entradas.length; i++)
+            for (Entrada e = entradas[i]; e != null; e = e.siguiente) {
+                int h = mismoDispersor ? e.dispersion :
+                    d.dispersor.dispersa(e.llave);
+                Entrada f = d.busca(e.llave, h);
+                if (f == null || !f.valor.equals(e.valor))
+                    return false;
+            }
         return true;
     }
-private Lista<K> recorreLLaves() {
-	Lista<K> ll = new Lista<>();
-	for(int i = 0; i < entradas.length; i++) {
-		if (entradas[i] != null) {
-			for(Entrada e : entradas[i]) {
-				ll.agrega(e.llave);
-			}
-		}
-	}
-	return ll;
-}
+
     /**
      * Regresa un iterador para iterar las llaves del diccionario. El
      * diccionario se itera sin ningún orden específico.
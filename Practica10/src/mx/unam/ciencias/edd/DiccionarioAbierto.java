@@ -0,0 +1,423 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios con direccionamiento abierto. El diccionario
+ * ofrece la misma interfaz pública que {@link Diccionario}, pero en lugar de
+ * guardar cada entrada en una lista dentro de su casilla, guarda las llaves y
+ * los valores directamente en dos arreglos planos paralelos.</p>
+ *
+ * <p>Las colisiones se resuelven con sondeo lineal <em>Robin Hood</em>: al
+ * insertar, una entrada que ya viajó más lejos de su casilla natural que la
+ * entrada que ocupa una casilla le roba esa casilla. Esto mantiene juntas a
+ * las entradas con la misma casilla natural y acota la longitud de las
+ * búsquedas fallidas. Las eliminaciones recorren hacia atrás a las entradas
+ * siguientes, por lo que el diccionario nunca deja lápidas.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Iterable<V> {
+
+    /* Clase privada para iteradores de diccionarios abiertos. */
+    private class Iterador {
+
+        /* La casilla de la siguiente entrada; o la capacidad si no hay. */
+        private int indice;
+
+        /* Construye un nuevo iterador, posicionándolo en la primera
+         * casilla ocupada. */
+        public Iterador() {
+            indice = siguienteOcupada(0);
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa la casilla de la siguiente entrada y avanza. */
+        public int siguiente() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException();
+            int i = indice;
+            indice = siguienteOcupada(indice + 1);
+            return i;
+        }
+    }
+
+    /* Clase privada para iteradores de llaves de diccionarios abiertos. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return llave(siguiente());
+        }
+    }
+
+    /* Clase privada para iteradores de valores de diccionarios abiertos. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valor(siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las llaves; una casilla vacía tiene null. */
+    private Object[] llaves;
+    /* Los valores, paralelos a las llaves. */
+    private Object[] valores;
+    /* Las dispersiones de las llaves, para no volver a dispersarlas. */
+    private int[] dispersiones;
+    /* Número de valores. */
+    private int elementos;
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int n = 128;
+        while (n < capacidad * 2)
+            n *= 2;
+        this.dispersor = dispersor;
+        inicializa(n);
+    }
+
+    /* Crea arreglos vacíos de tamaño n; n es potencia de 2. */
+    private void inicializa(int n) {
+        llaves = new Object[n];
+        valores = new Object[n];
+        dispersiones = new int[n];
+        elementos = 0;
+    }
+
+    /* Regresa la llave en la casilla i. */
+    @SuppressWarnings("unchecked") private K llave(int i) {
+        return (K)llaves[i];
+    }
+
+    /* Regresa el valor en la casilla i. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa la primera casilla ocupada a partir de i, o la capacidad si
+     * no hay ninguna. */
+    private int siguienteOcupada(int i) {
+        while (i < llaves.length && llaves[i] == null)
+            i++;
+        return i;
+    }
+
+    /* Regresa qué tan lejos de su casilla natural está la entrada en la
+     * casilla i. */
+    private int distancia(int i) {
+        int mascara = llaves.length - 1;
+        return (i - (dispersiones[i] & mascara)) & mascara;
+    }
+
+    /* Regresa la casilla de la llave con la dispersión d, o -1 si la llave
+     * no está en el diccionario. */
+    private int busca(K llave, int d) {
+        int mascara = llaves.length - 1;
+        int i = d & mascara;
+        for (int recorrido = 0; llaves[i] != null; recorrido++) {
+            if (distancia(i) < recorrido)
+                return -1;
+            if (dispersiones[i] == d && llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /* Coloca una entrada que sabemos que no está en el diccionario. */
+    private void coloca(Object llave, Object valor, int d) {
+        int mascara = llaves.length - 1;
+        int i = d & mascara;
+        int recorrido = 0;
+        while (llaves[i] != null) {
+            int r = distancia(i);
+            if (r < recorrido) {
+                Object l = llaves[i];
+                Object v = valores[i];
+                int dl = dispersiones[i];
+                llaves[i] = llave;
+                valores[i] = valor;
+                dispersiones[i] = d;
+                llave = l;
+                valor = v;
+                d = dl;
+                recorrido = r;
+            }
+            i = (i + 1) & mascara;
+            recorrido++;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        dispersiones[i] = d;
+    }
+
+    /* Duplica el tamaño de los arreglos, reutilizando las dispersiones. */
+    private void duplicaArreglos() {
+        Object[] ll = llaves;
+        Object[] vs = valores;
+        int[] ds = dispersiones;
+        int n = elementos;
+        inicializa(ll.length * 2);
+        elementos = n;
+        for (int i = 0; i < ll.length; i++)
+            if (ll[i] != null)
+                coloca(ll[i], vs[i], ds[i]);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int d = dispersor.dispersa(llave);
+        int i = busca(llave, d);
+        if (i != -1) {
+            valores[i] = valor;
+            return;
+        }
+        coloca(llave, valor, d);
+        elementos++;
+        if (carga() >= MAXIMA_CARGA)
+            duplicaArreglos();
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i == -1)
+            throw new NoSuchElementException();
+        return valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        return busca(llave, dispersor.dispersa(llave)) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * entradas que siguen a la eliminada se recorren una casilla hacia atrás
+     * hasta encontrar una casilla vacía o una entrada en su casilla natural.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i == -1)
+            throw new NoSuchElementException();
+        int mascara = llaves.length - 1;
+        int j = (i + 1) & mascara;
+        while (llaves[j] != null && distancia(j) > 0) {
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            dispersiones[i] = dispersiones[j];
+            i = j;
+            j = (j + 1) & mascara;
+        }
+        llaves[i] = null;
+        valores[i] = null;
+        elementos--;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario. Como en {@link
+     * Diccionario}, cada entrada cuya casilla natural ya estaba ocupada por
+     * otra entrada cuenta como una colisión.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null && mismaCasillaQueAnterior(i))
+                colisiones++;
+        return colisiones;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int maxima = 0, colision = 0;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] == null)
+                continue;
+            colision = mismaCasillaQueAnterior(i) ? colision + 1 : 0;
+            if (colision > maxima)
+                maxima = colision;
+        }
+        return maxima;
+    }
+
+    /* Nos dice si la entrada en la casilla i tiene la misma casilla natural
+     * que la entrada en la casilla anterior. Con Robin Hood las entradas con
+     * la misma casilla natural siempre quedan contiguas. */
+    private boolean mismaCasillaQueAnterior(int i) {
+        int mascara = llaves.length - 1;
+        int a = (i - 1) & mascara;
+        return llaves[a] != null &&
+            (dispersiones[a] & mascara) == (dispersiones[i] & mascara);
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return ((double)elementos) / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (elementos == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder("{ ");
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null)
+                sb.append(String.format("'%s': '%s', ", llaves[i], valores[i]));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioAbierto<K, V> d =
+            (DiccionarioAbierto<K, V>)o;
+        if (elementos != d.elementos)
+            return false;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] == null)
+                continue;
+            int j = d.busca(llave(i), d.dispersor.dispersa(llave(i)));
+            if (j == -1 || !valores[i].equals(d.valores[j]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -0,0 +1,579 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * <p>Clase para diccionarios concurrentes. El diccionario está dividido en
+ * <em>segmentos</em>, cada uno de ellos un pequeño diccionario con su propio
+ * candado; las escrituras en segmentos distintos proceden en paralelo.</p>
+ *
+ * <p>Las lecturas ({@link #get}, {@link #contiene} y los iteradores) nunca
+ * toman candados: las entradas de una casilla forman una lista ligada cuyos
+ * enlaces no cambian una vez publicados, así que un lector siempre ve una
+ * casilla consistente. Por lo mismo, cuando un segmento crece construye un
+ * arreglo nuevo y lo publica al terminar, sin bloquear a los lectores que
+ * siguen recorriendo el arreglo anterior.</p>
+ *
+ * <p>Los iteradores son <em>débilmente consistentes</em>: nunca lanzan
+ * excepciones por modificaciones concurrentes, y reflejan el estado del
+ * diccionario en algún momento durante o después de su creación.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase para las entradas del diccionario. La llave, la dispersión y el
+     * siguiente son inmutables; sólo el valor puede cambiar. */
+    private class Entrada {
+
+        /* La llave. */
+        public final K llave;
+        /* La dispersión de la llave. */
+        public final int dispersion;
+        /* La siguiente entrada en la misma casilla. */
+        public final Entrada siguiente;
+        /* El valor. */
+        public volatile V valor;
+
+        /* Construye una nueva entrada. */
+        public Entrada(K llave, int dispersion, V valor, Entrada siguiente) {
+            this.llave = llave;
+            this.dispersion = dispersion;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+
+        /* Nos dice si la entrada es de la llave con la dispersión d. */
+        public boolean esDe(K llave, int d) {
+            return dispersion == d && this.llave.equals(llave);
+        }
+    }
+
+    /* Clase para los segmentos del diccionario. El candado del segmento sólo
+     * lo toman las escrituras. */
+    @SuppressWarnings("serial")
+    private class Segmento extends ReentrantLock {
+
+        /* Las casillas del segmento. */
+        public volatile AtomicReferenceArray<Entrada> tabla;
+        /* Número de entradas en el segmento. */
+        public volatile int elementos;
+
+        /* Construye un segmento con n casillas; n es potencia de 2. */
+        public Segmento(int n) {
+            tabla = new AtomicReferenceArray<Entrada>(n);
+        }
+
+        /* Regresa la entrada con la llave de dispersión d, o null si no
+         * está. No toma el candado. */
+        public Entrada busca(K llave, int d) {
+            AtomicReferenceArray<Entrada> t = tabla;
+            Entrada e = t.get(d & (t.length() - 1));
+            while (e != null && !e.esDe(llave, d))
+                e = e.siguiente;
+            return e;
+        }
+
+        /* Calcula el nuevo valor de la llave bajo el candado del segmento. Si
+         * la función regresa null la entrada se elimina. */
+        public V calcula(K llave, int d,
+                         BiFunction<? super K, ? super V, ? extends V> f) {
+            lock();
+            try {
+                AtomicReferenceArray<Entrada> t = tabla;
+                int i = d & (t.length() - 1);
+                Entrada primera = t.get(i);
+                Entrada e = primera;
+                while (e != null && !e.esDe(llave, d))
+                    e = e.siguiente;
+                V valor = f.apply(llave, e == null ? null : e.valor);
+                if (e != null && valor != null) {
+                    e.valor = valor;
+                } else if (e != null) {
+                    t.set(i, sinEntrada(primera, e));
+                    elementos--;
+                } else if (valor != null) {
+                    t.set(i, new Entrada(llave, d, valor, primera));
+                    elementos++;
+                    if (((double)elementos) / t.length() >= MAXIMA_CARGA)
+                        crece();
+                }
+                return valor;
+            } finally {
+                unlock();
+            }
+        }
+
+        /* Regresa una casilla equivalente a la que empieza en primera, pero
+         * sin la entrada e. Como los enlaces son inmutables, las entradas
+         * anteriores a e se copian. */
+        private Entrada sinEntrada(Entrada primera, Entrada e) {
+            Entrada r = e.siguiente;
+            for (Entrada a = primera; a != e; a = a.siguiente)
+                r = new Entrada(a.llave, a.dispersion, a.valor, r);
+            return r;
+        }
+
+        /* Duplica el arreglo del segmento. Se llama con el candado tomado;
+         * los lectores siguen usando el arreglo anterior hasta que el nuevo
+         * se publica. */
+        private void crece() {
+            AtomicReferenceArray<Entrada> t = tabla;
+            int n = t.length() * 2;
+            AtomicReferenceArray<Entrada> nueva =
+                new AtomicReferenceArray<Entrada>(n);
+            for (int i = 0; i < t.length(); i++)
+                for (Entrada e = t.get(i); e != null; e = e.siguiente) {
+                    int j = e.dispersion & (n - 1);
+                    nueva.set(j, new Entrada(e.llave, e.dispersion,
+                                             e.valor, nueva.get(j)));
+                }
+            tabla = nueva;
+        }
+
+        /* Vacía el segmento. */
+        public void limpia() {
+            lock();
+            try {
+                tabla = new AtomicReferenceArray<Entrada>(tabla.length());
+                elementos = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        /* Regresa las colisiones del segmento; si maxima es true, regresa
+         * la colisión máxima. */
+        public int colisiones(boolean maxima) {
+            AtomicReferenceArray<Entrada> t = tabla;
+            int total = 0, maximo = 0;
+            for (int i = 0; i < t.length(); i++) {
+                int n = -1;
+                for (Entrada e = t.get(i); e != null; e = e.siguiente)
+                    n++;
+                if (n > 0) {
+                    total += n;
+                    maximo = Math.max(maximo, n);
+                }
+            }
+            return maxima ? maximo : total;
+        }
+    }
+
+    /* Clase privada para iteradores de diccionarios concurrentes. */
+    private class Iterador {
+
+        /* En qué segmento estamos. */
+        private int segmento;
+        /* El arreglo del segmento que estamos recorriendo. */
+        private AtomicReferenceArray<Entrada> tabla;
+        /* En qué casilla estamos. */
+        private int indice;
+        /* La siguiente entrada a regresar. */
+        private Entrada siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            segmento = -1;
+            tabla = new AtomicReferenceArray<Entrada>(0);
+            indice = 0;
+            avanza();
+        }
+
+        /* Mueve el iterador a la siguiente casilla no vacía. */
+        private void avanza() {
+            while (siguiente == null) {
+                if (indice < tabla.length()) {
+                    siguiente = tabla.get(indice++);
+                } else if (++segmento < segmentos.length) {
+                    tabla = segmentos[segmento].tabla;
+                    indice = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa la siguiente entrada. */
+        public Entrada siguiente() {
+            if (siguiente == null)
+                throw new NoSuchElementException();
+            Entrada e = siguiente;
+            siguiente = e.siguiente;
+            avanza();
+            return e;
+        }
+    }
+
+    /* Clase privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return siguiente().llave;
+        }
+    }
+
+    /* Clase privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return siguiente().valor;
+        }
+    }
+
+    /** Máxima carga permitida en cada segmento del diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /** Número de segmentos predeterminado. */
+    public static final int SEGMENTOS = 16;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Dispersor. */
+    private final Dispersor<K> dispersor;
+    /* Los segmentos. */
+    private final Segmento[] segmentos;
+    /* Cuántos bits se desplaza la dispersión mezclada para elegir
+     * segmento. */
+    private final int desplazamiento;
+
+    /* Truco para crear un arreglo genérico. */
+    @SuppressWarnings("unchecked")
+    private Segmento[] nuevoArreglo(int n) {
+        return (Segmento[])java.lang.reflect.Array.newInstance(Segmento.class,
+                                                              n);
+    }
+
+    /**
+     * Construye un diccionario concurrente con una capacidad inicial,
+     * dispersor y número de segmentos predeterminados.
+     */
+    public DiccionarioConcurrente() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode(), SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario concurrente con una capacidad inicial definida
+     * por el usuario, y un dispersor y número de segmentos predeterminados.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode(), SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario concurrente con una capacidad inicial y número
+     * de segmentos predeterminados, y un dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor, SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario concurrente con una capacidad inicial y un
+     * dispersor definidos por el usuario, y un número de segmentos
+     * predeterminado.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario concurrente con una capacidad inicial, un
+     * dispersor y un número de segmentos definidos por el usuario. El número
+     * de segmentos se redondea a la siguiente potencia de 2, y es el número
+     * máximo de escrituras que pueden proceder en paralelo.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param segmentos el número de segmentos.
+     * @throws IllegalArgumentException si el número de segmentos no es
+     *         positivo, o si el dispersor es nulo.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor,
+                                  int segmentos) {
+        if (segmentos < 1 || segmentos > (1 << 16) || dispersor == null)
+            throw new IllegalArgumentException();
+        int s = 1, bits = 0;
+        while (s < segmentos) {
+            s *= 2;
+            bits++;
+        }
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int n = 128;
+        while (n < capacidad * 2)
+            n *= 2;
+        int porSegmento = Math.max(2, n / s);
+        this.dispersor = dispersor;
+        this.desplazamiento = 32 - bits;
+        this.segmentos = nuevoArreglo(s);
+        for (int i = 0; i < s; i++)
+            this.segmentos[i] = new Segmento(porSegmento);
+    }
+
+    /* Regresa el segmento de una dispersión. Los bits altos de la dispersión
+     * mezclada eligen el segmento, y los bajos de la dispersión original la
+     * casilla dentro del segmento. */
+    private Segmento segmento(int d) {
+        if (desplazamiento == 32)
+            return segmentos[0];
+        return segmentos[(d * 0x9e3779b9) >>> desplazamiento];
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int d = dispersor.dispersa(llave);
+        segmento(d).calcula(llave, d, (k, v) -> valor);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada. El
+     * método no toma ningún candado.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        V valor = get(llave, null);
+        if (valor == null)
+            throw new NoSuchElementException();
+        return valor;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o
+     * el valor por omisión si la llave no está en el diccionario. El método
+     * no toma ningún candado.
+     * @param llave la llave para buscar el valor.
+     * @param porOmision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>porOmision</code>
+     *         si la llave no está en el diccionario.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public V get(K llave, V porOmision) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int d = dispersor.dispersa(llave);
+        Entrada e = segmento(d).busca(llave, d);
+        return e == null ? porOmision : e.valor;
+    }
+
+    /**
+     * Calcula atómicamente un nuevo valor para la llave a partir de su valor
+     * actual. La función recibe la llave y su valor actual (o
+     * <code>null</code> si la llave no está en el diccionario); si regresa
+     * <code>null</code> la entrada se elimina, y en otro caso su resultado
+     * queda asociado a la llave. La función se ejecuta con el candado del
+     * segmento de la llave tomado, por lo que debe ser breve y no debe
+     * modificar el diccionario.
+     * @param llave la llave del valor a calcular.
+     * @param funcion la función que calcula el nuevo valor.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la
+     *         llave ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V calcula(K llave,
+                     BiFunction<? super K, ? super V, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException();
+        int d = dispersor.dispersa(llave);
+        return segmento(d).calcula(llave, d, funcion);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario. El método no toma
+     * ningún candado.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        int d = dispersor.dispersa(llave);
+        return segmento(d).busca(llave, d) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        boolean[] estaba = { false };
+        int d = dispersor.dispersa(llave);
+        segmento(d).calcula(llave, d, (k, v) -> {
+                estaba[0] = v != null;
+                return null;
+            });
+        if (!estaba[0])
+            throw new NoSuchElementException();
+    }
+
+    /**
+     * Regresa el número de segmentos del diccionario.
+     * @return el número de segmentos del diccionario.
+     */
+    public int getSegmentos() {
+        return segmentos.length;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (Segmento s : segmentos)
+            colisiones += s.colisiones(false);
+        return colisiones;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en un segmento del diccionario.
+     * @param segmento el índice del segmento.
+     * @return cuántas colisiones hay en el segmento.
+     * @throws ExcepcionIndiceInvalido si el índice no es un segmento válido.
+     */
+    public int colisiones(int segmento) {
+        return getSegmento(segmento).colisiones(false);
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int maxima = 0;
+        for (Segmento s : segmentos)
+            maxima = Math.max(maxima, s.colisiones(true));
+        return maxima;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en un segmento del diccionario.
+     * @param segmento el índice del segmento.
+     * @return el máximo número de colisiones para una misma llave en el
+     *         segmento.
+     * @throws ExcepcionIndiceInvalido si el índice no es un segmento válido.
+     */
+    public int colisionMaxima(int segmento) {
+        return getSegmento(segmento).colisiones(true);
+    }
+
+    /* Regresa el segmento con el índice recibido. */
+    private Segmento getSegmento(int i) {
+        if (i < 0 || i >= segmentos.length)
+            throw new ExcepcionIndiceInvalido("Segmento inválido: " + i);
+        return segmentos[i];
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        int casillas = 0;
+        for (Segmento s : segmentos)
+            casillas += s.tabla.length();
+        return ((double)getElementos()) / casillas;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario. Si hay escrituras
+     * concurrentes, el resultado es una aproximación.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        int elementos = 0;
+        for (Segmento s : segmentos)
+            elementos += s.elementos;
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        for (Segmento s : segmentos)
+            if (s.elementos != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Cada segmento se
+     * limpia por separado.
+     */
+    public void limpia() {
+        for (Segmento s : segmentos)
+            s.limpia();
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        IteradorLlaves i = new IteradorLlaves();
+        if (!i.hasNext())
+            return "{}";
+        StringBuilder sb = new StringBuilder("{ ");
+        while (i.hasNext()) {
+            Entrada e = i.siguiente();
+            sb.append(String.format("'%s': '%s', ", e.llave, e.valor));
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar las llaves del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar los valores del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
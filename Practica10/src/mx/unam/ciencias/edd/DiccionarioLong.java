@@ -0,0 +1,363 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios con llaves enteras largas. Las llaves se
+ * guardan en un arreglo de <code>long</code> y los valores en un arreglo
+ * paralelo, con direccionamiento abierto y sondeo lineal; ni las llaves se
+ * envuelven en objetos ni se crea una entrada por cada asociación.</p>
+ *
+ * <p>La casilla natural de una llave la decide {@link
+ * Dispersores#dispersaLong}. El 0 marca las casillas vacías, por lo que la
+ * llave 0 se guarda aparte.</p>
+ */
+public class DiccionarioLong<V> implements Iterable<V> {
+
+    /* Clase privada para iteradores de valores. */
+    private class Iterador implements Iterator<V> {
+
+        /* La casilla del siguiente valor; -1 para el valor de la llave 0, y
+         * la capacidad si no hay más. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = tieneCero ? -1 : siguienteOcupada(0);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException();
+            V v = indice == -1 ? valorCero : valor(indice);
+            indice = siguienteOcupada(indice + 1);
+            return v;
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Las llaves; una casilla vacía tiene 0. */
+    private long[] llaves;
+    /* Los valores, paralelos a las llaves. */
+    private Object[] valores;
+    /* Si la llave 0 está en el diccionario. */
+    private boolean tieneCero;
+    /* El valor de la llave 0. */
+    private V valorCero;
+    /* Número de valores. */
+    private int elementos;
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada.
+     */
+    public DiccionarioLong() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioLong(int capacidad) {
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int n = 128;
+        while (n < capacidad * 2)
+            n *= 2;
+        inicializa(n);
+    }
+
+    /* Crea arreglos vacíos de tamaño n; n es potencia de 2. */
+    private void inicializa(int n) {
+        llaves = new long[n];
+        valores = new Object[n];
+        tieneCero = false;
+        valorCero = null;
+        elementos = 0;
+    }
+
+    /* Regresa el valor en la casilla i. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa la casilla natural de la llave. */
+    private int casilla(long llave) {
+        return Dispersores.dispersaLong(llave) & (llaves.length - 1);
+    }
+
+    /* Regresa la primera casilla ocupada a partir de i, o la capacidad si
+     * no hay ninguna. */
+    private int siguienteOcupada(int i) {
+        while (i < llaves.length && llaves[i] == 0)
+            i++;
+        return i;
+    }
+
+    /* Regresa la casilla de la llave distinta de 0, o la casilla vacía donde
+     * debería ir. */
+    private int busca(long llave) {
+        int mascara = llaves.length - 1;
+        int i = casilla(llave);
+        while (llaves[i] != 0 && llaves[i] != llave)
+            i = (i + 1) & mascara;
+        return i;
+    }
+
+    /* Duplica el tamaño de los arreglos. */
+    private void duplicaArreglos() {
+        long[] ll = llaves;
+        Object[] vs = valores;
+        llaves = new long[ll.length * 2];
+        valores = new Object[ll.length * 2];
+        for (int i = 0; i < ll.length; i++) {
+            if (ll[i] == 0)
+                continue;
+            int j = busca(ll[i]);
+            llaves[j] = ll[i];
+            valores[j] = vs[i];
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si el valor es nulo.
+     */
+    public void agrega(long llave, V valor) {
+        if (valor == null)
+            throw new IllegalArgumentException();
+        if (llave == 0) {
+            if (!tieneCero)
+                elementos++;
+            tieneCero = true;
+            valorCero = valor;
+            return;
+        }
+        int i = busca(llave);
+        valores[i] = valor;
+        if (llaves[i] != 0)
+            return;
+        llaves[i] = llave;
+        elementos++;
+        if (carga() >= MAXIMA_CARGA)
+            duplicaArreglos();
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(long llave) {
+        V valor = get(llave, null);
+        if (valor == null)
+            throw new NoSuchElementException();
+        return valor;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o
+     * el valor por omisión si la llave no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param porOmision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>porOmision</code>
+     *         si la llave no está en el diccionario.
+     */
+    public V get(long llave, V porOmision) {
+        if (llave == 0)
+            return tieneCero ? valorCero : porOmision;
+        int i = busca(llave);
+        return llaves[i] == 0 ? porOmision : valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(long llave) {
+        if (llave == 0)
+            return tieneCero;
+        return llaves[busca(llave)] != 0;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * entradas que siguen a la eliminada se recorren hacia atrás, por lo que
+     * el diccionario nunca deja lápidas.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(long llave) {
+        if (llave == 0) {
+            if (!tieneCero)
+                throw new NoSuchElementException();
+            tieneCero = false;
+            valorCero = null;
+            elementos--;
+            return;
+        }
+        int i = busca(llave);
+        if (llaves[i] == 0)
+            throw new NoSuchElementException();
+        int mascara = llaves.length - 1;
+        for (int j = (i + 1) & mascara; llaves[j] != 0;
+             j = (j + 1) & mascara) {
+            int k = casilla(llaves[j]);
+            if (((j - k) & mascara) >= ((j - i) & mascara)) {
+                llaves[i] = llaves[j];
+                valores[i] = valores[j];
+                i = j;
+            }
+        }
+        llaves[i] = 0;
+        valores[i] = null;
+        elementos--;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario. Como en {@link
+     * Diccionario}, cada entrada cuya casilla natural ya estaba ocupada por
+     * otra entrada cuenta como una colisión.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (int c : cuentaCasillas())
+            if (c > 1)
+                colisiones += c - 1;
+        return colisiones;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int maxima = 0;
+        for (int c : cuentaCasillas())
+            maxima = Math.max(maxima, c - 1);
+        return maxima;
+    }
+
+    /* Regresa cuántas entradas tienen a cada casilla como casilla
+     * natural. */
+    private int[] cuentaCasillas() {
+        int[] cuentas = new int[llaves.length];
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0)
+                cuentas[casilla(llaves[i])]++;
+        return cuentas;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return ((double)elementos) / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+    }
+
+    /**
+     * Regresa un arreglo con las llaves del diccionario, sin ningún orden
+     * específico.
+     * @return un arreglo con las llaves del diccionario.
+     */
+    public long[] llaves() {
+        long[] r = new long[elementos];
+        int n = 0;
+        if (tieneCero)
+            r[n++] = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0)
+                r[n++] = llaves[i];
+        return r;
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (elementos == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder("{ ");
+        for (long llave : llaves())
+            sb.append(String.format("'%d': '%s', ", llave, get(llave)));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioLong, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioLong<V> d =
+            (DiccionarioLong<V>)o;
+        if (elementos != d.elementos)
+            return false;
+        for (long llave : llaves())
+            if (!get(llave).equals(d.get(llave, null)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new Iterador();
+    }
+}
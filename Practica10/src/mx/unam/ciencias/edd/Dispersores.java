@@ -1,5 +1,10 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Clase para métodos estáticos con dispersores de bytes.
  */
@@ -8,67 +13,178 @@ public class Dispersores {
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {}
 
+    /* Número de bytes y de unidades consumidas de un bloque de un byte; ver
+     * el método utf8. */
+    private static final long UN_BYTE = (1L << 32) | (1L << 40);
+
+    /* Lectura de enteros little-endian en arreglos de bytes. */
+    private static final VarHandle ENTERO =
+        MethodHandles.byteArrayViewVarHandle(int[].class,
+                                             ByteOrder.LITTLE_ENDIAN);
+    /* Lectura de enteros largos little-endian en arreglos de bytes. */
+    private static final VarHandle LARGO =
+        MethodHandles.byteArrayViewVarHandle(long[].class,
+                                             ByteOrder.LITTLE_ENDIAN);
+
+    /* Primos de xxHash32. */
+    private static final int XX32_P1 = 0x9e3779b1;
+    private static final int XX32_P2 = 0x85ebca77;
+    private static final int XX32_P3 = 0xc2b2ae3d;
+    private static final int XX32_P4 = 0x27d4eb2f;
+    private static final int XX32_P5 = 0x165667b1;
+
+    /* Primos de xxHash64. */
+    private static final long XX64_P1 = 0x9e3779b185ebca87L;
+    private static final long XX64_P2 = 0xc2b2ae3d27d4eb4fL;
+    private static final long XX64_P3 = 0x165667b19e3779f9L;
+    private static final long XX64_P4 = 0x85ebca77c2b2ae63L;
+    private static final long XX64_P5 = 0x27d4eb2f165667c5L;
+
+    /* Secretos de wyhash. */
+    private static final long WY_S0 = 0xa0761d6478bd642fL;
+    private static final long WY_S1 = 0xe7037ed1a0b428dbL;
+    private static final long WY_S2 = 0x8ebc6af09c88c6e3L;
+    private static final long WY_S3 = 0x589965cc75374cc3L;
+
     /**
      * Función de dispersión XOR.
      * @param llave la llave a dispersar.
      * @return la dispersión de XOR de la llave.
      */
     public static int dispersaXOR(byte[] llave) {
-    	
-        int r = 0, i = 0, t = 0, l = llave.length;
+        return dispersaXOR(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión XOR sobre un segmento de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(byte[] llave, int inicio, int longitud) {
+        int r = 0, i = inicio, t = 0, l = longitud;
 
         while (l >= 4) {
-            r ^= combina(llave[i],llave[i+1], llave[i+2], llave[i+3]);
+            r ^= combina(llave[i], llave[i+1], llave[i+2], llave[i+3]);
             l -= 4; i += 4;
         }
 
         switch (l) {
             case 3:
                 t |= (llave[i+2] & 0xFF) << 8;
-            case 2: 
+            case 2:
                 t |= (llave[i+1] & 0xFF) << 16;
-            case 1: 
+            case 1:
                 t |= (llave[i]& 0xFF) << 24;
         }
 
         return r ^ t;
     }
+
+    /**
+     * Función de dispersión XOR sobre los bytes restantes de un buffer,
+     * entre su posición y su límite. La posición del buffer no cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaXOR(llave.array(),
+                               llave.arrayOffset() + llave.position(),
+                               llave.remaining());
+        return dispersaXOR(null, llave);
+    }
+
+    /**
+     * Función de dispersión XOR sobre la codificación UTF-8 de una secuencia
+     * de caracteres. La secuencia se codifica conforme se dispersa, sin
+     * crear arreglos.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(CharSequence llave) {
+        return dispersaXOR(llave, null);
+    }
+
+    /* Dispersión XOR byte por byte de la cadena o del buffer. */
+    private static int dispersaXOR(CharSequence cadena, ByteBuffer buffer) {
+        int r = 0, w = 0, k = 0;
+        int i = cadena != null ? 0 : buffer.position();
+        int fin = cadena != null ? cadena.length() : buffer.limit();
+        while (i < fin) {
+            long t = cadena != null ? utf8(cadena, i) :
+                (buffer.get(i) & 0xFF) | UN_BYTE;
+            i += (int)(t >>> 40);
+            for (int j = 0, m = (int)(t >>> 32) & 0xFF; j < m; j++) {
+                w = (w << 8) | ((int)(t >>> (j * 8)) & 0xFF);
+                if (++k == 4) {
+                    r ^= w;
+                    w = k = 0;
+                }
+            }
+        }
+        return k == 0 ? r : r ^ (w << (8 * (4 - k)));
+    }
+
+    /**
+     * Combina cuatro bytes en un entero, el primero en los bits más altos.
+     * @param a el primer byte.
+     * @param b el segundo byte.
+     * @param c el tercer byte.
+     * @param d el cuarto byte.
+     * @return el entero con los cuatro bytes.
+     */
     public static  int combina (byte a , byte b , byte c , byte d){
     	return ((a & 0xFF) << 24) | ((b & 0xFF) << 16) |((c & 0xFF) << 8) |((d & 0xFF));
-    	
-    	
-    } 
+    }
+
     /**
-     * Función de dispersión de Bob Jenkins.                                                                                                                                                                                                                                                                                                                                                          
+     * Función de dispersión de Bob Jenkins.
      * @param llave la llave a dispersar.
      * @return la dispersión de Bob Jenkins de la llave.
      */
     public static int dispersaBJ(byte[] llave) {
-    	
-        int n = llave.length;
+        return dispersaBJ(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre un segmento de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(byte[] llave, int inicio, int longitud) {
         int a,b,c,l;
-        int[] arr = null;
-        l = n;
+        l = longitud;
         a = b = 0x9e3779b9;
         c = 0xffffffff;
-        int i = 0;
+        int i = inicio;
         while (l >= 12){
             a += ((llave[i] & 0xFF)  + ((llave[i+1]& 0xFF) << 8) + ((llave[i+2]& 0xFF)  << 16) + ((llave[i+3] & 0xFF)  << 24));
             b += ((llave[i+4]& 0xFF) + ((llave[i+5]& 0xFF) << 8) + ((llave[i+6]& 0xFF)  << 16) + ((llave[i+7] & 0xFF) << 24));
             c += ((llave[i+8]& 0xFF) + ((llave[i+9]& 0xFF) << 8) + ((llave[i+10] & 0xFF) << 16) + ((llave[i+11]& 0xFF) << 24));
 
-            arr = mezcla_bj(a,b,c);
-            a = arr[0]; b = arr[1]; c = arr[2];
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a <<  8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a <<  16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a <<  10);
+            c -= a; c -= b; c ^= (b >>> 15);
 
             i += 12;
             l -=12;
         }
-        c += n;
+        c += longitud;
         switch (l) {
             case 11: c += ((llave[i+10]& 0xFF) << 24);
             case 10: c += ((llave[i+9]& 0xFF)  << 16);
             case  9: c += ((llave[i+8]& 0xFF)  << 8);
-            
+
             case  8: b += ((llave[i+7]& 0xFF)  << 24);
             case  7: b += ((llave[i+6]& 0xFF)  << 16);
             case  6: b += ((llave[i+5]& 0xFF)  << 8);
@@ -80,14 +196,77 @@ public class Dispersores {
             case  1: a += (llave[i] & 0xFF);
         }
 
-        arr = mezcla_bj(a,b,c);
-        a = arr[0]; b = arr[1]; c = arr[2];
+        return mezclaFinalBJ(a, b, c);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los bytes restantes de un
+     * buffer, entre su posición y su límite. La posición del buffer no
+     * cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaBJ(llave.array(),
+                              llave.arrayOffset() + llave.position(),
+                              llave.remaining());
+        return dispersaBJ(null, llave);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre la codificación UTF-8 de una
+     * secuencia de caracteres. La secuencia se codifica conforme se
+     * dispersa, sin crear arreglos.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(CharSequence llave) {
+        return dispersaBJ(llave, null);
+    }
 
-        return c;	
-    
+    /* Dispersión de Bob Jenkins byte por byte de la cadena o del buffer. Los
+     * bytes se acumulan en tres palabras, y cada doce se mezclan. */
+    private static int dispersaBJ(CharSequence cadena, ByteBuffer buffer) {
+        int a, b, c, w0 = 0, w1 = 0, w2 = 0, k = 0, n = 0;
+        a = b = 0x9e3779b9;
+        c = 0xffffffff;
+        int i = cadena != null ? 0 : buffer.position();
+        int fin = cadena != null ? cadena.length() : buffer.limit();
+        while (i < fin) {
+            long t = cadena != null ? utf8(cadena, i) :
+                (buffer.get(i) & 0xFF) | UN_BYTE;
+            i += (int)(t >>> 40);
+            for (int j = 0, m = (int)(t >>> 32) & 0xFF; j < m; j++, n++) {
+                int v = ((int)(t >>> (j * 8)) & 0xFF) << ((k & 3) * 8);
+                if (k < 4)
+                    w0 |= v;
+                else if (k < 8)
+                    w1 |= v;
+                else
+                    w2 |= v;
+                if (++k < 12)
+                    continue;
+                a += w0; b += w1; c += w2;
+                a -= b; a -= c; a ^= (c >>> 13);
+                b -= c; b -= a; b ^= (a <<  8);
+                c -= a; c -= b; c ^= (b >>> 13);
+                a -= b; a -= c; a ^= (c >>> 12);
+                b -= c; b -= a; b ^= (a <<  16);
+                c -= a; c -= b; c ^= (b >>> 5);
+                a -= b; a -= c; a ^= (c >>> 3);
+                b -= c; b -= a; b ^= (a <<  10);
+                c -= a; c -= b; c ^= (b >>> 15);
+                w0 = w1 = w2 = k = 0;
+            }
+        }
+        /* En la cola, el primer byte de c está reservado para la
+         * longitud. */
+        return mezclaFinalBJ(a + w0, b + w1, c + n + (w2 << 8));
     }
-    private static int[] mezcla_bj(int a, int b, int c) {
-        int[] arr = new int[3];
+
+    /* Hace la última mezcla de Bob Jenkins y regresa c. */
+    private static int mezclaFinalBJ(int a, int b, int c) {
         a -= b; a -= c; a ^= (c >>> 13);
         b -= c; b -= a; b ^= (a <<  8);
         c -= a; c -= b; c ^= (b >>> 13);
@@ -97,24 +276,482 @@ public class Dispersores {
         a -= b; a -= c; a ^= (c >>> 3);
         b -= c; b -= a; b ^= (a <<  10);
         c -= a; c -= b; c ^= (b >>> 15);
-        arr[0] = a; arr[1] = b; arr[2] = c;
-        return arr;
+        return c;
     }
-    /**	
-     * 
+
+    /**
      * Función de dispersión Daniel J. Bernstein.
      * @param llave la llave a dispersar.
      * @return la dispersión de Daniel Bernstein de la llave.
      */
     public static int dispersaDJB(byte[] llave) {
-    	
+        return dispersaDJB(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre un segmento de un
+     * arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(byte[] llave, int inicio, int longitud) {
         int h = 5381;
-        for (int i = 0; i < llave.length; i++) {
+        for (int i = inicio; i < inicio + longitud; i++)
             h  += (h << 5 ) + (llave[i] & 0xFF);
-        	
-        	
+        return h;
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre los bytes restantes de
+     * un buffer, entre su posición y su límite. La posición del buffer no
+     * cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaDJB(llave.array(),
+                               llave.arrayOffset() + llave.position(),
+                               llave.remaining());
+        int h = 5381;
+        for (int i = llave.position(); i < llave.limit(); i++)
+            h  += (h << 5 ) + (llave.get(i) & 0xFF);
+        return h;
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre la codificación UTF-8
+     * de una secuencia de caracteres. La secuencia se codifica conforme se
+     * dispersa, sin crear arreglos.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(CharSequence llave) {
+        int h = 5381;
+        for (int i = 0; i < llave.length();) {
+            long t = utf8(llave, i);
+            i += (int)(t >>> 40);
+            for (int j = 0, m = (int)(t >>> 32) & 0xFF; j < m; j++)
+                h  += (h << 5 ) + ((int)(t >>> (j * 8)) & 0xFF);
         }
         return h;
-    
+    }
+
+    /* Codifica en UTF-8 el carácter en la posición i de la cadena, y regresa
+     * el resultado empacado en un long: los bytes en los bits 0 a 31 (el
+     * primero en los más bajos), cuántos bytes son en los bits 32 a 39, y
+     * cuántos caracteres se consumieron en los bits 40 a 47. Como
+     * String.getBytes, un sustituto sin pareja se codifica como '?'. */
+    private static long utf8(CharSequence cadena, int i) {
+        char c = cadena.charAt(i);
+        if (c < 0x80)
+            return c | UN_BYTE;
+        if (c < 0x800)
+            return (0xC0 | (c >> 6)) | ((0x80 | (c & 0x3F)) << 8) |
+                (2L << 32) | (1L << 40);
+        if (!Character.isSurrogate(c))
+            return (0xE0 | (c >> 12)) | ((0x80 | ((c >> 6) & 0x3F)) << 8) |
+                ((0x80 | (c & 0x3F)) << 16) | (3L << 32) | (1L << 40);
+        char d = i + 1 < cadena.length() ? cadena.charAt(i + 1) : 0;
+        if (!Character.isHighSurrogate(c) || !Character.isLowSurrogate(d))
+            return '?' | UN_BYTE;
+        int p = Character.toCodePoint(c, d);
+        return (0xF0 | (p >> 18)) | ((0x80 | ((p >> 12) & 0x3F)) << 8) |
+            ((0x80 | ((p >> 6) & 0x3F)) << 16) |
+            ((long)(0x80 | (p & 0x3F)) << 24) | (4L << 32) | (2L << 40);
+    }
+
+    /**
+     * Función de mezcla para enteros. Multiplica por la constante de la razón
+     * áurea que también usa {@link #dispersaBJ} y mezcla los bits altos del
+     * producto con los bajos, de manera que los bits bajos del resultado
+     * dependan de todos los bits de la llave.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de la llave.
+     */
+    public static int dispersaInt(int llave) {
+        int h = llave * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Función de mezcla para enteros largos. Es la versión de 64 bits de
+     * {@link #dispersaInt}.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de la llave.
+     */
+    public static int dispersaLong(long llave) {
+        long h = llave * 0x9e3779b97f4a7c15L;
+        int r = (int)(h ^ (h >>> 32));
+        return r ^ (r >>> 16);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (la variante de 32 bits) con semilla
+     * 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave) {
+        return dispersaMurmur3(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (la variante de 32 bits) sobre un
+     * segmento de un arreglo. Los bloques de cuatro bytes se leen de dos en
+     * dos con una sola lectura de ocho bytes.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla la semilla.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave, int inicio, int longitud,
+                                      int semilla) {
+        int h = semilla, i = inicio, fin = inicio + longitud;
+        for (; fin - i >= 8; i += 8) {
+            long w = (long)LARGO.get(llave, i);
+            h = bloqueMurmur3(h, (int)w);
+            h = bloqueMurmur3(h, (int)(w >>> 32));
+        }
+        if (fin - i >= 4) {
+            h = bloqueMurmur3(h, (int)ENTERO.get(llave, i));
+            i += 4;
+        }
+        int k = 0;
+        switch (fin - i) {
+            case 3: k ^= (llave[i+2] & 0xFF) << 16;
+            case 2: k ^= (llave[i+1] & 0xFF) << 8;
+            case 1: k ^= (llave[i] & 0xFF);
+                k *= 0xcc9e2d51;
+                k = Integer.rotateLeft(k, 15);
+                k *= 0x1b873593;
+                h ^= k;
+        }
+        h ^= longitud;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /* Mezcla un bloque de cuatro bytes en MurmurHash3. */
+    private static int bloqueMurmur3(int h, int k) {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+        k *= 0x1b873593;
+        h ^= k;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xe6546b64;
+    }
+
+    /**
+     * Función de dispersión xxHash32 con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash32 de la llave.
+     */
+    public static int dispersaXX32(byte[] llave) {
+        return dispersaXX32(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash32 sobre un segmento de un arreglo. Cada
+     * franja de dieciséis bytes se lee con dos lecturas de ocho bytes.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash32 de la llave.
+     */
+    public static int dispersaXX32(byte[] llave, int inicio, int longitud,
+                                   int semilla) {
+        int h, i = inicio, fin = inicio + longitud;
+        if (longitud >= 16) {
+            int v1 = semilla + XX32_P1 + XX32_P2;
+            int v2 = semilla + XX32_P2;
+            int v3 = semilla;
+            int v4 = semilla - XX32_P1;
+            for (; fin - i >= 16; i += 16) {
+                long w = (long)LARGO.get(llave, i);
+                long x = (long)LARGO.get(llave, i + 8);
+                v1 = rondaXX32(v1, (int)w);
+                v2 = rondaXX32(v2, (int)(w >>> 32));
+                v3 = rondaXX32(v3, (int)x);
+                v4 = rondaXX32(v4, (int)(x >>> 32));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+                Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = semilla + XX32_P5;
+        }
+        h += longitud;
+        for (; fin - i >= 4; i += 4) {
+            h += (int)ENTERO.get(llave, i) * XX32_P3;
+            h = Integer.rotateLeft(h, 17) * XX32_P4;
+        }
+        for (; i < fin; i++) {
+            h += (llave[i] & 0xFF) * XX32_P5;
+            h = Integer.rotateLeft(h, 11) * XX32_P1;
+        }
+        h ^= h >>> 15;
+        h *= XX32_P2;
+        h ^= h >>> 13;
+        h *= XX32_P3;
+        return h ^ (h >>> 16);
+    }
+
+    /* Una ronda de xxHash32. */
+    private static int rondaXX32(int v, int k) {
+        v += k * XX32_P2;
+        return Integer.rotateLeft(v, 13) * XX32_P1;
+    }
+
+    /**
+     * Función de dispersión xxHash64 con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash64 de la llave.
+     */
+    public static long dispersaXX64(byte[] llave) {
+        return dispersaXX64(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash64 sobre un segmento de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash64 de la llave.
+     */
+    public static long dispersaXX64(byte[] llave, int inicio, int longitud,
+                                    long semilla) {
+        long h;
+        int i = inicio, fin = inicio + longitud;
+        if (longitud >= 32) {
+            long v1 = semilla + XX64_P1 + XX64_P2;
+            long v2 = semilla + XX64_P2;
+            long v3 = semilla;
+            long v4 = semilla - XX64_P1;
+            for (; fin - i >= 32; i += 32) {
+                v1 = rondaXX64(v1, (long)LARGO.get(llave, i));
+                v2 = rondaXX64(v2, (long)LARGO.get(llave, i + 8));
+                v3 = rondaXX64(v3, (long)LARGO.get(llave, i + 16));
+                v4 = rondaXX64(v4, (long)LARGO.get(llave, i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = (h ^ rondaXX64(0, v1)) * XX64_P1 + XX64_P4;
+            h = (h ^ rondaXX64(0, v2)) * XX64_P1 + XX64_P4;
+            h = (h ^ rondaXX64(0, v3)) * XX64_P1 + XX64_P4;
+            h = (h ^ rondaXX64(0, v4)) * XX64_P1 + XX64_P4;
+        } else {
+            h = semilla + XX64_P5;
+        }
+        h += longitud;
+        for (; fin - i >= 8; i += 8) {
+            h ^= rondaXX64(0, (long)LARGO.get(llave, i));
+            h = Long.rotateLeft(h, 27) * XX64_P1 + XX64_P4;
+        }
+        if (fin - i >= 4) {
+            h ^= ((int)ENTERO.get(llave, i) & 0xFFFFFFFFL) * XX64_P1;
+            h = Long.rotateLeft(h, 23) * XX64_P2 + XX64_P3;
+            i += 4;
+        }
+        for (; i < fin; i++) {
+            h ^= (llave[i] & 0xFF) * XX64_P5;
+            h = Long.rotateLeft(h, 11) * XX64_P1;
+        }
+        h ^= h >>> 33;
+        h *= XX64_P2;
+        h ^= h >>> 29;
+        h *= XX64_P3;
+        return h ^ (h >>> 32);
+    }
+
+    /* Una ronda de xxHash64. */
+    private static long rondaXX64(long v, long k) {
+        v += k * XX64_P2;
+        return Long.rotateLeft(v, 31) * XX64_P1;
+    }
+
+    /**
+     * Función de dispersión al estilo de wyhash con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de la llave.
+     */
+    public static long dispersaWy(byte[] llave) {
+        return dispersaWy(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión al estilo de wyhash sobre un segmento de un
+     * arreglo. Sigue la estructura de wyhash: mezcla pares de palabras de
+     * ocho bytes multiplicándolas a 128 bits y combinando las dos mitades
+     * del producto. No promete los mismos resultados que la implementación
+     * de referencia.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla la semilla.
+     * @return la dispersión de la llave.
+     */
+    public static long dispersaWy(byte[] llave, int inicio, int longitud,
+                                  long semilla) {
+        long a, b;
+        int p = inicio;
+        semilla ^= mezclaWy(semilla ^ WY_S0, WY_S1);
+        if (longitud <= 16) {
+            if (longitud >= 4) {
+                int d = (longitud >>> 3) << 2;
+                a = (enteroSinSigno(llave, p) << 32) |
+                    enteroSinSigno(llave, p + d);
+                b = (enteroSinSigno(llave, p + longitud - 4) << 32) |
+                    enteroSinSigno(llave, p + longitud - 4 - d);
+            } else if (longitud > 0) {
+                a = ((llave[p] & 0xFFL) << 16) |
+                    ((llave[p + (longitud >>> 1)] & 0xFFL) << 8) |
+                    (llave[p + longitud - 1] & 0xFFL);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            int i = longitud;
+            if (i > 48) {
+                long s1 = semilla, s2 = semilla;
+                do {
+                    semilla = mezclaWy((long)LARGO.get(llave, p) ^ WY_S1,
+                                       (long)LARGO.get(llave, p + 8) ^
+                                       semilla);
+                    s1 = mezclaWy((long)LARGO.get(llave, p + 16) ^ WY_S2,
+                                  (long)LARGO.get(llave, p + 24) ^ s1);
+                    s2 = mezclaWy((long)LARGO.get(llave, p + 32) ^ WY_S3,
+                                  (long)LARGO.get(llave, p + 40) ^ s2);
+                    p += 48;
+                    i -= 48;
+                } while (i > 48);
+                semilla ^= s1 ^ s2;
+            }
+            while (i > 16) {
+                semilla = mezclaWy((long)LARGO.get(llave, p) ^ WY_S1,
+                                   (long)LARGO.get(llave, p + 8) ^ semilla);
+                p += 16;
+                i -= 16;
+            }
+            a = (long)LARGO.get(llave, p + i - 16);
+            b = (long)LARGO.get(llave, p + i - 8);
+        }
+        a ^= WY_S1;
+        b ^= semilla;
+        long bajo = a * b;
+        long alto = multiplicaAlto(a, b);
+        return mezclaWy(bajo ^ WY_S0 ^ longitud, alto ^ WY_S1);
+    }
+
+    /* Lee cuatro bytes little-endian como entero sin signo. */
+    private static long enteroSinSigno(byte[] llave, int i) {
+        return (int)ENTERO.get(llave, i) & 0xFFFFFFFFL;
+    }
+
+    /* Regresa los 64 bits altos del producto sin signo de a y b. */
+    private static long multiplicaAlto(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /* Multiplica a y b a 128 bits y combina las dos mitades con XOR. */
+    private static long mezclaWy(long a, long b) {
+        return (a * b) ^ multiplicaAlto(a, b);
+    }
+
+    /**
+     * Función de dispersión SipHash-1-3 sobre un segmento de un arreglo, con
+     * una llave secreta de 128 bits. Sin conocer la llave secreta no es
+     * factible construir llaves que colisionen, por lo que sirve para
+     * dispersar llaves que vienen de fuentes no confiables.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param k0 los 64 bits bajos de la llave secreta.
+     * @param k1 los 64 bits altos de la llave secreta.
+     * @return la dispersión SipHash-1-3 de la llave.
+     */
+    public static long dispersaSip13(byte[] llave, int inicio, int longitud,
+                                     long k0, long k1) {
+        return dispersaSip(llave, inicio, longitud, k0, k1, 1, 3);
+    }
+
+    /**
+     * Función de dispersión SipHash-2-4 sobre un segmento de un arreglo, con
+     * una llave secreta de 128 bits. Es más lenta que {@link #dispersaSip13}
+     * pero tiene un mayor margen de seguridad.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param k0 los 64 bits bajos de la llave secreta.
+     * @param k1 los 64 bits altos de la llave secreta.
+     * @return la dispersión SipHash-2-4 de la llave.
+     */
+    public static long dispersaSip24(byte[] llave, int inicio, int longitud,
+                                     long k0, long k1) {
+        return dispersaSip(llave, inicio, longitud, k0, k1, 2, 4);
+    }
+
+    /* SipHash-c-d. El último bloque lleva los bytes restantes y la longitud
+     * en su byte más alto. */
+    private static long dispersaSip(byte[] llave, int inicio, int longitud,
+                                    long k0, long k1, int c, int d) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        int bloques = longitud >>> 3;
+        for (int k = 0; k <= bloques; k++) {
+            long w;
+            if (k < bloques) {
+                w = (long)LARGO.get(llave, inicio + (k << 3));
+            } else {
+                w = ((long)longitud) << 56;
+                for (int i = inicio + (k << 3), j = 0;
+                     i < inicio + longitud; i++, j += 8)
+                    w |= (llave[i] & 0xFFL) << j;
+            }
+            v3 ^= w;
+            for (int r = 0; r < c; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= w;
+        }
+        v2 ^= 0xFF;
+        for (int r = 0; r < d; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /* Codifica en UTF-8 la cadena en el arreglo, y regresa el número de
+     * bytes escritos. El arreglo debe tener al menos tres bytes por carácter
+     * de la cadena. */
+    static int codificaUTF8(CharSequence cadena, byte[] destino) {
+        int n = 0;
+        for (int i = 0; i < cadena.length();) {
+            long t = utf8(cadena, i);
+            i += (int)(t >>> 40);
+            for (int j = 0, m = (int)(t >>> 32) & 0xFF; j < m; j++)
+                destino[n++] = (byte)(t >>> (j * 8));
+        }
+        return n;
     }
 }
@@ -0,0 +1,35 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+
+/**
+ * Interfaz para escrituras de estructuras en una salida. Las estructuras la
+ * usan para construir su representación en cadena a partir de su método
+ * <code>escribe</code>.
+ */
+@FunctionalInterface
+interface Escritura {
+
+    /**
+     * Escribe en la salida recibida.
+     * @param salida la salida donde se escribe.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException;
+
+    /**
+     * Regresa en una cadena lo que escribe la escritura recibida.
+     * @param escritura la escritura a realizar.
+     * @return la cadena con lo escrito.
+     */
+    public static String cadena(Escritura escritura) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            escritura.escribe(sb);
+        } catch (IOException ioe) {
+            /* Un StringBuilder nunca lanza IOException. */
+            throw new IllegalStateException(ioe);
+        }
+        return sb.toString();
+    }
+}
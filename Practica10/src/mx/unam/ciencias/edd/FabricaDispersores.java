@@ -1,15 +1,50 @@
 package mx.unam.ciencias.edd;
 
+import java.security.SecureRandom;
+
 /**
  * Clase para fabricar dispersores.
  */
 public class FabricaDispersores {
 
+    /* Interfaz para dispersores de segmentos de arreglos de bytes. */
+    @FunctionalInterface
+    private interface DispersorBytes {
+        public int dispersa(byte[] bytes, int inicio, int longitud);
+    }
+
+    /* Arreglo de cada hilo para codificar las cadenas en UTF-8. */
+    private static final ThreadLocal<byte[]> BYTES =
+        ThreadLocal.withInitial(() -> new byte[256]);
+
     /* Constructor privado para evitar instanciación. */
     private FabricaDispersores() {}
 
+    /* Regresa un dispersor de cadenas que codifica cada cadena en UTF-8 en
+     * el arreglo del hilo, y dispersa el resultado. El arreglo sólo se
+     * reemplaza cuando una cadena no cabe en él. */
+    private static Dispersor<String> sobreUTF8(DispersorBytes dispersor) {
+        return c -> {
+            byte[] bytes = BYTES.get();
+            if (bytes.length < c.length() * 3) {
+                bytes = new byte[c.length() * 3];
+                BYTES.set(bytes);
+            }
+            int n = Dispersores.codificaUTF8(c, bytes);
+            return dispersor.dispersa(bytes, 0, n);
+        };
+    }
+
+    /* Reduce una dispersión de 64 bits a 32. */
+    private static int reduce(long h) {
+        return (int)(h ^ (h >>> 32));
+    }
+
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Los
+     * dispersores trabajan sobre la codificación UTF-8 de las cadenas, sin
+     * importar la codificación predeterminada de la plataforma, y sin crear
+     * un arreglo de bytes por cada cadena.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
@@ -19,12 +54,95 @@ public class FabricaDispersores {
     dispersorCadena(AlgoritmoDispersor algoritmo) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return c -> Dispersores.dispersaXOR(c);
+        case BJ_STRING:
+            return c -> Dispersores.dispersaBJ(c);
+        case DJB_STRING:
+            return c -> Dispersores.dispersaDJB(c);
+        case MURMUR3_STRING:
+            return sobreUTF8((b, i, n) ->
+                             Dispersores.dispersaMurmur3(b, i, n, 0));
+        case XXHASH32_STRING:
+            return sobreUTF8((b, i, n) ->
+                             Dispersores.dispersaXX32(b, i, n, 0));
+        case XXHASH64_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaXX64(b, i, n, 0)));
+        case WYHASH_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaWy(b, i, n, 0)));
+        case SIPHASH_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaSip13(b, i, n, 0, 0)));
+        default: throw new IllegalArgumentException("Algoritmo inválido");
+        }
+    }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas, con una
+     * semilla definida por el usuario. Dos dispersores con la misma semilla
+     * dispersan igual las mismas cadenas. Para {@link
+     * AlgoritmoDispersor#SIPHASH_STRING} la llave secreta de 128 bits se
+     * deriva de la semilla.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @param semilla la semilla del dispersor.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido, o un algoritmo que no acepta semilla.
+     */
+    public static Dispersor<String>
+    dispersorCadena(AlgoritmoDispersor algoritmo, long semilla) {
+        int s = (int)semilla;
+        long k1 = Long.rotateLeft(semilla * 0x9e3779b97f4a7c15L, 32);
+        switch (algoritmo) {
+        case MURMUR3_STRING:
+            return sobreUTF8((b, i, n) ->
+                             Dispersores.dispersaMurmur3(b, i, n, s));
+        case XXHASH32_STRING:
+            return sobreUTF8((b, i, n) ->
+                             Dispersores.dispersaXX32(b, i, n, s));
+        case XXHASH64_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaXX64(b, i, n,
+                                                             semilla)));
+        case WYHASH_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaWy(b, i, n, semilla)));
+        case SIPHASH_STRING:
+            return sobreUTF8((b, i, n) ->
+                             reduce(Dispersores.dispersaSip13(b, i, n,
+                                                              semilla, k1)));
+        case XOR_STRING:
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            throw new IllegalArgumentException("Algoritmo sin semilla");
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas, con una
+     * semilla aleatoria distinta para cada instancia. Sólo con {@link
+     * AlgoritmoDispersor#SIPHASH_STRING}, cuya llave secreta completa de 128
+     * bits es aleatoria, no es factible que un adversario que no la conoce
+     * elija cadenas que caigan todas en la misma casilla de un {@link
+     * Diccionario}. MurmurHash3, xxHash y wyhash tienen multicolisiones que
+     * no dependen de la semilla, así que con ellos la semilla sólo cambia la
+     * distribución en las casillas; contra un adversario, lo que acota el
+     * peor caso son las casillas en árbol de {@link
+     * Diccionario#setUmbralArbol}.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido, o un algoritmo que no acepta semilla.
+     */
+    public static Dispersor<String>
+    dispersorCadenaAleatorio(AlgoritmoDispersor algoritmo) {
+        SecureRandom random = new SecureRandom();
+        if (algoritmo != AlgoritmoDispersor.SIPHASH_STRING)
+            return dispersorCadena(algoritmo, random.nextLong());
+        long k0 = random.nextLong(), k1 = random.nextLong();
+        return sobreUTF8((b, i, n) ->
+                         reduce(Dispersores.dispersaSip13(b, i, n, k0, k1)));
+    }
 }
@@ -409,7 +409,7 @@ this.indice = indice;
     	for(Vertice k : vertices) {
     		k.color = Color.ROJO;
     	}
-    	        	Cola<Vertice> q = new Cola<>();
+    	        	ColaArreglo<Vertice> q = new ColaArreglo<>();
     	        	p.color = Color.NEGRO;
     	        	q.mete(p);
     	        	while (!q.esVacia()) {
@@ -449,7 +449,7 @@ this.indice = indice;
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
-    	Cola<Vertice> cola = new Cola<Vertice>();
+    	ColaArreglo<Vertice> cola = new ColaArreglo<Vertice>();
     	recorrido(elemento, accion, cola);
     	paraCadaVertice(ver -> setColor(ver,Color.NINGUNO));
     }
@@ -466,7 +466,7 @@ this.indice = indice;
      */
     public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
     	
-    Pila<Vertice> pila = new Pila<Vertice>();
+    PilaArreglo<Vertice> pila = new PilaArreglo<Vertice>();
     recorrido(elemento, accion, pila);
     paraCadaVertice(ver -> setColor(ver,Color.NINGUNO));
     }
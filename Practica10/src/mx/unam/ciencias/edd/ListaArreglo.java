@@ -0,0 +1,603 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * <p>Clase genérica para listas respaldadas por un arreglo.</p>
+ *
+ * <p>Las listas arreglo tienen las mismas operaciones que {@link Lista}, pero
+ * guardan sus elementos en un arreglo circular que crece al doble cuando se
+ * llena. Agregar o eliminar en cualquiera de los dos extremos toma tiempo
+ * constante (amortizado), el acceso por índice toma tiempo constante, y
+ * recorrer la lista recorre memoria contigua en lugar de seguir
+ * referencias; a cambio, insertar o eliminar en medio de la lista recorre
+ * los elementos del lado más corto.</p>
+ *
+ * <p>Las listas arreglo no aceptan a <code>null</code> como elemento.</p>
+ */
+public class ListaArreglo<T> implements Coleccion<T> {
+
+    /* Clase Iterador privada para iteradores. */
+    private class Iterador implements IteradorLista<T> {
+        /* El índice del elemento siguiente. */
+        private int siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            siguiente = 0;
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return siguiente < longitud;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (siguiente >= longitud)
+                throw new NoSuchElementException();
+            return arreglo[casilla(siguiente++)];
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            return siguiente > 0;
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (siguiente <= 0)
+                throw new NoSuchElementException();
+            return arreglo[casilla(--siguiente)];
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            siguiente = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            siguiente = longitud;
+        }
+    }
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; su longitud siempre es potencia de 2. */
+    private T[] arreglo;
+    /* La casilla del primer elemento. */
+    private int inicio;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Construye una lista arreglo vacía con una capacidad inicial
+     * predeterminada.
+     */
+    public ListaArreglo() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una lista arreglo vacía con una capacidad inicial definida
+     * por el usuario. La lista puede crecer más allá de esta capacidad.
+     * @param capacidad la capacidad inicial de la lista.
+     */
+    public ListaArreglo(int capacidad) {
+        int n = MINIMA_CAPACIDAD;
+        while (n < capacidad)
+            n *= 2;
+        arreglo = nuevoArreglo(n);
+    }
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /* Regresa la casilla del arreglo donde está el elemento con índice i. */
+    private int casilla(int i) {
+        return (inicio + i) & (arreglo.length - 1);
+    }
+
+    /* Duplica el arreglo si está lleno, dejando el primer elemento en la
+     * casilla 0. */
+    private void aseguraEspacio() {
+        if (longitud < arreglo.length)
+            return;
+        T[] nuevo = nuevoArreglo(arreglo.length * 2);
+        int n = arreglo.length - inicio;
+        System.arraycopy(arreglo, inicio, nuevo, 0, n);
+        System.arraycopy(arreglo, 0, nuevo, n, inicio);
+        arreglo = nuevo;
+        inicio = 0;
+    }
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento a la lista. Si la lista no tiene elementos, el
+     * elemento a agregar será el primero y último. El método es idéntico a
+     * {@link #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        aseguraEspacio();
+        arreglo[casilla(longitud++)] = elemento;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        aseguraEspacio();
+        inicio = (inicio - 1) & (arreglo.length - 1);
+        arreglo[inicio] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito.
+     *
+     * Si el índice es menor o igual que cero, el elemento se agrega al inicio
+     * de la lista. Si el índice es mayor o igual que el número de elementos en
+     * la lista, el elemento se agrega al final de la misma. En otro caso,
+     * después de mandar llamar el método, el elemento tendrá el índice que se
+     * especifica en la lista; para hacerle espacio se recorren los elementos
+     * del lado más corto.
+     * @param i el índice dónde insertar el elemento. Si es menor que 0 el
+     *          elemento se agrega al inicio de la lista, y si es mayor o igual
+     *          que el número de elementos en la lista se agrega al final.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (i <= 0) {
+            agregaInicio(elemento);
+            return;
+        }
+        if (i >= longitud) {
+            agregaFinal(elemento);
+            return;
+        }
+        aseguraEspacio();
+        if (i < longitud - i) {
+            inicio = (inicio - 1) & (arreglo.length - 1);
+            for (int j = 0; j < i; j++)
+                arreglo[casilla(j)] = arreglo[casilla(j + 1)];
+        } else {
+            for (int j = longitud; j > i; j--)
+                arreglo[casilla(j)] = arreglo[casilla(j - 1)];
+        }
+        arreglo[casilla(i)] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        int i = indiceDe(elemento);
+        if (i != -1)
+            eliminaEn(i);
+    }
+
+    /* Elimina el elemento con índice i, 0 <= i < longitud, recorriendo los
+     * elementos del lado más corto, y lo regresa. */
+    private T eliminaEn(int i) {
+        T elemento = arreglo[casilla(i)];
+        if (i < longitud - 1 - i) {
+            for (int j = i; j > 0; j--)
+                arreglo[casilla(j)] = arreglo[casilla(j - 1)];
+            arreglo[inicio] = null;
+            inicio = (inicio + 1) & (arreglo.length - 1);
+        } else {
+            for (int j = i; j < longitud - 1; j++)
+                arreglo[casilla(j)] = arreglo[casilla(j + 1)];
+            arreglo[casilla(longitud - 1)] = null;
+        }
+        longitud--;
+        return elemento;
+    }
+
+    /**
+     * Elimina de la lista todos los elementos que cumplen el predicado, en
+     * una sola pasada: los elementos que se quedan se recorren hacia el
+     * inicio, así que el método toma tiempo lineal sin importar cuántos se
+     * eliminen.
+     * @param predicado el predicado que decide qué elementos eliminar.
+     * @return el número de elementos eliminados.
+     */
+    public int eliminaTodos(Predicate<? super T> predicado) {
+        int n = 0;
+        for (int i = 0; i < longitud; i++) {
+            T elemento = arreglo[casilla(i)];
+            if (!predicado.test(elemento))
+                arreglo[casilla(n++)] = elemento;
+        }
+        int eliminados = longitud - n;
+        for (int i = n; i < longitud; i++)
+            arreglo[casilla(i)] = null;
+        longitud = n;
+        return eliminados;
+    }
+
+    /**
+     * Deja en la lista únicamente los elementos que cumplen el predicado, en
+     * una sola pasada.
+     * @param predicado el predicado que decide qué elementos conservar.
+     * @return el número de elementos eliminados.
+     */
+    public int retiene(Predicate<? super T> predicado) {
+        return eliminaTodos(e -> !predicado.test(e));
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return eliminaEn(0);
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return eliminaEn(longitud - 1);
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <tt>true</tt> si <tt>elemento</tt> está en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar el método.
+     */
+    public ListaArreglo<T> reversa() {
+        ListaArreglo<T> lista = new ListaArreglo<T>(longitud);
+        for (int i = longitud - 1; i >= 0; i--)
+            lista.arreglo[lista.longitud++] = arreglo[casilla(i)];
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos elementos que la
+     * lista que manda llamar el método, en el mismo orden.
+     * @return una copia de la lista.
+     */
+    public ListaArreglo<T> copia() {
+        ListaArreglo<T> lista = new ListaArreglo<T>(longitud);
+        for (int i = 0; i < longitud; i++)
+            lista.arreglo[lista.longitud++] = arreglo[casilla(i)];
+        return lista;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía. La lista conserva su
+     * capacidad.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < longitud; i++)
+            arreglo[casilla(i)] = null;
+        inicio = 0;
+        longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return arreglo[inicio];
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return arreglo[casilla(longitud - 1)];
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+        return arreglo[casilla(i)];
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si
+     *         el elemento no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        for (int i = 0; i < longitud; i++)
+            if (arreglo[casilla(i)].equals(elemento))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        return Escritura.cadena(this::escribe);
+    }
+
+    /**
+     * Escribe la representación en cadena de la lista en la salida recibida,
+     * elemento por elemento y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe la lista.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        salida.append('[');
+        for (int i = 0; i < longitud; i++) {
+            if (i > 0)
+                salida.append(", ");
+            salida.append(arreglo[casilla(i)].toString());
+        }
+        salida.append(']');
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param o el objeto con el que hay que comparar.
+     * @return <tt>true</tt> si la lista es igual al objeto recibido;
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaArreglo<T> lista =
+            (ListaArreglo<T>)o;
+        if (longitud != lista.longitud)
+            return false;
+        for (int i = 0; i < longitud; i++)
+            if (!arreglo[casilla(i)].equals(lista.get(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+
+    /**
+     * Mezcla dos listas arreglo ordenadas con el mismo comparador en una
+     * nueva lista arreglo ordenada. La mezcla toma tiempo lineal; en caso de
+     * empate se toma primero el elemento de <code>i</code>, por lo que la
+     * mezcla es estable.
+     * @param <T> tipo del que pueden ser las listas.
+     * @param i la primera lista ordenada.
+     * @param d la segunda lista ordenada.
+     * @param c el comparador con el que están ordenadas las listas.
+     * @return una nueva lista con los elementos de ambas listas, ordenada.
+     */
+    public static <T> ListaArreglo<T> merge(ListaArreglo<T> i,
+                                            ListaArreglo<T> d,
+                                            Comparator<T> c) {
+        ListaArreglo<T> lista =
+            new ListaArreglo<T>(i.longitud + d.longitud);
+        int a = 0, b = 0;
+        while (a < i.longitud && b < d.longitud) {
+            if (c.compare(i.get(a), d.get(b)) <= 0)
+                lista.agrega(i.get(a++));
+            else
+                lista.agrega(d.get(b++));
+        }
+        while (a < i.longitud)
+            lista.agrega(i.get(a++));
+        while (b < d.longitud)
+            lista.agrega(d.get(b++));
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista, pero ordenada. Para poder hacer el
+     * ordenamiento, el método necesita una instancia de {@link Comparator} para
+     * poder comparar los elementos de la lista. El ordenamiento es estable.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     * @return una copia de la lista, pero ordenada.
+     */
+    public ListaArreglo<T> mergeSort(Comparator<T> comparador) {
+        ListaArreglo<T> lista = copia();
+        lista.ordena(comparador);
+        return lista;
+    }
+
+    /**
+     * Ordena la lista en su lugar usando el comparador recibido. Se usa
+     * MergeSort de abajo hacia arriba sobre los elementos, alternando entre
+     * el arreglo de la lista y un arreglo auxiliar del mismo tamaño. El
+     * ordenamiento toma tiempo <i>O</i>(<i>n</i> log <i>n</i>) y es estable;
+     * al terminar, el primer elemento queda en la casilla 0.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud < 2)
+            return;
+        T[] a = nuevoArreglo(arreglo.length);
+        for (int i = 0; i < longitud; i++)
+            a[i] = arreglo[casilla(i)];
+        T[] b = arreglo;
+        for (int m = 1; m < longitud; m *= 2) {
+            for (int ini = 0; ini < longitud; ini += 2 * m)
+                mezcla(a, b, ini, Math.min(ini + m, longitud),
+                       Math.min(ini + 2 * m, longitud), comparador);
+            T[] t = a;
+            a = b;
+            b = t;
+        }
+        if (a != arreglo)
+            System.arraycopy(a, 0, arreglo, 0, longitud);
+        for (int i = longitud; i < arreglo.length; i++)
+            arreglo[i] = null;
+        inicio = 0;
+    }
+
+    /* Mezcla los rangos ordenados [ini, mitad) y [mitad, fin) de a en el
+     * rango [ini, fin) de b. En caso de empate toma primero el de la
+     * izquierda. */
+    private static <T> void mezcla(T[] a, T[] b, int ini, int mitad, int fin,
+                                   Comparator<T> comparador) {
+        int i = ini, j = mitad, k = ini;
+        while (i < mitad && j < fin)
+            b[k++] = comparador.compare(a[i], a[j]) <= 0 ? a[i++] : a[j++];
+        while (i < mitad)
+            b[k++] = a[i++];
+        while (j < fin)
+            b[k++] = a[j++];
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
+     * tiene que contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T extends Comparable<T>>
+    ListaArreglo<T> mergeSort(ListaArreglo<T> lista) {
+        return lista.mergeSort((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Busca un elemento en la lista ordenada, usando el comparador recibido. El
+     * método supone que la lista está ordenada usando el mismo comparador, y
+     * deja de buscar en cuanto encuentra un elemento mayor que el buscado.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador con el que la lista está ordenada.
+     * @return <tt>true</tt> si elemento está contenido en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean busquedaLineal(T elemento, Comparator<T> comparador) {
+        for (int i = 0; i < longitud; i++) {
+            int c = comparador.compare(arreglo[casilla(i)], elemento);
+            if (c == 0)
+                return true;
+            if (c > 0)
+                return false;
+        }
+        return false;
+    }
+
+    /**
+     * Busca un elemento en una lista ordenada. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}, y se da por hecho que está ordenada.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista donde se buscará.
+     * @param elemento el elemento a buscar.
+     * @return <tt>true</tt> si el elemento está contenido en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    public static <T extends Comparable<T>>
+    boolean busquedaLineal(ListaArreglo<T> lista, T elemento) {
+        return lista.busquedaLineal(elemento, (a, b) -> a.compareTo(b));
+    }
+}
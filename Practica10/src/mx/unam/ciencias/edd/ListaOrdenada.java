@@ -0,0 +1,357 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * <p>Clase genérica para listas ordenadas. Las listas ordenadas son
+ * genéricas, pero acotadas a la interfaz {@link Comparable}.</p>
+ *
+ * <p>Las listas ordenadas se implementan como <em>skip lists</em>: cada nodo
+ * está en la lista de elementos, y además en un número aleatorio de listas
+ * exprés que se saltan a los nodos intermedios; cada nivel tiene en promedio
+ * la mitad de nodos que el anterior. Así, agregar, eliminar, buscar y
+ * encontrar el piso o el techo de un elemento toma tiempo esperado
+ * <i>O</i>(log <i>n</i>).</p>
+ *
+ * <p>La lista se recorre siempre en orden, y los elementos iguales quedan en
+ * el orden en que se agregaron. Las listas ordenadas no aceptan a
+ * <code>null</code> como elemento.</p>
+ */
+public class ListaOrdenada<T extends Comparable<T>> implements Coleccion<T> {
+
+    /* Clase Nodo privada para uso interno de la clase ListaOrdenada. */
+    private class Nodo {
+        /* El elemento del nodo. */
+        public T elemento;
+        /* Los siguientes nodos, uno por cada nivel en que está el nodo. */
+        public Nodo[] siguientes;
+
+        /* Construye un nodo con un elemento y un número de niveles. */
+        @SuppressWarnings("unchecked") public Nodo(T elemento, int niveles) {
+            this.elemento = elemento;
+            siguientes = (Nodo[])new ListaOrdenada.Nodo[niveles];
+        }
+    }
+
+    /* Clase Iterador privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+        /* El nodo siguiente. */
+        private Nodo siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            siguiente = cabeza.siguientes[0];
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (siguiente == null)
+                throw new NoSuchElementException();
+            T elemento = siguiente.elemento;
+            siguiente = siguiente.siguientes[0];
+            return elemento;
+        }
+    }
+
+    /* Máximo número de niveles de un nodo. */
+    private static final int MAXIMO_NIVEL = 32;
+
+    /* Nodo centinela, sin elemento, que está en todos los niveles. */
+    private Nodo cabeza;
+    /* Número de niveles en uso. */
+    private int niveles;
+    /* Número de elementos en la lista. */
+    private int elementos;
+    /* Generador para los niveles de los nodos. */
+    private Random random;
+
+    /**
+     * Construye una lista ordenada vacía.
+     */
+    public ListaOrdenada() {
+        cabeza = new Nodo(null, MAXIMO_NIVEL);
+        niveles = 1;
+        random = new Random();
+    }
+
+    /**
+     * Construye una lista ordenada a partir de una colección. La lista
+     * ordenada tiene los mismos elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos la lista
+     *        ordenada.
+     */
+    public ListaOrdenada(Coleccion<T> coleccion) {
+        this();
+        for (T elemento : coleccion)
+            agrega(elemento);
+    }
+
+    /* Regresa un número de niveles aleatorio entre 1 y MAXIMO_NIVEL, donde
+     * cada nivel tiene probabilidad 1/2 de tener uno más. */
+    private int nivelAleatorio() {
+        int r = random.nextInt() | (1 << (MAXIMO_NIVEL - 1));
+        return Integer.numberOfTrailingZeros(r) + 1;
+    }
+
+    /* Regresa el último nodo cuyo elemento es menor que el recibido (o menor
+     * o igual, si inclusivo es true), o la cabeza si no hay ninguno. Si
+     * anteriores no es null, guarda en él el último nodo así de cada
+     * nivel. */
+    private Nodo anterior(T elemento, boolean inclusivo, Nodo[] anteriores) {
+        Nodo n = cabeza;
+        for (int i = niveles - 1; i >= 0; i--) {
+            while (n.siguientes[i] != null) {
+                int c = n.siguientes[i].elemento.compareTo(elemento);
+                if (c > 0 || (c == 0 && !inclusivo))
+                    break;
+                n = n.siguientes[i];
+            }
+            if (anteriores != null)
+                anteriores[i] = n;
+        }
+        return n;
+    }
+
+    /* Regresa el primer nodo cuyo elemento es igual al recibido, empezando
+     * por el siguiente del nodo recibido y recorriendo sólo los elementos
+     * que al compararse con el recibido son 0; o null si no hay ninguno. */
+    private Nodo buscaIgual(Nodo n, T elemento) {
+        for (n = n.siguientes[0]; n != null; n = n.siguientes[0]) {
+            if (n.elemento.compareTo(elemento) != 0)
+                return null;
+            if (n.elemento.equals(elemento))
+                return n;
+        }
+        return null;
+    }
+
+    /**
+     * Agrega un elemento a la lista, en la posición que le corresponde. Si
+     * la lista ya tenía elementos iguales al recibido, el nuevo queda
+     * después de ellos.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        @SuppressWarnings("unchecked") Nodo[] anteriores =
+            (Nodo[])new ListaOrdenada.Nodo[MAXIMO_NIVEL];
+        int nivel = nivelAleatorio();
+        if (nivel > niveles)
+            niveles = nivel;
+        anterior(elemento, true, anteriores);
+        Nodo nodo = new Nodo(elemento, nivel);
+        for (int i = 0; i < nivel; i++) {
+            nodo.siguientes[i] = anteriores[i].siguientes[i];
+            anteriores[i].siguientes[i] = nodo;
+        }
+        elementos++;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        if (elemento == null)
+            return;
+        @SuppressWarnings("unchecked") Nodo[] anteriores =
+            (Nodo[])new ListaOrdenada.Nodo[MAXIMO_NIVEL];
+        Nodo nodo = buscaIgual(anterior(elemento, false, anteriores),
+                               elemento);
+        if (nodo == null)
+            return;
+        for (int i = 0; i < nodo.siguientes.length; i++) {
+            Nodo n = anteriores[i];
+            while (n.siguientes[i] != nodo)
+                n = n.siguientes[i];
+            n.siguientes[i] = nodo.siguientes[i];
+        }
+        while (niveles > 1 && cabeza.siguientes[niveles - 1] == null)
+            niveles--;
+        elementos--;
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <tt>true</tt> si <tt>elemento</tt> está en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        if (elemento == null)
+            return false;
+        return buscaIgual(anterior(elemento, false, null), elemento) != null;
+    }
+
+    /**
+     * Regresa el mayor elemento de la lista que es menor o igual que el
+     * recibido.
+     * @param elemento el elemento del que queremos el piso.
+     * @return el mayor elemento de la lista menor o igual que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T piso(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        return anterior(elemento, true, null).elemento;
+    }
+
+    /**
+     * Regresa el menor elemento de la lista que es mayor o igual que el
+     * recibido.
+     * @param elemento el elemento del que queremos el techo.
+     * @return el menor elemento de la lista mayor o igual que el recibido, o
+     *         <code>null</code> si no hay ninguno.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public T techo(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        Nodo n = anterior(elemento, false, null).siguientes[0];
+        return n == null ? null : n.elemento;
+    }
+
+    /**
+     * Regresa una lista con los elementos de la lista ordenada que están
+     * entre los dos recibidos, inclusive, en orden. La búsqueda del primer
+     * elemento toma tiempo esperado <i>O</i>(log <i>n</i>), y después se
+     * recorren únicamente los elementos en el rango.
+     * @param desde el límite inferior del rango.
+     * @param hasta el límite superior del rango.
+     * @return una lista con los elementos en el rango; la lista es vacía si
+     *         <code>desde</code> es mayor que <code>hasta</code>.
+     * @throws IllegalArgumentException si alguno de los límites es
+     *         <code>null</code>.
+     */
+    public Lista<T> rango(T desde, T hasta) {
+        if (desde == null || hasta == null)
+            throw new IllegalArgumentException();
+        Lista<T> lista = new Lista<T>();
+        Nodo n = anterior(desde, false, null).siguientes[0];
+        for (; n != null && n.elemento.compareTo(hasta) <= 0;
+             n = n.siguientes[0])
+            lista.agregaFinal(n.elemento);
+        return lista;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista, que es el menor.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return cabeza.siguientes[0].elemento;
+    }
+
+    /**
+     * Regresa el último elemento de la lista, que es el mayor.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        Nodo n = cabeza;
+        for (int i = niveles - 1; i >= 0; i--)
+            while (n.siguientes[i] != null)
+                n = n.siguientes[i];
+        return n.elemento;
+    }
+
+    /**
+     * Regresa el número elementos en la lista.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < MAXIMO_NIVEL; i++)
+            cabeza.siguientes[i] = null;
+        niveles = 1;
+        elementos = 0;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        return Escritura.cadena(this::escribe);
+    }
+
+    /**
+     * Escribe la representación en cadena de la lista en la salida recibida,
+     * elemento por elemento y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe la lista.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        salida.append('[');
+        for (Nodo n = cabeza.siguientes[0]; n != null; n = n.siguientes[0]) {
+            if (n != cabeza.siguientes[0])
+                salida.append(", ");
+            salida.append(n.elemento.toString());
+        }
+        salida.append(']');
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param o el objeto con el que hay que comparar.
+     * @return <tt>true</tt> si la lista es igual al objeto recibido;
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaOrdenada<T> lista =
+            (ListaOrdenada<T>)o;
+        if (elementos != lista.elementos)
+            return false;
+        Nodo a = cabeza.siguientes[0];
+        ListaOrdenada<T>.Nodo b = lista.cabeza.siguientes[0];
+        for (; a != null; a = a.siguientes[0], b = b.siguientes[0])
+            if (!a.elemento.equals(b.elemento))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en orden.
+     * @return un iterador para recorrer la lista en orden.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
 import java.util.NoSuchElementException;
 
 
@@ -39,6 +40,14 @@ public abstract class MeteSaca<T> {
      */
     public abstract void mete(T elemento);
 
+    /**
+     * Escribe la representación en cadena de la estructura en la salida
+     * recibida, elemento por elemento y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe la estructura.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public abstract void escribe(Appendable salida) throws IOException;
+
     /**
      * Elimina el elemento en un extremo de la estructura y lo regresa.
      * @return el elemento en un extremo de la estructura.
@@ -79,6 +88,15 @@ public abstract class MeteSaca<T> {
     	return cabeza==null;
     }
 
+    /**
+     * Regresa una representación en cadena de la estructura, escrita por
+     * {@link #escribe}.
+     * @return una representación en cadena de la estructura.
+     */
+    @Override public String toString() {
+        return Escritura.cadena(this::escribe);
+    }
+
     /**
      * Compara la estructura con un objeto.
      * @param o el objeto con el que queremos comparar la estructura.
@@ -1,6 +1,6 @@
 package mx.unam.ciencias.edd;
 
-import mx.unam.ciencias.edd.MeteSaca.Nodo;
+import java.io.IOException;
 
 /**
  * Clase para pilas genericas.
@@ -8,25 +8,14 @@ import mx.unam.ciencias.edd.MeteSaca.Nodo;
 public class Pila<T> extends MeteSaca<T> {
 
     /**
-     * Regresa una representacion en cadena de la pila.
-     * @return una representacion en cadena de la pila.
+     * Escribe los elementos de la pila en la salida recibida, del tope al
+     * fondo, cada uno seguido de un salto de línea.
+     * @param salida la salida donde se escribe la pila.
+     * @throws IOException si la salida no puede escribirse.
      */
-    @Override public String toString() {
-    	if (cabeza== null)
-    		return "";
-    	
-    	Nodo n1 = cabeza;
-        
-    	String cadena = "";
-        while (n1!= null ) {
-        	
-        	cadena += n1.elemento.toString() + "\n";
-        	    	n1 = n1.siguiente;
-        	
-        }
-        
-        return cadena;    
-    
+    @Override public void escribe(Appendable salida) throws IOException {
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            salida.append(n.elemento.toString()).append('\n');
     }
 
     /**
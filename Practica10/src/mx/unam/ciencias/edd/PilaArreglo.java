@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para pilas genericas respaldadas por un arreglo.</p>
+ *
+ * <p>Las pilas arreglo cumplen el mismo contrato que {@link Pila}, pero en
+ * lugar de crear un nodo por cada elemento, guardan sus elementos en un
+ * arreglo que crece al doble cuando se llena; meter y sacar elementos no
+ * genera basura mientras la pila no crezca.</p>
+ */
+public class PilaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; el tope de la pila es el último. */
+    private T[] arreglo;
+    /* Número de elementos en la pila. */
+    private int elementos;
+
+    /**
+     * Construye una pila vacía con una capacidad inicial predeterminada.
+     */
+    public PilaArreglo() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una pila vacía con una capacidad inicial definida por el
+     * usuario. La pila puede crecer más allá de esta capacidad.
+     * @param capacidad la capacidad inicial de la pila.
+     */
+    public PilaArreglo(int capacidad) {
+        arreglo = nuevoArreglo(Math.max(capacidad, MINIMA_CAPACIDAD));
+    }
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Escribe los elementos de la pila en la salida recibida, del tope al
+     * fondo, cada uno seguido de un salto de línea.
+     * @param salida la salida donde se escribe la pila.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    @Override public void escribe(Appendable salida) throws IOException {
+        for (int i = elementos - 1; i >= 0; i--)
+            salida.append(String.valueOf(arreglo[i])).append('\n');
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (elementos == arreglo.length) {
+            T[] nuevo = nuevoArreglo(arreglo.length * 2);
+            System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+            arreglo = nuevo;
+        }
+        arreglo[elementos++] = elemento;
+    }
+
+    /**
+     * Elimina el elemento en el tope de la pila y lo regresa.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila esta vacia.
+     */
+    @Override public T saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        T elemento = arreglo[--elementos];
+        arreglo[elementos] = null;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento en el tope de la pila, sin sacarlo de la
+     * misma.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila esta vacia.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[elementos - 1];
+    }
+
+    /**
+     * Nos dice si la pila esta vacia.
+     * @return <tt>true</tt> si la pila no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+}
@@ -0,0 +1,129 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para pilas de enteros.</p>
+ *
+ * <p>Las pilas de enteros tienen las operaciones mete/saca/mira de {@link
+ * Pila}, pero guardan los enteros directamente en un arreglo de
+ * <code>int</code> que crece al doble cuando se llena; los enteros nunca se
+ * envuelven en objetos.</p>
+ */
+public class PilaInt {
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; el tope de la pila es el último. */
+    private int[] arreglo;
+    /* Número de elementos en la pila. */
+    private int elementos;
+
+    /**
+     * Construye una pila vacía con una capacidad inicial predeterminada.
+     */
+    public PilaInt() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una pila vacía con una capacidad inicial definida por el
+     * usuario. La pila puede crecer más allá de esta capacidad.
+     * @param capacidad la capacidad inicial de la pila.
+     */
+    public PilaInt(int capacidad) {
+        arreglo = new int[Math.max(capacidad, MINIMA_CAPACIDAD)];
+    }
+
+    /**
+     * Agrega un entero al tope de la pila.
+     * @param elemento el entero a agregar.
+     */
+    public void mete(int elemento) {
+        if (elementos == arreglo.length) {
+            int[] nuevo = new int[arreglo.length * 2];
+            System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+            arreglo = nuevo;
+        }
+        arreglo[elementos++] = elemento;
+    }
+
+    /**
+     * Elimina el entero en el tope de la pila y lo regresa.
+     * @return el entero en el tope de la pila.
+     * @throws NoSuchElementException si la pila esta vacia.
+     */
+    public int saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[--elementos];
+    }
+
+    /**
+     * Nos permite ver el entero en el tope de la pila, sin sacarlo de la
+     * misma.
+     * @return el entero en el tope de la pila.
+     * @throws NoSuchElementException si la pila esta vacia.
+     */
+    public int mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[elementos - 1];
+    }
+
+    /**
+     * Nos dice si la pila esta vacia.
+     * @return <tt>true</tt> si la pila no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de enteros en la pila.
+     * @return el número de enteros en la pila.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia la pila de elementos, dejándola vacía. La pila conserva su
+     * capacidad.
+     */
+    public void limpia() {
+        elementos = 0;
+    }
+
+    /**
+     * Regresa una representacion en cadena de la pila.
+     * @return una representacion en cadena de la pila.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = elementos - 1; i >= 0; i--)
+            sb.append(arreglo[i]).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la pila con un objeto.
+     * @param o el objeto con el que queremos comparar la pila.
+     * @return <code>true</code> si el objeto recibido es una pila de enteros
+     *         con los mismos enteros en el mismo orden; <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        PilaInt p = (PilaInt)o;
+        if (elementos != p.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (arreglo[i] != p.arreglo[i])
+                return false;
+        return true;
+    }
+}
@@ -2,6 +2,7 @@ package mx.unam.ciencias.edd;
 
 import java.text.NumberFormat;
 import java.util.Random;
+import java.util.function.Predicate;
 
 /**
  * Práctica 10: Diccionarios.
@@ -14,6 +15,60 @@ public class Practica10 {
         System.exit(1);
     }
 
+    /* Cola con candado, para comparar contra las colas concurrentes. */
+    private static class ColaSincronizada<T> extends Cola<T> {
+
+        /* Agrega un elemento con el candado de la cola. */
+        @Override public synchronized void mete(T elemento) {
+            super.mete(elemento);
+        }
+
+        /* Saca un elemento con el candado de la cola. */
+        @Override public synchronized T saca() {
+            return super.saca();
+        }
+
+        /* Nos dice si la cola es vacía con el candado de la cola. */
+        @Override public synchronized boolean esVacia() {
+            return super.esVacia();
+        }
+    }
+
+    /* Regresa los nanosegundos que toma que varios hilos productores metan
+     * n elementos cada uno a la cola, mientras el hilo actual los saca. */
+    private static long productores(MeteSaca<Integer> cola,
+                                    Predicate<Integer> ofrece,
+                                    int hilos, int n) {
+        Thread[] productores = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            productores[i] = new Thread(() -> {
+                    for (int j = 0; j < n; j++)
+                        while (!ofrece.test(j))
+                            Thread.yield();
+                });
+        }
+        long tiempoInicial = System.nanoTime();
+        for (Thread t : productores)
+            t.start();
+        int m = 0;
+        while (m < hilos * n) {
+            if (cola.esVacia()) {
+                Thread.yield();
+                continue;
+            }
+            cola.saca();
+            m++;
+        }
+        long tiempoTotal = System.nanoTime() - tiempoInicial;
+        try {
+            for (Thread t : productores)
+                t.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        return tiempoTotal;
+    }
+
     public static void main(String[] args) {
         if (args.length != 1)
             uso();
@@ -75,6 +130,32 @@ public class Practica10 {
         System.out.printf("\t%d colisiones, %d colisión máxima\n",
                           diccJava.colisiones(), diccJava.colisionMaxima());
 
+        DiccionarioAbierto<String, String> diccAbierto =
+            new DiccionarioAbierto<String, String>(N);
+        tiempoInicial = System.nanoTime();
+        for (int i = 0; i < N; i++)
+            diccAbierto.agrega(arreglo[i], arreglo[i]);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un diccionario " +
+                          "abierto con %s elementos (dispersor Java).\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+        System.out.printf("\t%d colisiones, %d colisión máxima\n",
+                          diccAbierto.colisiones(),
+                          diccAbierto.colisionMaxima());
+
+        DiccionarioConcurrente<String, String> diccConcurrente =
+            new DiccionarioConcurrente<String, String>(N);
+        tiempoInicial = System.nanoTime();
+        for (int i = 0; i < N; i++)
+            diccConcurrente.agrega(arreglo[i], arreglo[i]);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un diccionario " +
+                          "concurrente con %s elementos (dispersor Java).\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+        System.out.printf("\t%d colisiones, %d colisión máxima\n",
+                          diccConcurrente.colisiones(),
+                          diccConcurrente.colisionMaxima());
+
         AlgoritmoDispersor a = AlgoritmoDispersor.BJ_STRING;
         Dispersor<String> bj = FabricaDispersores.dispersorCadena(a);
         Diccionario<String, String> diccBJ =
@@ -116,5 +197,58 @@ public class Practica10 {
                           (tiempoTotal/1000000000.0), nf.format(N));
         System.out.printf("\t%d colisiones, %d colisión máxima\n",
                           diccXOR.colisiones(), diccXOR.colisionMaxima());
+
+        AlgoritmoDispersor[] modernos = {
+            AlgoritmoDispersor.MURMUR3_STRING,
+            AlgoritmoDispersor.XXHASH32_STRING,
+            AlgoritmoDispersor.XXHASH64_STRING,
+            AlgoritmoDispersor.WYHASH_STRING
+        };
+        for (AlgoritmoDispersor m : modernos) {
+            Dispersor<String> d = FabricaDispersores.dispersorCadena(m);
+            Diccionario<String, String> dicc =
+                new Diccionario<String, String>(N, d);
+            tiempoInicial = System.nanoTime();
+            for (int i = 0; i < N; i++)
+                dicc.agrega(arreglo[i], arreglo[i]);
+            tiempoTotal = System.nanoTime() - tiempoInicial;
+            System.out.printf("%2.9f segundos en llenar un diccionario " +
+                              "con %s elementos (dispersor %s).\n",
+                              (tiempoTotal/1000000000.0), nf.format(N), m);
+            System.out.printf("\t%d colisiones, %d colisión máxima\n",
+                              dicc.colisiones(), dicc.colisionMaxima());
+        }
+
+        int hilos = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ColaSincronizada<Integer> colaSincronizada =
+            new ColaSincronizada<Integer>();
+        tiempoTotal = productores(colaSincronizada,
+                                  e -> { colaSincronizada.mete(e);
+                                         return true; },
+                                  hilos, N);
+        System.out.printf("%2.9f segundos en pasar %s elementos por una " +
+                          "cola con candado (%d productores).\n",
+                          (tiempoTotal/1000000000.0),
+                          nf.format((long)hilos * N), hilos);
+
+        ColaConcurrente<Integer> colaConcurrente =
+            new ColaConcurrente<Integer>();
+        tiempoTotal = productores(colaConcurrente,
+                                  e -> { colaConcurrente.mete(e);
+                                         return true; },
+                                  hilos, N);
+        System.out.printf("%2.9f segundos en pasar %s elementos por una " +
+                          "cola concurrente (%d productores).\n",
+                          (tiempoTotal/1000000000.0),
+                          nf.format((long)hilos * N), hilos);
+
+        ColaConcurrenteAcotada<Integer> colaAcotada =
+            new ColaConcurrenteAcotada<Integer>(1024);
+        tiempoTotal = productores(colaAcotada, colaAcotada::ofrece,
+                                  hilos, N);
+        System.out.printf("%2.9f segundos en pasar %s elementos por una " +
+                          "cola concurrente acotada (%d productores).\n",
+                          (tiempoTotal/1000000000.0),
+                          nf.format((long)hilos * N), hilos);
     }
 }
@@ -159,6 +159,63 @@ public class TestArbolBinarioCompleto {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link
+     * ArbolBinarioCompleto#ArbolBinarioCompleto(boolean)} con elementos
+     * repetidos.
+     */
+    @Test public void testIndexado() {
+        Assert.assertFalse(arbol.esIndexado());
+        arbol = new ArbolBinarioCompleto<Integer>(true);
+        Assert.assertTrue(arbol.esIndexado());
+        Assert.assertFalse(arbol.contiene(0));
+        arbol.elimina(0);
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total * 4; i++) {
+            int e = random.nextInt(total);
+            arbol.agrega(e);
+            control.agrega(e);
+        }
+        while (!control.esVacia()) {
+            int e = random.nextInt(total + 1);
+            Assert.assertTrue(arbol.contiene(e) == control.contiene(e));
+            VerticeArbolBinario<Integer> v = arbol.busca(e);
+            Assert.assertTrue(v == null ? !control.contiene(e) : v.get() == e);
+            arbol.elimina(e);
+            control.elimina(e);
+            Assert.assertTrue(arbol.getElementos() == control.getLongitud());
+            arbolBinarioCompletoValido(arbol);
+            for (int i = 0; i <= total; i++)
+                Assert.assertTrue(arbol.contiene(i) == control.contiene(i));
+        }
+        arbol.agrega(total);
+        arbol.limpia();
+        Assert.assertFalse(arbol.contiene(total));
+        arbol = new ArbolBinarioCompleto<Integer>(control, true);
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioCompleto#agrega} y {@link
+     * ArbolBinarioCompleto#elimina} con muchos elementos.
+     */
+    @Test public void testGrande() {
+        int n = 200000;
+        arbol = new ArbolBinarioCompleto<Integer>(true);
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        Assert.assertTrue(arbol.altura() == 17);
+        for (int i = 0; i < n; i += 2) {
+            Assert.assertTrue(arbol.contiene(i));
+            arbol.elimina(i);
+            Assert.assertFalse(arbol.contiene(i));
+        }
+        Assert.assertTrue(arbol.getElementos() == n / 2);
+        arbolBinarioCompletoValido(arbol);
+        for (int i = 1; i < n; i += 2)
+            Assert.assertTrue(arbol.busca(i).get() == i);
+    }
+
     /**
      * Prueba unitaria para {@link ArbolBinarioCompleto#altura}.
      */
@@ -1,11 +1,17 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import mx.unam.ciencias.edd.ArbolAVL;
 import mx.unam.ciencias.edd.ArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
 import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 import org.junit.Assert;
@@ -163,6 +169,143 @@ public class TestArbolBinarioOrdenado {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#agrega}, {@link
+     * ArbolBinarioOrdenado#busca} y {@link ArbolBinarioOrdenado#elimina} con
+     * elementos agregados en orden, que degeneran el árbol en una lista.
+     */
+    @Test public void testDegenerado() {
+        int n = 20000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        Assert.assertTrue(arbol.getElementos() == n);
+        Assert.assertTrue(arbol.altura() == n - 1);
+        for (int i = 0; i < 100; i++) {
+            int e = random.nextInt(n);
+            Assert.assertTrue(arbol.contiene(e));
+            Assert.assertTrue(arbol.busca(e).get() == e);
+        }
+        Assert.assertFalse(arbol.contiene(n));
+        int[] visitados = new int[1];
+        arbol.dfsInOrder(v -> Assert.assertTrue(v.get() == visitados[0]++));
+        Assert.assertTrue(visitados[0] == n);
+        for (int i = 0; i < n; i++)
+            arbol.elimina(i);
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinario#equals}, {@link
+     * ArbolBinario#escribe} y {@link VerticeArbolBinario#profundidad} en un
+     * árbol degenerado en una lista, que no deben desbordar la pila.
+     */
+    @Test public void testDegeneradoProfundo() {
+        int n = 20000;
+        ArbolBinarioOrdenado<Integer> otro =
+            new ArbolBinarioOrdenado<Integer>();
+        for (int i = 0; i < n; i++) {
+            arbol.agrega(i);
+            otro.agrega(i);
+        }
+        Assert.assertTrue(arbol.busca(n - 1).profundidad() == n - 1);
+        Assert.assertTrue(arbol.equals(otro));
+        int[] lineas = new int[1];
+        try {
+            arbol.escribe(new Appendable() {
+                    @Override public Appendable append(CharSequence c) {
+                        return this;
+                    }
+                    @Override public Appendable append(CharSequence c,
+                                                       int i, int f) {
+                        return this;
+                    }
+                    @Override public Appendable append(char c) {
+                        if (c == '\n')
+                            lineas[0]++;
+                        return this;
+                    }
+                });
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        Assert.assertTrue(lineas[0] == n);
+        otro.elimina(n - 1);
+        Assert.assertFalse(arbol.equals(otro));
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#altura} después de
+     * agregar, eliminar y girar.
+     */
+    @Test public void testAlturaGiros() {
+        Lista<Integer> elementos = new Lista<Integer>();
+        for (int r = 0; r < total * 10; r++) {
+            int e = random.nextInt(total * 2);
+            int op = elementos.esVacia() ? 0 : random.nextInt(4);
+            if (op == 0) {
+                arbol.agrega(e);
+                elementos.agrega(e);
+            } else if (op == 1) {
+                e = elementos.get(random.nextInt(elementos.getLongitud()));
+                arbol.elimina(e);
+                elementos.elimina(e);
+            } else {
+                e = elementos.get(random.nextInt(elementos.getLongitud()));
+                VerticeArbolBinario<Integer> v = arbol.busca(e);
+                if (op == 2)
+                    arbol.giraIzquierda(v);
+                else
+                    arbol.giraDerecha(v);
+            }
+            arbolBinarioOrdenadoValido(arbol);
+            Assert.assertTrue(arbol.altura() ==
+                              (arbol.esVacia() ? -1 : arbol.raiz().altura()));
+        }
+    }
+
+    /* Agrega a la lista los elementos del subárbol en pre-order, in-order o
+     * post-order, según el orden sea 0, 1 o 2. */
+    private void recorre(VerticeArbolBinario<Integer> v, int orden,
+                         Lista<Integer> lista) {
+        if (orden == 0)
+            lista.agrega(v.get());
+        if (v.hayIzquierdo())
+            recorre(v.izquierdo(), orden, lista);
+        if (orden == 1)
+            lista.agrega(v.get());
+        if (v.hayDerecho())
+            recorre(v.derecho(), orden, lista);
+        if (orden == 2)
+            lista.agrega(v.get());
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#dfsPreOrder}, {@link
+     * ArbolBinarioOrdenado#dfsInOrder} y {@link
+     * ArbolBinarioOrdenado#dfsPostOrder}.
+     */
+    @Test public void testDfs() {
+        Lista<Integer> l = new Lista<Integer>();
+        arbol.dfsPreOrder(v -> l.agrega(v.get()));
+        arbol.dfsInOrder(v -> l.agrega(v.get()));
+        arbol.dfsPostOrder(v -> l.agrega(v.get()));
+        Assert.assertTrue(l.esVacia());
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt(total));
+        for (int orden = 0; orden < 3; orden++) {
+            Lista<Integer> esperada = new Lista<Integer>();
+            recorre(arbol.raiz(), orden, esperada);
+            Lista<Integer> obtenida = new Lista<Integer>();
+            if (orden == 0)
+                arbol.dfsPreOrder(v -> obtenida.agrega(v.get()));
+            else if (orden == 1)
+                arbol.dfsInOrder(v -> obtenida.agrega(v.get()));
+            else
+                arbol.dfsPostOrder(v -> obtenida.agrega(v.get()));
+            Assert.assertTrue(obtenida.equals(esperada));
+        }
+    }
+
     /**
      * Prueba unitaria para {@link ArbolBinario#altura}.
      */
@@ -333,6 +476,29 @@ public class TestArbolBinarioOrdenado {
         Assert.assertTrue(arbol.toString().equals(cadena));
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinario#escribe}.
+     */
+    @Test public void testEscribe() {
+        StringWriter salida = new StringWriter();
+        try {
+            arbol.escribe(salida);
+            Assert.assertTrue(salida.toString().equals(""));
+            for (int i = 0; i < total; i++)
+                arbol.agrega(random.nextInt(total));
+            salida = new StringWriter();
+            arbol.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        Assert.assertTrue(salida.toString().equals(arbol.toString()));
+        int lineas = 0;
+        for (char c : salida.toString().toCharArray())
+            if (c == '\n')
+                lineas++;
+        Assert.assertTrue(lineas == total);
+    }
+
     /**
      * Prueba unitaria para {@link ArbolBinarioOrdenado#iterator}.
      */
@@ -352,6 +518,242 @@ public class TestArbolBinarioOrdenado {
         Assert.assertTrue(!i1.hasNext() && !i2.hasNext());
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#minimo} y {@link
+     * ArbolBinarioOrdenado#maximo}.
+     */
+    @Test public void testMinimoMaximo() {
+        try {
+            arbol.minimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            arbol.maximo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt();
+            arbol.agrega(e);
+            min = Math.min(min, e);
+            max = Math.max(max, e);
+            Assert.assertTrue(arbol.minimo() == min);
+            Assert.assertTrue(arbol.maximo() == max);
+        }
+    }
+
+    /* Agrega al árbol los múltiplos de 10 del 10 a 10 * total en desorden,
+     * algunos repetidos, y gira el árbol al azar para que haya elementos
+     * iguales en ambos lados de un vértice. */
+    private void llenaMultiplos() {
+        for (int i = 1; i <= total; i++) {
+            arbol.agrega(10 * (1 + random.nextInt(total)));
+            arbol.agrega(10 * i);
+        }
+        for (int i = 0; i < total; i++) {
+            VerticeArbolBinario<Integer> v =
+                arbol.busca(10 * (1 + random.nextInt(total)));
+            if (random.nextBoolean())
+                arbol.giraIzquierda(v);
+            else
+                arbol.giraDerecha(v);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#piso} y {@link
+     * ArbolBinarioOrdenado#techo}.
+     */
+    @Test public void testPisoTecho() {
+        try {
+            arbol.piso(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(arbol.piso(0) == null);
+        Assert.assertTrue(arbol.techo(0) == null);
+        llenaMultiplos();
+        Assert.assertTrue(arbol.piso(9) == null);
+        Assert.assertTrue(arbol.techo(9) == 10);
+        Assert.assertTrue(arbol.piso(10 * total + 1) == 10 * total);
+        Assert.assertTrue(arbol.techo(10 * total + 1) == null);
+        for (int i = 1; i <= total; i++) {
+            Assert.assertTrue(arbol.piso(10 * i) == 10 * i);
+            Assert.assertTrue(arbol.techo(10 * i) == 10 * i);
+            int r = 10 * i + 1 + random.nextInt(9);
+            Assert.assertTrue(arbol.piso(r) == 10 * i);
+            if (i < total)
+                Assert.assertTrue(arbol.techo(r) == 10 * (i + 1));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#menor} y {@link
+     * ArbolBinarioOrdenado#mayor}.
+     */
+    @Test public void testMenorMayor() {
+        try {
+            arbol.mayor(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(arbol.menor(0) == null);
+        Assert.assertTrue(arbol.mayor(0) == null);
+        llenaMultiplos();
+        Assert.assertTrue(arbol.menor(10) == null);
+        Assert.assertTrue(arbol.mayor(10 * total) == null);
+        for (int i = 1; i <= total; i++) {
+            if (i > 1)
+                Assert.assertTrue(arbol.menor(10 * i) == 10 * (i - 1));
+            if (i < total)
+                Assert.assertTrue(arbol.mayor(10 * i) == 10 * (i + 1));
+            int r = 10 * i + 1 + random.nextInt(9);
+            Assert.assertTrue(arbol.menor(r) == 10 * i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#rango(Comparable,
+     * Comparable)}.
+     */
+    @Test public void testRango() {
+        try {
+            arbol.rango(null, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(arbol.rango(0, total).hasNext());
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total * 2; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        lista = Lista.mergeSort(lista);
+        for (int r = 0; r < total; r++) {
+            int desde = random.nextInt(total + 2) - 1;
+            int hasta = desde + random.nextInt(total);
+            Iterator<Integer> i = arbol.rango(desde, hasta);
+            for (int e : lista) {
+                if (e < desde || e > hasta)
+                    continue;
+                Assert.assertTrue(i.hasNext());
+                Assert.assertTrue(i.next() == e);
+            }
+            Assert.assertFalse(i.hasNext());
+            try {
+                i.next();
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+            Assert.assertFalse(arbol.rango(hasta + 1, desde).hasNext());
+        }
+        arbol = new ArbolBinarioOrdenado<Integer>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(random.nextInt(n));
+        for (int i = 0; i < n; i++) {
+            Iterator<Integer> it = arbol.rango(i, i + 2);
+            while (it.hasNext()) {
+                int e = it.next();
+                Assert.assertTrue(i <= e && e <= i + 2);
+            }
+        }
+    }
+
+    /* Regresa un árbol vacío de cada tipo de árbol ordenado; los árboles
+     * balanceados mantienen los tamaños de los subárboles en sus giros. */
+    @SuppressWarnings("unchecked")
+    private static ArbolBinarioOrdenado<Integer>[] arboles() {
+        return new ArbolBinarioOrdenado[] {
+            new ArbolBinarioOrdenado<Integer>(),
+            new ArbolAVL<Integer>(),
+            new ArbolRojinegro<Integer>()
+        };
+    }
+
+    /* Agrega y elimina elementos al azar, con repetidos, y regresa los que
+     * quedan en el árbol, ordenados. */
+    private int[] llenaConRepetidos(ArbolBinarioOrdenado<Integer> arbol) {
+        int n = 2 * total + 2;
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt(total + 1);
+            arbol.agrega(a[i]);
+        }
+        for (int i = 0; i < n / 2; i++) {
+            int j = random.nextInt(n - i);
+            arbol.elimina(a[j]);
+            a[j] = a[n - i - 1];
+        }
+        a = Arrays.copyOf(a, n - n / 2);
+        Arrays.sort(a);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#selecciona}, sobre
+     * cada tipo de árbol ordenado.
+     */
+    @Test public void testSelecciona() {
+        for (ArbolBinarioOrdenado<Integer> arbol : arboles()) {
+            try {
+                arbol.selecciona(0);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+            int[] a = llenaConRepetidos(arbol);
+            for (int i = 0; i < a.length; i++)
+                Assert.assertTrue(arbol.selecciona(i) == a[i]);
+            try {
+                arbol.selecciona(-1);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+            try {
+                arbol.selecciona(a.length);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+        }
+        int n = 50000;
+        ArbolBinarioOrdenado<Integer> avl = new ArbolAVL<Integer>();
+        ArbolBinarioOrdenado<Integer> rojinegro =
+            new ArbolRojinegro<Integer>();
+        for (int i = 0; i < n; i++) {
+            avl.agrega(n - 1 - i);
+            rojinegro.agrega(n - 1 - i);
+        }
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(avl.selecciona(i) == i);
+            Assert.assertTrue(rojinegro.selecciona(i) == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#rango(Comparable)} y
+     * {@link ArbolBinarioOrdenado#cuentaEntre}, sobre cada tipo de árbol
+     * ordenado.
+     */
+    @Test public void testRangoCuentaEntre() {
+        for (ArbolBinarioOrdenado<Integer> arbol : arboles()) {
+            try {
+                arbol.rango(null);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+            Assert.assertTrue(arbol.rango(0) == 0);
+            Assert.assertTrue(arbol.cuentaEntre(0, total) == 0);
+            int[] a = llenaConRepetidos(arbol);
+            for (int e = -1; e <= total + 1; e++) {
+                int menores = 0;
+                while (menores < a.length && a[menores] < e)
+                    menores++;
+                Assert.assertTrue(arbol.rango(e) == menores);
+                int hasta = e + random.nextInt(total + 1);
+                int entre = 0;
+                for (int x : a)
+                    if (e <= x && x <= hasta)
+                        entre++;
+                Assert.assertTrue(arbol.cuentaEntre(e, hasta) == entre);
+                Assert.assertTrue(arbol.cuentaEntre(hasta + 1, e) == 0);
+            }
+            Assert.assertTrue(arbol.cuentaEntre(-1, total + 1) == a.length);
+        }
+    }
+
     /**
      * Prueba unitaria para la implementación de {@link
      * VerticeArbolBinario#hayPadre}.
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.Cola;
@@ -143,6 +145,28 @@ public class TestCola {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Cola#escribe}.
+     */
+    @Test public void testEscribe() {
+        int n = 1000000;
+        for (int i = 0; i < n; i++)
+            cola.mete(i % 10);
+        StringWriter salida = new StringWriter();
+        try {
+            cola.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        String s = salida.toString();
+        Assert.assertTrue(s.length() == 2 * n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(s.charAt(2 * i) == '0' + i % 10);
+            Assert.assertTrue(s.charAt(2 * i + 1) == ',');
+        }
+        Assert.assertTrue(s.equals(cola.toString()));
+    }
+
     /**
      * Prueba unitaria para {@link Cola#equals}.
      */
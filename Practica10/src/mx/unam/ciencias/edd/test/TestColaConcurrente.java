@@ -0,0 +1,157 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrente}.
+ */
+public class TestColaConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrente<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrente<Integer>();
+    }
+
+    /* Ejecuta los hilos y espera a que terminen. */
+    private static void ejecuta(Thread[] hilos) {
+        for (Thread h : hilos)
+            h.start();
+        try {
+            for (Thread h : hilos)
+                h.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#ColaConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.intentaSacar() == null);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mete}, {@link
+     * ColaConcurrente#saca} y {@link ColaConcurrente#mira}.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int r = 0; r < 2; r++) {
+            for (int i = 0; i < total; i++) {
+                cola.mete(i);
+                Assert.assertTrue(cola.mira() == 0);
+            }
+            for (int i = 0; i < total; i++) {
+                Assert.assertTrue(cola.mira() == i);
+                Assert.assertTrue(cola.saca() == i);
+            }
+            Assert.assertTrue(cola.esVacia());
+            Assert.assertTrue(cola.intentaSacar() == null);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#toString} y {@link
+     * ColaConcurrente#equals}.
+     */
+    @Test public void testToStringEquals() {
+        Cola<Integer> control = new Cola<Integer>();
+        ColaConcurrente<Integer> otra = new ColaConcurrente<Integer>();
+        Assert.assertTrue(cola.toString().equals(""));
+        Assert.assertTrue(cola.equals(otra));
+        Assert.assertFalse(cola.equals(control));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            control.mete(i);
+            Assert.assertTrue(cola.toString().equals(control.toString()));
+            Assert.assertFalse(cola.equals(otra));
+            otra.mete(i);
+            Assert.assertTrue(cola.equals(otra));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente} con varios productores y
+     * varios consumidores.
+     */
+    @Test public void testProductoresConsumidores() {
+        int p = 4, c = 4, n = total * 1000;
+        boolean[] vistos = new boolean[p * n];
+        AtomicBoolean error = new AtomicBoolean();
+        Thread[] hilos = new Thread[p + c];
+        for (int i = 0; i < p; i++) {
+            int productor = i;
+            hilos[i] = new Thread(() -> {
+                    for (int j = 0; j < n; j++)
+                        cola.mete(productor * n + j);
+                });
+        }
+        int[] sacados = new int[c];
+        for (int i = 0; i < c; i++) {
+            int consumidor = i;
+            hilos[p + i] = new Thread(() -> {
+                    /* Los elementos de cada productor salen en orden. */
+                    int[] ultimos = new int[p];
+                    for (int k = 0; k < p; k++)
+                        ultimos[k] = -1;
+                    int m = 0;
+                    while (m < n * p / c) {
+                        Integer e = cola.intentaSacar();
+                        if (e == null)
+                            continue;
+                        if (e % n <= ultimos[e / n])
+                            error.set(true);
+                        ultimos[e / n] = e % n;
+                        synchronized (vistos) {
+                            if (vistos[e])
+                                error.set(true);
+                            vistos[e] = true;
+                        }
+                        m++;
+                    }
+                    sacados[consumidor] = m;
+                });
+        }
+        ejecuta(hilos);
+        Assert.assertFalse(error.get());
+        Assert.assertTrue(cola.esVacia());
+        for (boolean v : vistos)
+            Assert.assertTrue(v);
+    }
+}
@@ -0,0 +1,206 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaConcurrenteAcotada;
+import mx.unam.ciencias.edd.ListaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrenteAcotada}.
+ */
+public class TestColaConcurrenteAcotada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrenteAcotada<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrenteAcotada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrenteAcotada<Integer>(total);
+    }
+
+    /* Ejecuta los hilos y espera a que terminen. */
+    private static void ejecuta(Thread[] hilos) {
+        for (Thread h : hilos)
+            h.start();
+        try {
+            for (Thread h : hilos)
+                h.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * ColaConcurrenteAcotada#ColaConcurrenteAcotada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getElementos() == 0);
+        int c = cola.getCapacidad();
+        Assert.assertTrue(c >= total && c < 2 * total);
+        Assert.assertTrue((c & (c - 1)) == 0);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new ColaConcurrenteAcotada<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#mete} y {@link
+     * ColaConcurrenteAcotada#ofrece}.
+     */
+    @Test public void testMeteOfrece() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int c = cola.getCapacidad();
+        for (int i = 0; i < c; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.getElementos() == i + 1);
+        }
+        Assert.assertFalse(cola.ofrece(c));
+        try {
+            cola.mete(c);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(cola.saca() == 0);
+        Assert.assertTrue(cola.ofrece(c));
+        for (int i = 1; i <= c; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#saca}, {@link
+     * ColaConcurrenteAcotada#intentaSacar} y {@link
+     * ColaConcurrenteAcotada#mira} cuando el arreglo da la vuelta.
+     */
+    @Test public void testSaca() {
+        Assert.assertTrue(cola.intentaSacar() == null);
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int metidos = 0, sacados = 0;
+        for (int r = 0; r < total * 10; r++) {
+            int m = random.nextInt(8);
+            for (int i = 0; i < m && cola.ofrece(metidos); i++)
+                metidos++;
+            int s = random.nextInt(8);
+            for (int i = 0; i < s && !cola.esVacia(); i++) {
+                Assert.assertTrue(cola.mira() == sacados);
+                Assert.assertTrue(cola.saca() == sacados++);
+            }
+        }
+        Integer e;
+        while ((e = cola.intentaSacar()) != null)
+            Assert.assertTrue(e == sacados++);
+        Assert.assertTrue(sacados == metidos);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#sacaVarios}.
+     */
+    @Test public void testSacaVarios() {
+        ListaArreglo<Integer> destino = new ListaArreglo<Integer>();
+        Assert.assertTrue(cola.sacaVarios(total, destino) == 0);
+        int c = cola.getCapacidad();
+        for (int i = 0; i < c; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.sacaVarios(c / 2, destino) == c / 2);
+        Assert.assertTrue(cola.getElementos() == c - c / 2);
+        for (int i = 0; i < c / 2; i++)
+            cola.mete(c + i);
+        Assert.assertTrue(cola.sacaVarios(2 * c, destino) == c);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(destino.getLongitud() == c + c / 2);
+        for (int i = 0; i < destino.getLongitud(); i++)
+            Assert.assertTrue(destino.get(i) == i);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#toString} y {@link
+     * ColaConcurrenteAcotada#equals}.
+     */
+    @Test public void testToStringEquals() {
+        Cola<Integer> control = new Cola<Integer>();
+        ColaConcurrenteAcotada<Integer> otra =
+            new ColaConcurrenteAcotada<Integer>(total);
+        Assert.assertTrue(cola.toString().equals(""));
+        Assert.assertTrue(cola.equals(otra));
+        Assert.assertFalse(cola.equals(control));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            control.mete(i);
+            Assert.assertTrue(cola.toString().equals(control.toString()));
+            Assert.assertFalse(cola.equals(otra));
+            otra.mete(i);
+            Assert.assertTrue(cola.equals(otra));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada} con varios
+     * productores y un consumidor.
+     */
+    @Test public void testProductoresConsumidor() {
+        int p = 4, n = total * 100;
+        AtomicBoolean error = new AtomicBoolean();
+        Thread[] hilos = new Thread[p + 1];
+        for (int i = 0; i < p; i++) {
+            int productor = i;
+            hilos[i] = new Thread(() -> {
+                    for (int j = 0; j < n; j++)
+                        while (!cola.ofrece(productor * n + j))
+                            Thread.yield();
+                });
+        }
+        hilos[p] = new Thread(() -> {
+                /* Los elementos de cada productor salen en orden. */
+                int[] siguientes = new int[p];
+                ListaArreglo<Integer> lote = new ListaArreglo<Integer>();
+                int m = 0;
+                while (m < n * p) {
+                    if (cola.sacaVarios(1 + m % 32, lote) == 0) {
+                        Integer e = cola.intentaSacar();
+                        if (e == null)
+                            continue;
+                        lote.agrega(e);
+                    }
+                    while (!lote.esVacia()) {
+                        int e = lote.eliminaPrimero();
+                        if (e % n != siguientes[e / n]++)
+                            error.set(true);
+                        m++;
+                    }
+                }
+            });
+        ejecuta(hilos);
+        Assert.assertFalse(error.get());
+        Assert.assertTrue(cola.esVacia());
+    }
+}
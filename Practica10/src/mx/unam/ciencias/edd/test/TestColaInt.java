@@ -0,0 +1,167 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaInt;
+import mx.unam.ciencias.edd.Cola;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaInt}.
+ */
+public class TestColaInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaInt cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaInt() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaInt();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#ColaInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nse) {}
+        cola = new ColaInt(total);
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#mete}.
+     */
+    @Test public void testMete() {
+        for (int r = 0; r < 2; r++) {
+            for (int i = 0; i < total; i++)
+                cola.mete(i);
+            int c = 0;
+            while (!cola.esVacia())
+                Assert.assertTrue(cola.saca() == c++);
+            Assert.assertTrue(c == total);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#saca} cuando el arreglo da la
+     * vuelta y crece.
+     */
+    @Test public void testSaca() {
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int metidos = 0, sacados = 0;
+        for (int r = 0; r < total * 10; r++) {
+            int m = random.nextInt(8);
+            for (int i = 0; i < m; i++)
+                cola.mete(metidos++);
+            int s = random.nextInt(8);
+            for (int i = 0; i < s && !cola.esVacia(); i++)
+                Assert.assertTrue(cola.saca() == sacados++);
+        }
+        while (!cola.esVacia())
+            Assert.assertTrue(cola.saca() == sacados++);
+        Assert.assertTrue(sacados == metidos);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.mira() == 0);
+        }
+        cola.saca();
+        Assert.assertTrue(cola.mira() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(cola.esVacia());
+        cola.mete(1);
+        Assert.assertFalse(cola.esVacia());
+        cola.saca();
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#getElementos} y {@link
+     * ColaInt#limpia}.
+     */
+    @Test public void testGetElementosLimpia() {
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.getElementos() == i + 1);
+        }
+        cola.saca();
+        Assert.assertTrue(cola.getElementos() == total - 1);
+        cola.limpia();
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getElementos() == 0);
+        cola.mete(total);
+        Assert.assertTrue(cola.mira() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#toString}.
+     */
+    @Test public void testToString() {
+        Cola<Integer> control = new Cola<Integer>();
+        Assert.assertTrue(cola.toString().equals(""));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            control.mete(i);
+            Assert.assertTrue(cola.toString().equals(control.toString()));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaInt#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(""));
+        Assert.assertFalse(cola.equals(new Cola<Integer>()));
+        ColaInt cola2 = new ColaInt();
+        Assert.assertTrue(cola.equals(cola2));
+        cola2.mete(-1);
+        cola2.saca();
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -106,6 +108,235 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#agrega} que verifica que cada
+     * llave se dispersa una sola vez, aun cuando el diccionario crece.
+     */
+    @Test public void testAgregaDispersaUnaVez() {
+        int[] llamadas = { 0 };
+        Dispersor<String> dispersor = s -> {
+            llamadas[0]++;
+            return s.hashCode();
+        };
+        diccionario = new Diccionario<String, String>(dispersor);
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(llamadas[0] == i + 1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setCrecimientoIncremental}.
+     */
+    @Test public void testCrecimientoIncremental() {
+        diccionario.setCrecimientoIncremental(true);
+        int ini = random.nextInt(10000);
+        int n = total * 16;
+        String[] arreglo = new String[n];
+        for (int i = 0; i < n; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+            int j = random.nextInt(i + 1);
+            Assert.assertTrue(diccionario.get(arreglo[j]).equals(arreglo[j]));
+        }
+        for (int i = 0; i < n; i += 2) {
+            diccionario.elimina(arreglo[i]);
+            Assert.assertFalse(diccionario.contiene(arreglo[i]));
+        }
+        for (int i = 1; i < n; i += 2)
+            Assert.assertTrue(diccionario.get(arreglo[i]).equals(arreglo[i]));
+        int c = 0;
+        for (String s : diccionario)
+            c++;
+        Assert.assertTrue(c == n / 2);
+        Diccionario<String, String> d2 = new Diccionario<String, String>();
+        for (int i = 1; i < n; i += 2)
+            d2.agrega(arreglo[i], arreglo[i]);
+        Assert.assertTrue(diccionario.equals(d2));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setCargaMinima}.
+     */
+    @Test public void testCargaMinima() {
+        int ini = random.nextInt(10000);
+        int n = total * 16;
+        int c = calculaCapacidad(total);
+        String[] arreglo = new String[n];
+        for (int i = 0; i < n; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        }
+        Assert.assertTrue(diccionario.carga() < ((double)n) / c);
+        for (int i = n - 1; i >= total; i--) {
+            diccionario.elimina(arreglo[i]);
+            Assert.assertTrue(diccionario.carga() >= Diccionario.MINIMA_CARGA ||
+                              diccionario.carga() == ((double)i) / c);
+        }
+        Assert.assertTrue(diccionario.carga() >= ((double)total) / (c * 2));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(arreglo[i]).equals(arreglo[i]));
+        diccionario.limpia();
+        for (int i = 0; i < n; i++)
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        diccionario.setCargaMinima(0.0);
+        for (int i = total; i < n; i++)
+            diccionario.elimina(arreglo[i]);
+        Assert.assertTrue(diccionario.carga() < Diccionario.MINIMA_CARGA);
+        try {
+            diccionario.setCargaMinima(Diccionario.MAXIMA_CARGA);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.setCargaMinima(-1.0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#compacta}.
+     */
+    @Test public void testCompacta() {
+        diccionario = new Diccionario<String, String>(total * 64);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(diccionario.carga() ==
+                          ((double)total) / calculaCapacidad(total * 64));
+        diccionario.compacta();
+        int c = calculaCapacidad(total);
+        Assert.assertTrue(diccionario.carga() == ((double)total) / c);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)));
+        diccionario.limpia();
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == 1.0 / c);
+    }
+
+    /* Llave sin orden natural, para probar casillas con árbol. */
+    private static class Llave {
+
+        /* El valor de la llave. */
+        private int valor;
+
+        /* Construye una llave. */
+        public Llave(int valor) {
+            this.valor = valor;
+        }
+
+        /* Nos dice si la llave es igual al objeto. */
+        @Override public boolean equals(Object o) {
+            return o instanceof Llave && ((Llave)o).valor == valor;
+        }
+
+        /* Regresa la dispersión de la llave. */
+        @Override public int hashCode() {
+            return valor;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setUmbralArbol} con llaves
+     * comparables que caen todas en la misma casilla.
+     */
+    @Test public void testUmbralArbol() {
+        try {
+            diccionario.setUmbralArbol(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int n = 5000;
+        diccionario = new Diccionario<String, String>(s -> 7);
+        diccionario.setUmbralArbol(Diccionario.UMBRAL_ARBOL);
+        for (int i = 0; i < n; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(diccionario.getElementos() == n);
+        Assert.assertTrue(diccionario.colisionMaxima() == n - 1);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(diccionario.get(String.valueOf(i))
+                              .equals(String.valueOf(i)));
+        Assert.assertFalse(diccionario.contiene("x"));
+        for (int i = 0; i < n; i += 2)
+            diccionario.elimina(String.valueOf(i));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)) ==
+                              (i % 2 == 1));
+        Assert.assertTrue(diccionario.calcula("1", (k, v) -> v + "!")
+                          .equals("1!"));
+        Assert.assertTrue(diccionario.calcula("1", (k, v) -> null) == null);
+        Assert.assertFalse(diccionario.contiene("1"));
+        Assert.assertTrue(diccionario.calcula("0", (k, v) -> "0")
+                          .equals("0"));
+        Assert.assertTrue(diccionario.get("0").equals("0"));
+        Assert.assertTrue(diccionario.getElementos() == n / 2);
+        int m = 0;
+        Iterator<String> iterador = diccionario.iteradorLlaves();
+        while (iterador.hasNext()) {
+            Assert.assertTrue(diccionario.contiene(iterador.next()));
+            m++;
+        }
+        Assert.assertTrue(m == n / 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setUmbralArbol} con llaves no
+     * comparables, crecimiento incremental y pocas dispersiones distintas.
+     */
+    @Test public void testUmbralArbolSinOrden() {
+        int n = 2000;
+        Diccionario<Llave, Integer> d =
+            new Diccionario<Llave, Integer>(l -> l.valor % 3);
+        d.setUmbralArbol(Diccionario.UMBRAL_ARBOL);
+        d.setCrecimientoIncremental(true);
+        for (int i = 0; i < n; i++)
+            d.agrega(new Llave(i), i);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(d.get(new Llave(i)) == i);
+        for (int i = 0; i < n; i += 3)
+            d.elimina(new Llave(i));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(d.contiene(new Llave(i)) == (i % 3 != 0));
+        try {
+            d.elimina(new Llave(0));
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        d.setUmbralArbol(0);
+        for (int i = 1; i < n; i += 3)
+            Assert.assertTrue(d.get(new Llave(i)) == i);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setUmbralArbol} con llaves de
+     * dos clases comparables distintas que caen todas en la misma casilla.
+     */
+    @Test public void testUmbralArbolClasesMezcladas() {
+        int n = 2000;
+        Diccionario<Object, Integer> d =
+            new Diccionario<Object, Integer>(o -> 0);
+        d.setUmbralArbol(Diccionario.UMBRAL_ARBOL);
+        for (int i = 0; i < n; i++) {
+            d.agrega(i, i);
+            d.agrega(String.valueOf(i), -i);
+        }
+        Assert.assertTrue(d.getElementos() == 2 * n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(d.get(i) == i);
+            Assert.assertTrue(d.get(String.valueOf(i)) == -i);
+        }
+        for (int i = 0; i < n; i += 2) {
+            d.elimina(i);
+            d.elimina(String.valueOf(i + 1));
+        }
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(d.contiene(i) == (i % 2 == 1));
+            Assert.assertTrue(d.contiene(String.valueOf(i)) == (i % 2 == 0));
+        }
+        Assert.assertFalse(d.contiene(n));
+        Assert.assertFalse(d.contiene(String.valueOf(n)));
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#get}.
      */
@@ -126,6 +357,56 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#get(Object,Object)}.
+     */
+    @Test public void testGetPorOmision() {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.get(s, "X").equals("X"));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.get(s, "X").equals(s));
+        }
+        Assert.assertTrue(diccionario.get("00000", "X").equals("X"));
+        Assert.assertTrue(diccionario.get("00000", null) == null);
+        try {
+            diccionario.get(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#calcula}.
+     */
+    @Test public void testCalcula() {
+        Diccionario<Integer, Integer> cuentas =
+            new Diccionario<Integer, Integer>();
+        int[] arreglo = new int[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = random.nextInt(10);
+            cuentas.calcula(arreglo[i], (k, v) -> v == null ? 1 : v + 1);
+        }
+        for (int k = 0; k < 10; k++) {
+            int c = 0;
+            for (int i = 0; i < total; i++)
+                if (arreglo[i] == k)
+                    c++;
+            Assert.assertTrue(cuentas.get(k, 0) == c);
+        }
+        int n = cuentas.getElementos();
+        int k = arreglo[0];
+        Assert.assertTrue(cuentas.calcula(k, (l, v) -> null) == null);
+        Assert.assertFalse(cuentas.contiene(k));
+        Assert.assertTrue(cuentas.getElementos() == n - 1);
+        Assert.assertTrue(cuentas.calcula(k, (l, v) -> null) == null);
+        Assert.assertTrue(cuentas.getElementos() == n - 1);
+        try {
+            cuentas.calcula(null, (l, v) -> v);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
@@ -308,6 +589,33 @@ public class TestDiccionario {
         Assert.assertTrue(dicc.toString().equals(s + "}"));
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#escribe}.
+     */
+    @Test public void testEscribe() {
+        Diccionario<Integer, Integer> dicc =
+            new Diccionario<Integer, Integer>();
+        StringWriter salida = new StringWriter();
+        try {
+            dicc.escribe(salida);
+            Assert.assertTrue(salida.toString().equals("{}"));
+            int n = 100000;
+            for (int i = 0; i < n; i++)
+                dicc.agrega(i, i);
+            salida = new StringWriter();
+            dicc.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        String s = salida.toString();
+        Assert.assertTrue(s.equals(dicc.toString()));
+        Assert.assertTrue(s.startsWith("{ '") && s.endsWith("', }"));
+        int entradas = 0;
+        for (int i = s.indexOf("': '"); i != -1; i = s.indexOf("': '", i + 1))
+            entradas++;
+        Assert.assertTrue(entradas == dicc.getElementos());
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#equals}.
      */
@@ -0,0 +1,303 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<String, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioConcurrente<String, String>(total);
+    }
+
+    /* Ejecuta los hilos y espera a que terminen. */
+    private static void ejecuta(Thread[] hilos) {
+        for (Thread h : hilos)
+            h.start();
+        try {
+            for (Thread h : hilos)
+                h.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.getSegmentos() ==
+                          DiccionarioConcurrente.SEGMENTOS);
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        diccionario = new DiccionarioConcurrente<String, String>(total,
+                                                                 s -> 0, 5);
+        Assert.assertTrue(diccionario.getSegmentos() == 8);
+        try {
+            new DiccionarioConcurrente<String, String>(total, s -> 0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega} y {@link
+     * DiccionarioConcurrente#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            diccionario.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega("a", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.get("a");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.get("a", "z").equals("z"));
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.valueOf(i);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.valueOf(i);
+            Assert.assertTrue(diccionario.contiene(s));
+            diccionario.agrega(s, s + "x");
+            Assert.assertTrue(diccionario.get(s).equals(s + "x"));
+        }
+        Assert.assertTrue(diccionario.getElementos() == total * 4);
+        Assert.assertTrue(diccionario.carga() <
+                          DiccionarioConcurrente.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            diccionario.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.elimina("a");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Lista<String> llaves = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(random.nextInt(total * 10));
+            if (!diccionario.contiene(s))
+                llaves.agrega(s);
+            diccionario.agrega(s, s);
+        }
+        int n = llaves.getLongitud();
+        for (String s : llaves) {
+            diccionario.elimina(s);
+            Assert.assertFalse(diccionario.contiene(s));
+            Assert.assertTrue(diccionario.getElementos() == --n);
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina} cuando
+     * todas las llaves colisionan.
+     */
+    @Test public void testEliminaConColisiones() {
+        diccionario = new DiccionarioConcurrente<String, String>(total,
+                                                                 s -> 7);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(diccionario.colisiones() == total - 1);
+        Assert.assertTrue(diccionario.colisionMaxima() == total - 1);
+        for (int i = 0; i < total; i += 2)
+            diccionario.elimina(String.valueOf(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)) ==
+                              (i % 2 == 1));
+        Assert.assertTrue(diccionario.colisiones() ==
+                          diccionario.getElementos() - 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#calcula}.
+     */
+    @Test public void testCalcula() {
+        Assert.assertTrue(diccionario.calcula("a", (k, v) -> null) == null);
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.calcula("a", (k, v) -> "1").equals("1"));
+        Assert.assertTrue(diccionario.calcula("a", (k, v) -> v + "2")
+                          .equals("12"));
+        Assert.assertTrue(diccionario.get("a").equals("12"));
+        Assert.assertTrue(diccionario.calcula("a", (k, v) -> null) == null);
+        Assert.assertFalse(diccionario.contiene("a"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisiones(int)} y
+     * {@link DiccionarioConcurrente#colisionMaxima(int)}.
+     */
+    @Test public void testColisionesPorSegmento() {
+        diccionario = new DiccionarioConcurrente<String, String>(total,
+                                                                 s -> 7);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        int suma = 0, maxima = 0, llenos = 0;
+        for (int i = 0; i < diccionario.getSegmentos(); i++) {
+            suma += diccionario.colisiones(i);
+            maxima = Math.max(maxima, diccionario.colisionMaxima(i));
+            if (diccionario.colisiones(i) > 0)
+                llenos++;
+        }
+        Assert.assertTrue(suma == diccionario.colisiones());
+        Assert.assertTrue(maxima == diccionario.colisionMaxima());
+        Assert.assertTrue(llenos == 1);
+        try {
+            diccionario.colisiones(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            diccionario.colisionMaxima(diccionario.getSegmentos());
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertFalse(diccionario.esVacia());
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega("a", "b");
+        Assert.assertTrue(diccionario.toString().equals("{ 'a': 'b', }"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iteradorLlaves} y
+     * {@link DiccionarioConcurrente#iterator}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Iterator<String> llaves = diccionario.iteradorLlaves();
+        Iterator<String> valores = diccionario.iterator();
+        boolean[] vistos = new boolean[total];
+        int n = 0;
+        while (llaves.hasNext()) {
+            String llave = llaves.next();
+            Assert.assertTrue(llave.equals(valores.next()));
+            int i = Integer.parseInt(llave);
+            Assert.assertFalse(vistos[i]);
+            vistos[i] = true;
+            n++;
+        }
+        Assert.assertFalse(valores.hasNext());
+        Assert.assertTrue(n == total);
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para escrituras concurrentes en {@link
+     * DiccionarioConcurrente}.
+     */
+    @Test public void testEscriturasConcurrentes() {
+        int h = 4, n = total * 64;
+        DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        Thread[] hilos = new Thread[h];
+        for (int i = 0; i < h; i++) {
+            int hilo = i;
+            hilos[i] = new Thread(() -> {
+                    for (int j = hilo; j < n; j += h)
+                        d.agrega(j, j);
+                    for (int j = 0; j < n; j++)
+                        d.calcula(-1, (k, v) -> v == null ? 1 : v + 1);
+                });
+        }
+        ejecuta(hilos);
+        Assert.assertTrue(d.getElementos() == n + 1);
+        for (int j = 0; j < n; j++)
+            Assert.assertTrue(d.get(j) == j);
+        Assert.assertTrue(d.get(-1) == h * n);
+    }
+
+    /**
+     * Prueba unitaria para lecturas concurrentes con escrituras y
+     * crecimientos en {@link DiccionarioConcurrente}.
+     */
+    @Test public void testLecturasConcurrentes() {
+        int n = total * 64;
+        DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        for (int j = 0; j < n; j += 2)
+            d.agrega(j, j);
+        AtomicBoolean error = new AtomicBoolean();
+        Thread[] hilos = new Thread[3];
+        hilos[0] = new Thread(() -> {
+                for (int j = 1; j < n * 4; j += 2)
+                    d.agrega(j, j);
+                for (int j = 1; j < n * 4; j += 2)
+                    d.elimina(j);
+            });
+        for (int i = 1; i < hilos.length; i++)
+            hilos[i] = new Thread(() -> {
+                    for (int r = 0; r < 4; r++)
+                        for (int j = 0; j < n; j += 2)
+                            if (d.get(j, -1) != j)
+                                error.set(true);
+                });
+        ejecuta(hilos);
+        Assert.assertFalse(error.get());
+        Assert.assertTrue(d.getElementos() == n / 2);
+    }
+}
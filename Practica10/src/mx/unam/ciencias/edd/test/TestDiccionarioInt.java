@@ -0,0 +1,212 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioInt;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioInt}.
+ */
+public class TestDiccionarioInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioInt<String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioInt() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioInt<String>(total);
+    }
+
+    /* Regresa un arreglo de llaves distintas y aleatorias, que incluye al
+     * 0. */
+    private int[] llavesDistintas(int n) {
+        int[] llaves = new int[n];
+        DiccionarioInt<String> vistas = new DiccionarioInt<String>();
+        vistas.agrega(0, "");
+        for (int i = 1; i < n; i++) {
+            do {
+                llaves[i] = random.nextInt();
+            } while (vistas.contiene(llaves[i]));
+            vistas.agrega(llaves[i], "");
+        }
+        return llaves;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#DiccionarioInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        Assert.assertTrue(diccionario.llaves().length == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#agrega} y {@link
+     * DiccionarioInt#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.get(0, "z").equals("z"));
+        int[] llaves = llavesDistintas(total * 4);
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.agrega(llaves[i], String.valueOf(llaves[i]));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioInt.MAXIMA_CARGA);
+        }
+        for (int llave : llaves) {
+            Assert.assertTrue(diccionario.contiene(llave));
+            Assert.assertTrue(diccionario.get(llave)
+                              .equals(String.valueOf(llave)));
+            diccionario.agrega(llave, "x");
+            Assert.assertTrue(diccionario.get(llave).equals("x"));
+        }
+        Assert.assertTrue(diccionario.getElementos() == llaves.length);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] llaves = llavesDistintas(total * 2);
+        for (int llave : llaves)
+            diccionario.agrega(llave, String.valueOf(llave));
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.elimina(llaves[i]);
+            Assert.assertFalse(diccionario.contiene(llaves[i]));
+            Assert.assertTrue(diccionario.getElementos() ==
+                              llaves.length - i - 1);
+            for (int j = i + 1; j < llaves.length; j++)
+                Assert.assertTrue(diccionario.get(llaves[j])
+                                  .equals(String.valueOf(llaves[j])));
+        }
+        Assert.assertTrue(diccionario.esVacia());
+        try {
+            diccionario.elimina(llaves[1]);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#elimina} con llaves que
+     * comparten casillas.
+     */
+    @Test public void testEliminaConColisiones() {
+        int n = 128;
+        for (int i = 1; i <= n; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        for (int i = 1; i <= n; i += 2)
+            diccionario.elimina(i);
+        for (int i = 1; i <= n; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i % 2 == 0));
+        for (int i = 2; i <= n; i += 2)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#colisiones} y {@link
+     * DiccionarioInt#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        for (int i = 1; i <= total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        int colisiones = diccionario.colisiones();
+        Assert.assertTrue(colisiones >= 0 && colisiones < total);
+        Assert.assertTrue(diccionario.colisionMaxima() <= colisiones);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int llave : llavesDistintas(total))
+            diccionario.agrega(llave, "a");
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene(0));
+        Assert.assertTrue(diccionario.llaves().length == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#llaves} y {@link
+     * DiccionarioInt#iterator}.
+     */
+    @Test public void testLlavesIterador() {
+        int[] llaves = llavesDistintas(total);
+        for (int llave : llaves)
+            diccionario.agrega(llave, String.valueOf(llave));
+        int[] r = diccionario.llaves();
+        Assert.assertTrue(r.length == llaves.length);
+        Iterator<String> iterador = diccionario.iterator();
+        for (int llave : r) {
+            Assert.assertTrue(diccionario.contiene(llave));
+            Assert.assertTrue(iterador.next().equals(String.valueOf(llave)));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(7, "a");
+        Assert.assertTrue(diccionario.toString().equals("{ '7': 'a', }"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioInt<String> otro = new DiccionarioInt<String>();
+        Assert.assertFalse(diccionario.equals(null));
+        Assert.assertTrue(diccionario.equals(otro));
+        int[] llaves = llavesDistintas(total);
+        for (int llave : llaves) {
+            diccionario.agrega(llave, String.valueOf(llave));
+            otro.agrega(llave, String.valueOf(llave));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.agrega(llaves[1], "x");
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.elimina(llaves[1]);
+        Assert.assertFalse(diccionario.equals(otro));
+    }
+}
@@ -0,0 +1,172 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioIntInt;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioIntInt}.
+ */
+public class TestDiccionarioIntInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioIntInt diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioIntInt() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioIntInt(total);
+    }
+
+    /* Regresa un arreglo de llaves distintas y aleatorias, que incluye al
+     * 0. */
+    private int[] llavesDistintas(int n) {
+        int[] llaves = new int[n];
+        DiccionarioIntInt vistas = new DiccionarioIntInt();
+        vistas.agrega(0, 0);
+        for (int i = 1; i < n; i++) {
+            do {
+                llaves[i] = random.nextInt();
+            } while (vistas.contiene(llaves[i]));
+            vistas.agrega(llaves[i], 0);
+        }
+        return llaves;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#DiccionarioIntInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.llaves().length == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#agrega} y {@link
+     * DiccionarioIntInt#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.get(0, -1) == -1);
+        int[] llaves = llavesDistintas(total * 4);
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.agrega(llaves[i], i);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioIntInt.MAXIMA_CARGA);
+        }
+        for (int i = 0; i < llaves.length; i++) {
+            Assert.assertTrue(diccionario.contiene(llaves[i]));
+            Assert.assertTrue(diccionario.get(llaves[i]) == i);
+            diccionario.agrega(llaves[i], -i);
+            Assert.assertTrue(diccionario.get(llaves[i], 1) == -i);
+        }
+        Assert.assertTrue(diccionario.getElementos() == llaves.length);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#incrementa}.
+     */
+    @Test public void testIncrementa() {
+        int[] llaves = llavesDistintas(total);
+        for (int r = 1; r <= 3; r++)
+            for (int llave : llaves)
+                Assert.assertTrue(diccionario.incrementa(llave, 2) == 2 * r);
+        Assert.assertTrue(diccionario.getElementos() == llaves.length);
+        for (int llave : llaves)
+            Assert.assertTrue(diccionario.get(llave) == 6);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] llaves = llavesDistintas(total * 2);
+        for (int llave : llaves)
+            diccionario.agrega(llave, llave);
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.elimina(llaves[i]);
+            Assert.assertFalse(diccionario.contiene(llaves[i]));
+            Assert.assertTrue(diccionario.getElementos() ==
+                              llaves.length - i - 1);
+            for (int j = i + 1; j < llaves.length; j++)
+                Assert.assertTrue(diccionario.get(llaves[j]) == llaves[j]);
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int llave : llavesDistintas(total))
+            diccionario.agrega(llave, 1);
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene(0));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#llaves}.
+     */
+    @Test public void testLlaves() {
+        int[] llaves = llavesDistintas(total);
+        for (int llave : llaves)
+            diccionario.agrega(llave, llave);
+        int[] r = diccionario.llaves();
+        Assert.assertTrue(r.length == llaves.length);
+        for (int llave : r)
+            Assert.assertTrue(diccionario.get(llave) == llave);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(7, 3);
+        Assert.assertTrue(diccionario.toString().equals("{ '7': '3', }"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioIntInt#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioIntInt otro = new DiccionarioIntInt();
+        Assert.assertFalse(diccionario.equals(null));
+        Assert.assertTrue(diccionario.equals(otro));
+        int[] llaves = llavesDistintas(total);
+        for (int llave : llaves) {
+            diccionario.agrega(llave, llave);
+            otro.agrega(llave, llave);
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.incrementa(llaves[1], 1);
+        Assert.assertFalse(diccionario.equals(otro));
+    }
+}
@@ -0,0 +1,226 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioLong;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioLong}.
+ */
+public class TestDiccionarioLong {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioLong<String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioLong() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioLong<String>(total);
+    }
+
+    /* Regresa un arreglo de llaves distintas y aleatorias, que incluye al
+     * 0. */
+    private long[] llavesDistintas(int n) {
+        long[] llaves = new long[n];
+        DiccionarioLong<String> vistas = new DiccionarioLong<String>();
+        vistas.agrega(0, "");
+        for (int i = 1; i < n; i++) {
+            do {
+                llaves[i] = random.nextLong();
+            } while (vistas.contiene(llaves[i]));
+            vistas.agrega(llaves[i], "");
+        }
+        return llaves;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#DiccionarioLong}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        Assert.assertTrue(diccionario.llaves().length == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#agrega} y {@link
+     * DiccionarioLong#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.get(0, "z").equals("z"));
+        long[] llaves = llavesDistintas(total * 4);
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.agrega(llaves[i], String.valueOf(llaves[i]));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioLong.MAXIMA_CARGA);
+        }
+        for (long llave : llaves) {
+            Assert.assertTrue(diccionario.contiene(llave));
+            Assert.assertTrue(diccionario.get(llave)
+                              .equals(String.valueOf(llave)));
+            diccionario.agrega(llave, "x");
+            Assert.assertTrue(diccionario.get(llave).equals("x"));
+        }
+        Assert.assertTrue(diccionario.getElementos() == llaves.length);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        long[] llaves = llavesDistintas(total * 2);
+        for (long llave : llaves)
+            diccionario.agrega(llave, String.valueOf(llave));
+        for (int i = 0; i < llaves.length; i++) {
+            diccionario.elimina(llaves[i]);
+            Assert.assertFalse(diccionario.contiene(llaves[i]));
+            Assert.assertTrue(diccionario.getElementos() ==
+                              llaves.length - i - 1);
+            for (int j = i + 1; j < llaves.length; j++)
+                Assert.assertTrue(diccionario.get(llaves[j])
+                                  .equals(String.valueOf(llaves[j])));
+        }
+        Assert.assertTrue(diccionario.esVacia());
+        try {
+            diccionario.elimina(llaves[1]);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#elimina} con llaves que
+     * comparten casillas.
+     */
+    @Test public void testEliminaConColisiones() {
+        int n = 128;
+        for (long i = 1; i <= n; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        for (long i = 1; i <= n; i += 2)
+            diccionario.elimina(i);
+        for (long i = 1; i <= n; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i % 2 == 0));
+        for (long i = 2; i <= n; i += 2)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#colisiones} y {@link
+     * DiccionarioLong#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        for (long i = 1; i <= total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        int colisiones = diccionario.colisiones();
+        Assert.assertTrue(colisiones >= 0 && colisiones < total);
+        Assert.assertTrue(diccionario.colisionMaxima() <= colisiones);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (long llave : llavesDistintas(total))
+            diccionario.agrega(llave, "a");
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene(0));
+        Assert.assertTrue(diccionario.llaves().length == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#llaves} y {@link
+     * DiccionarioLong#iterator}.
+     */
+    @Test public void testLlavesIterador() {
+        long[] llaves = llavesDistintas(total);
+        for (long llave : llaves)
+            diccionario.agrega(llave, String.valueOf(llave));
+        long[] r = diccionario.llaves();
+        Assert.assertTrue(r.length == llaves.length);
+        Iterator<String> iterador = diccionario.iterator();
+        for (long llave : r) {
+            Assert.assertTrue(diccionario.contiene(llave));
+            Assert.assertTrue(iterador.next().equals(String.valueOf(llave)));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(7, "a");
+        Assert.assertTrue(diccionario.toString().equals("{ '7': 'a', }"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioLong<String> otro = new DiccionarioLong<String>();
+        Assert.assertFalse(diccionario.equals(null));
+        Assert.assertTrue(diccionario.equals(otro));
+        long[] llaves = llavesDistintas(total);
+        for (long llave : llaves) {
+            diccionario.agrega(llave, String.valueOf(llave));
+            otro.agrega(llave, String.valueOf(llave));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.agrega(llaves[1], "x");
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.elimina(llaves[1]);
+        Assert.assertFalse(diccionario.equals(otro));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLong#agrega} con llaves que sólo
+     * difieren en sus 32 bits altos.
+     */
+    @Test public void testLlavesLargas() {
+        for (long i = 0; i < total; i++)
+            diccionario.agrega(i << 32, String.valueOf(i));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (long i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(i << 32)
+                              .equals(String.valueOf(i)));
+        Assert.assertFalse(diccionario.contiene(1L));
+    }
+}
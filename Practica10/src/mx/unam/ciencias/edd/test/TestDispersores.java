@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
@@ -118,9 +120,14 @@ public class TestDispersores {
 
     /* Regresa un subarreglo del arreglo. */
     private byte[] subArreglo(int n) {
+        return subArreglo(0, n);
+    }
+
+    /* Regresa un subarreglo del arreglo a partir de un índice. */
+    private byte[] subArreglo(int inicio, int n) {
         byte[] sub = new byte[n];
         for (int i = 0; i < n; i++)
-            sub[i] = ARREGLO[i];
+            sub[i] = ARREGLO[inicio + i];
         return sub;
     }
 
@@ -156,4 +163,241 @@ public class TestDispersores {
             Assert.assertTrue(RESULTADOS_DJB[i-1] == r);
         }
     }
+
+    /* Cadenas con caracteres de uno, dos, tres y cuatro bytes en UTF-8, y
+     * con sustitutos sin pareja. */
+    private static final String[] CADENAS = {
+        "", "a", "yucatán", "característicamente", "\u20ac\u20ac\u20ac",
+        "\ud83d\ude00 \ud83d\ude01!", "x\ud83dy", "\ude00", "abc\ud83d",
+        "zurciéndoselo\u4e2d\u6587\ud800\udc00"
+    };
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR(byte[],int,int)},
+     * {@link Dispersores#dispersaBJ(byte[],int,int)} y {@link
+     * Dispersores#dispersaDJB(byte[],int,int)}.
+     */
+    @Test public void testDispersaSegmento() {
+        for (int i = 1; i < ARREGLO.length; i++) {
+            int inicio = ARREGLO.length - i;
+            byte[] sub = new byte[i];
+            System.arraycopy(ARREGLO, inicio, sub, 0, i);
+            Assert.assertTrue(Dispersores.dispersaXOR(ARREGLO, inicio, i) ==
+                              Dispersores.dispersaXOR(sub));
+            Assert.assertTrue(Dispersores.dispersaBJ(ARREGLO, inicio, i) ==
+                              Dispersores.dispersaBJ(sub));
+            Assert.assertTrue(Dispersores.dispersaDJB(ARREGLO, inicio, i) ==
+                              Dispersores.dispersaDJB(sub));
+            Assert.assertTrue(Dispersores.dispersaBJ(ARREGLO, 0, i) ==
+                              RESULTADOS_BJ[i-1]);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR(ByteBuffer)},
+     * {@link Dispersores#dispersaBJ(ByteBuffer)} y {@link
+     * Dispersores#dispersaDJB(ByteBuffer)}, con buffers en el montón y
+     * directos.
+     */
+    @Test public void testDispersaBuffer() {
+        ByteBuffer directo = ByteBuffer.allocateDirect(ARREGLO.length + 3);
+        directo.put(new byte[3]).put(ARREGLO);
+        ByteBuffer monton = ByteBuffer.wrap(ARREGLO);
+        for (int i = 1; i < ARREGLO.length; i++) {
+            for (ByteBuffer b : new ByteBuffer[] { directo, monton }) {
+                int corrimiento = b == directo ? 3 : 0;
+                b.limit(corrimiento + i).position(corrimiento);
+                Assert.assertTrue(Dispersores.dispersaXOR(b) ==
+                                  RESULTADOS_XOR[i-1]);
+                Assert.assertTrue(Dispersores.dispersaBJ(b) ==
+                                  RESULTADOS_BJ[i-1]);
+                Assert.assertTrue(Dispersores.dispersaDJB(b) ==
+                                  RESULTADOS_DJB[i-1]);
+                Assert.assertTrue(b.position() == corrimiento);
+            }
+        }
+        ByteBuffer rebanada = ByteBuffer.wrap(ARREGLO, 5, 20).slice();
+        byte[] sub = new byte[20];
+        System.arraycopy(ARREGLO, 5, sub, 0, 20);
+        Assert.assertTrue(Dispersores.dispersaBJ(rebanada) ==
+                          Dispersores.dispersaBJ(sub));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR(CharSequence)},
+     * {@link Dispersores#dispersaBJ(CharSequence)} y {@link
+     * Dispersores#dispersaDJB(CharSequence)}.
+     */
+    @Test public void testDispersaCadena() {
+        for (String c : CADENAS) {
+            byte[] b = c.getBytes(StandardCharsets.UTF_8);
+            StringBuilder sb = new StringBuilder(c);
+            Assert.assertTrue(Dispersores.dispersaXOR(c) ==
+                              Dispersores.dispersaXOR(b));
+            Assert.assertTrue(Dispersores.dispersaBJ(c) ==
+                              Dispersores.dispersaBJ(b));
+            Assert.assertTrue(Dispersores.dispersaDJB(c) ==
+                              Dispersores.dispersaDJB(b));
+            Assert.assertTrue(Dispersores.dispersaBJ(sb) ==
+                              Dispersores.dispersaBJ(b));
+        }
+        Random random = new Random();
+        for (int i = 0; i < 100; i++) {
+            StringBuilder sb = new StringBuilder();
+            int n = random.nextInt(40);
+            for (int j = 0; j < n; j++)
+                sb.append((char)random.nextInt(Character.MAX_VALUE + 1));
+            byte[] b = sb.toString().getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(Dispersores.dispersaXOR(sb) ==
+                              Dispersores.dispersaXOR(b));
+            Assert.assertTrue(Dispersores.dispersaBJ(sb) ==
+                              Dispersores.dispersaBJ(b));
+            Assert.assertTrue(Dispersores.dispersaDJB(sb) ==
+                              Dispersores.dispersaDJB(b));
+        }
+    }
+
+    /* Regresa los bytes en UTF-8 de una cadena. */
+    private static byte[] utf8(String cadena) {
+        return cadena.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* Frase de prueba para los vectores de referencia. */
+    private static final String ZORRO =
+        "The quick brown fox jumps over the lazy dog";
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        Assert.assertTrue(Dispersores.dispersaMurmur3(utf8("")) == 0);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[0], 0, 0, 1) ==
+                          0x514e28b7);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[4]) ==
+                          0x2362f9de);
+        int s = 0x9747b28c;
+        Assert.assertTrue(Dispersores.dispersaMurmur3(utf8("abc"), 0, 3, s) ==
+                          0xc84a62dd);
+        byte[] b = utf8(ZORRO);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(b, 0, b.length, s) ==
+                          0x2fa826cd);
+        for (int i = 1; i < ARREGLO.length - 5; i++)
+            Assert.assertTrue(Dispersores.dispersaMurmur3(ARREGLO, 5, i, 0) ==
+                              Dispersores.dispersaMurmur3(subArreglo(5, i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXX32}.
+     */
+    @Test public void testDispersaXX32() {
+        Assert.assertTrue(Dispersores.dispersaXX32(utf8("")) == 0x02cc5d05);
+        Assert.assertTrue(Dispersores.dispersaXX32(utf8("a")) == 0x550d7456);
+        Assert.assertTrue(Dispersores.dispersaXX32(utf8("abc")) == 0x32d153ff);
+        Assert.assertTrue(Dispersores.dispersaXX32(utf8(ZORRO)) == 0xe85ea4de);
+        for (int i = 1; i < ARREGLO.length - 5; i++)
+            Assert.assertTrue(Dispersores.dispersaXX32(ARREGLO, 5, i, 0) ==
+                              Dispersores.dispersaXX32(subArreglo(5, i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXX64}.
+     */
+    @Test public void testDispersaXX64() {
+        Assert.assertTrue(Dispersores.dispersaXX64(utf8("")) ==
+                          0xef46db3751d8e999L);
+        Assert.assertTrue(Dispersores.dispersaXX64(utf8("a")) ==
+                          0xd24ec4f1a98c6e5bL);
+        Assert.assertTrue(Dispersores.dispersaXX64(utf8("abc")) ==
+                          0x44bc2cf5ad770999L);
+        Assert.assertTrue(Dispersores.dispersaXX64(utf8(ZORRO)) ==
+                          0x0b242d361fda71bcL);
+        for (int i = 1; i < ARREGLO.length - 5; i++)
+            Assert.assertTrue(Dispersores.dispersaXX64(ARREGLO, 5, i, 0) ==
+                              Dispersores.dispersaXX64(subArreglo(5, i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaWy}.
+     */
+    @Test public void testDispersaWy() {
+        long[] vistas = new long[ARREGLO.length];
+        for (int i = 0; i < ARREGLO.length - 5; i++) {
+            long h = Dispersores.dispersaWy(ARREGLO, 5, i, 0);
+            Assert.assertTrue(h == Dispersores.dispersaWy(subArreglo(5, i)));
+            Assert.assertTrue(h != Dispersores.dispersaWy(ARREGLO, 5, i, 1));
+            for (int j = 0; j < i; j++)
+                Assert.assertTrue(vistas[j] != h);
+            vistas[i] = h;
+        }
+        byte[] a = utf8("abcdefgh"), b = utf8("abcdefgi");
+        Assert.assertTrue(Dispersores.dispersaWy(a) !=
+                          Dispersores.dispersaWy(b));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaSip24} con los
+     * vectores de referencia de SipHash, y para {@link
+     * Dispersores#dispersaSip13}.
+     */
+    @Test public void testDispersaSip() {
+        long k0 = 0x0706050403020100L, k1 = 0x0f0e0d0c0b0a0908L;
+        byte[] m = new byte[15];
+        for (int i = 0; i < m.length; i++)
+            m[i] = (byte)i;
+        Assert.assertTrue(Dispersores.dispersaSip24(m, 0, 0, k0, k1) ==
+                          0x726fdb47dd0e0e31L);
+        Assert.assertTrue(Dispersores.dispersaSip24(m, 0, 1, k0, k1) ==
+                          0x74f839c593dc67fdL);
+        Assert.assertTrue(Dispersores.dispersaSip24(m, 0, 15, k0, k1) ==
+                          0xa129ca6149be45e5L);
+        for (int i = 0; i < ARREGLO.length - 5; i++) {
+            long h = Dispersores.dispersaSip13(ARREGLO, 5, i, k0, k1);
+            Assert.assertTrue(h == Dispersores.dispersaSip13(subArreglo(5, i),
+                                                             0, i, k0, k1));
+            Assert.assertTrue(h != Dispersores.dispersaSip13(ARREGLO, 5, i,
+                                                             k0, k1 + 1));
+            Assert.assertTrue(h != Dispersores.dispersaSip24(ARREGLO, 5, i,
+                                                             k0, k1));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaInt}.
+     */
+    @Test public void testDispersaInt() {
+        Assert.assertTrue(Dispersores.dispersaInt(0) == 0);
+        Assert.assertTrue(Dispersores.dispersaInt(1) == 0x9e37e78e);
+        Assert.assertTrue(Dispersores.dispersaInt(-1) == 0x61c8e78f);
+        Assert.assertTrue(Dispersores.dispersaInt(Integer.MIN_VALUE) ==
+                          0x80008000);
+        int n = 1024, llenas = 0;
+        boolean[] casillas = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int c = Dispersores.dispersaInt(i * n) & (n - 1);
+            if (!casillas[c])
+                llenas++;
+            casillas[c] = true;
+        }
+        Assert.assertTrue(llenas > n / 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaLong}.
+     */
+    @Test public void testDispersaLong() {
+        int n = 1024, llenas = 0;
+        boolean[] casillas = new boolean[n];
+        for (long i = 0; i < n; i++) {
+            int c = Dispersores.dispersaLong(i << 32) & (n - 1);
+            if (!casillas[c])
+                llenas++;
+            casillas[c] = true;
+        }
+        Assert.assertTrue(llenas > n / 2);
+        Assert.assertTrue(Dispersores.dispersaLong(0L) == 0);
+        Assert.assertTrue(Dispersores.dispersaLong(1L) == 0xe17de4d1);
+        Assert.assertTrue(Dispersores.dispersaLong(-1L) == 0xe17de4d0);
+        Assert.assertTrue(Dispersores.dispersaLong(Long.MIN_VALUE) ==
+                          0x80008000);
+    }
 }
@@ -1,9 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.FabricaDispersores;
 import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -115,4 +117,84 @@ public class TestFabricaDispersores {
         for (String mensaje : MENSAJES)
             Assert.assertTrue(djb.dispersa(mensaje) == DISPERSORES_DJB[i++]);
     }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con los
+     * algoritmos MurmurHash3, xxHash32, xxHash64 y al estilo de wyhash.
+     */
+    @Test public void testDispersorCadenaModernos() {
+        Dispersor<String> m3 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.MURMUR3_STRING);
+        Dispersor<String> xx32 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.XXHASH32_STRING);
+        Dispersor<String> xx64 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.XXHASH64_STRING);
+        Dispersor<String> wy = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.WYHASH_STRING);
+        StringBuilder larga = new StringBuilder();
+        for (String mensaje : MENSAJES)
+            larga.append(mensaje);
+        String[] cadenas = new String[MENSAJES.length + 1];
+        System.arraycopy(MENSAJES, 0, cadenas, 0, MENSAJES.length);
+        cadenas[MENSAJES.length] = larga.toString();
+        for (String c : cadenas) {
+            byte[] b = c.getBytes(StandardCharsets.UTF_8);
+            long h64 = Dispersores.dispersaXX64(b);
+            long hwy = Dispersores.dispersaWy(b);
+            Assert.assertTrue(m3.dispersa(c) ==
+                              Dispersores.dispersaMurmur3(b));
+            Assert.assertTrue(xx32.dispersa(c) == Dispersores.dispersaXX32(b));
+            Assert.assertTrue(xx64.dispersa(c) == (int)(h64 ^ (h64 >>> 32)));
+            Assert.assertTrue(wy.dispersa(c) == (int)(hwy ^ (hwy >>> 32)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * semilla, y para {@link FabricaDispersores#dispersorCadenaAleatorio}.
+     */
+    @Test public void testDispersorCadenaConSemilla() {
+        AlgoritmoDispersor[] conSemilla = {
+            AlgoritmoDispersor.MURMUR3_STRING,
+            AlgoritmoDispersor.XXHASH32_STRING,
+            AlgoritmoDispersor.XXHASH64_STRING,
+            AlgoritmoDispersor.WYHASH_STRING,
+            AlgoritmoDispersor.SIPHASH_STRING
+        };
+        Random random = new Random();
+        for (AlgoritmoDispersor a : conSemilla) {
+            long s = random.nextLong();
+            Dispersor<String> d1 = FabricaDispersores.dispersorCadena(a, s);
+            Dispersor<String> d2 = FabricaDispersores.dispersorCadena(a, s);
+            Dispersor<String> d3 = FabricaDispersores.dispersorCadena(a, s+1);
+            Dispersor<String> r1 =
+                FabricaDispersores.dispersorCadenaAleatorio(a);
+            Dispersor<String> r2 =
+                FabricaDispersores.dispersorCadenaAleatorio(a);
+            int distintas = 0, aleatorias = 0;
+            for (String mensaje : MENSAJES) {
+                Assert.assertTrue(d1.dispersa(mensaje) ==
+                                  d2.dispersa(mensaje));
+                Assert.assertTrue(r1.dispersa(mensaje) ==
+                                  r1.dispersa(mensaje));
+                if (d1.dispersa(mensaje) != d3.dispersa(mensaje))
+                    distintas++;
+                if (r1.dispersa(mensaje) != r2.dispersa(mensaje))
+                    aleatorias++;
+            }
+            Assert.assertTrue(distintas > MENSAJES.length / 2);
+            Assert.assertTrue(aleatorias > MENSAJES.length / 2);
+        }
+        AlgoritmoDispersor[] sinSemilla = {
+            AlgoritmoDispersor.XOR_STRING,
+            AlgoritmoDispersor.BJ_STRING,
+            AlgoritmoDispersor.DJB_STRING
+        };
+        for (AlgoritmoDispersor a : sinSemilla) {
+            try {
+                FabricaDispersores.dispersorCadena(a, 1L);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
 }
@@ -0,0 +1,386 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaArreglo}.
+ */
+public class TestListaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La lista. */
+    private ListaArreglo<Integer> lista;
+
+    /* Valida que la lista tenga los mismos elementos que la lista de
+     * control, en el mismo orden, recorriéndola en ambas direcciones. */
+    private void listaValida(ListaArreglo<Integer> lista,
+                             Lista<Integer> control) {
+        Assert.assertTrue(lista.getLongitud() == control.getLongitud());
+        Assert.assertTrue(lista.esVacia() == control.esVacia());
+        IteradorLista<Integer> i = lista.iteradorLista();
+        IteradorLista<Integer> c = control.iteradorLista();
+        while (c.hasNext())
+            Assert.assertTrue(i.next().equals(c.next()));
+        Assert.assertFalse(i.hasNext());
+        while (c.hasPrevious())
+            Assert.assertTrue(i.previous().equals(c.previous()));
+        Assert.assertFalse(i.hasPrevious());
+        for (int k = 0; k < lista.getLongitud(); k++)
+            Assert.assertTrue(lista.get(k).equals(control.get(k)));
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestra lista, y una lista.
+     */
+    public TestListaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#ListaArreglo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Assert.assertTrue(lista.getElementos() == 0);
+        Assert.assertFalse(lista.iterator().hasNext());
+        lista = new ListaArreglo<Integer>(total);
+        Assert.assertTrue(lista.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#agrega}, {@link
+     * ListaArreglo#agregaFinal} y {@link ListaArreglo#agregaInicio}.
+     */
+    @Test public void testAgrega() {
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.agregaInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total * 4; i++) {
+            int e = random.nextInt(total);
+            if (random.nextBoolean()) {
+                lista.agregaInicio(e);
+                control.agregaInicio(e);
+            } else {
+                lista.agregaFinal(e);
+                control.agregaFinal(e);
+            }
+            Assert.assertTrue(lista.getPrimero().equals(control.getPrimero()));
+            Assert.assertTrue(lista.getUltimo().equals(control.getUltimo()));
+        }
+        listaValida(lista, control);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#inserta}.
+     */
+    @Test public void testInserta() {
+        try {
+            lista.inserta(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total * 4; i++) {
+            int e = random.nextInt(total);
+            int k = random.nextInt(control.getLongitud() + 3) - 1;
+            lista.inserta(k, e);
+            control.inserta(k, e);
+        }
+        listaValida(lista, control);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#elimina}.
+     */
+    @Test public void testElimina() {
+        Lista<Integer> control = new Lista<Integer>();
+        lista.elimina(0);
+        Assert.assertTrue(lista.esVacia());
+        for (int i = 0; i < total * 2; i++) {
+            int e = random.nextInt(total);
+            lista.agregaInicio(e);
+            control.agregaInicio(e);
+        }
+        while (!control.esVacia()) {
+            int e = random.nextInt(total);
+            lista.elimina(e);
+            control.elimina(e);
+            listaValida(lista, control);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#eliminaTodos} y {@link
+     * ListaArreglo#retiene}.
+     */
+    @Test public void testEliminaTodosRetiene() {
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total * 4; i++) {
+            int e = random.nextInt(total);
+            if (random.nextBoolean()) {
+                lista.agregaInicio(e);
+                control.agregaInicio(e);
+            } else {
+                lista.agregaFinal(e);
+                control.agregaFinal(e);
+            }
+        }
+        int m = 2 + random.nextInt(3);
+        Assert.assertTrue(lista.eliminaTodos(e -> e % m == 0) ==
+                          control.eliminaTodos(e -> e % m == 0));
+        listaValida(lista, control);
+        Assert.assertTrue(lista.retiene(e -> e % 2 == 0) ==
+                          control.retiene(e -> e % 2 == 0));
+        listaValida(lista, control);
+        lista.agregaInicio(-1);
+        control.agregaInicio(-1);
+        listaValida(lista, control);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#eliminaPrimero} y {@link
+     * ListaArreglo#eliminaUltimo}.
+     */
+    @Test public void testEliminaExtremos() {
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Lista<Integer> control = new Lista<Integer>();
+        for (int r = 0; r < total * 8; r++) {
+            if (control.esVacia() || random.nextInt(3) > 0) {
+                lista.agregaInicio(r);
+                control.agregaInicio(r);
+                lista.agregaFinal(-r);
+                control.agregaFinal(-r);
+            } else if (random.nextBoolean()) {
+                Assert.assertTrue(lista.eliminaPrimero()
+                                  .equals(control.eliminaPrimero()));
+            } else {
+                Assert.assertTrue(lista.eliminaUltimo()
+                                  .equals(control.eliminaUltimo()));
+            }
+        }
+        listaValida(lista, control);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#contiene} y {@link
+     * ListaArreglo#indiceDe}.
+     */
+    @Test public void testContieneIndiceDe() {
+        for (int i = 0; i < total; i++) {
+            lista.agregaInicio(2 * i);
+            Assert.assertTrue(lista.contiene(2 * i));
+            Assert.assertFalse(lista.contiene(2 * i + 1));
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.indiceDe(2 * i) == total - 1 - i);
+        Assert.assertTrue(lista.indiceDe(-1) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#get}.
+     */
+    @Test public void testGet() {
+        try {
+            lista.get(0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == total - 1 - i);
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#reversa} y {@link
+     * ListaArreglo#copia}.
+     */
+    @Test public void testReversaCopia() {
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total);
+            lista.agregaInicio(e);
+            control.agregaInicio(e);
+        }
+        ListaArreglo<Integer> copia = lista.copia();
+        Assert.assertFalse(copia == lista);
+        listaValida(copia, control);
+        listaValida(lista.reversa(), control.reversa());
+        copia.agrega(-1);
+        listaValida(lista, control);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        lista.limpia();
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertFalse(lista.contiene(0));
+        try {
+            lista.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        lista.agrega(total);
+        Assert.assertTrue(lista.getUltimo() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#toString}.
+     */
+    @Test public void testToString() {
+        Lista<Integer> control = new Lista<Integer>();
+        Assert.assertTrue(lista.toString().equals(control.toString()));
+        for (int i = 0; i < total; i++) {
+            lista.agregaInicio(i);
+            control.agregaInicio(i);
+        }
+        Assert.assertTrue(lista.toString().equals(control.toString()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#escribe}.
+     */
+    @Test public void testEscribe() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        StringWriter salida = new StringWriter();
+        try {
+            lista.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        Assert.assertTrue(salida.toString().equals(lista.toString()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#mergeSort}, {@link
+     * ListaArreglo#ordena} y {@link ListaArreglo#merge}.
+     */
+    @Test public void testMergeSort() {
+        Lista<Integer> control = new Lista<Integer>();
+        for (int i = 0; i < total * 4; i++) {
+            int e = random.nextInt(total);
+            lista.agregaInicio(e);
+            control.agregaInicio(e);
+        }
+        ListaArreglo<Integer> ordenada = ListaArreglo.mergeSort(lista);
+        listaValida(ordenada, Lista.mergeSort(control));
+        listaValida(lista, control);
+        lista.ordena((a, b) -> b - a);
+        control.ordena((a, b) -> b - a);
+        listaValida(lista, control);
+        lista.agregaInicio(total);
+        Assert.assertTrue(lista.getPrimero() == total);
+        ListaArreglo<Integer> otra = new ListaArreglo<Integer>();
+        for (int i = 0; i < total; i++)
+            otra.agrega(2 * i);
+        ListaArreglo<Integer> mezcla =
+            ListaArreglo.merge(ordenada, otra, (a, b) -> a - b);
+        Assert.assertTrue(mezcla.getLongitud() ==
+                          ordenada.getLongitud() + total);
+        for (int i = 1; i < mezcla.getLongitud(); i++)
+            Assert.assertTrue(mezcla.get(i - 1) <= mezcla.get(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#busquedaLineal}.
+     */
+    @Test public void testBusquedaLineal() {
+        for (int i = 0; i < total; i++)
+            lista.agrega(2 * i);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(ListaArreglo.busquedaLineal(lista, 2 * i));
+            Assert.assertFalse(ListaArreglo.busquedaLineal(lista, 2 * i + 1));
+        }
+        Assert.assertFalse(lista.busquedaLineal(-1, (a, b) -> a - b));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        ListaArreglo<Integer> otra = new ListaArreglo<Integer>();
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertTrue(lista.equals(otra));
+        for (int i = 0; i < total; i++) {
+            lista.agregaFinal(i);
+            otra.agregaInicio(total - 1 - i);
+        }
+        Assert.assertTrue(lista.equals(otra));
+        otra.eliminaUltimo();
+        Assert.assertFalse(lista.equals(otra));
+        otra.agregaFinal(-1);
+        Assert.assertFalse(lista.equals(otra));
+        Assert.assertFalse(lista.equals(new Lista<Integer>()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#iterator} y {@link
+     * ListaArreglo#iteradorLista}.
+     */
+    @Test public void testIteradores() {
+        Iterator<Integer> iterador = lista.iterator();
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        IteradorLista<Integer> i = lista.iteradorLista();
+        try {
+            i.previous();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        i.end();
+        for (int k = 0; k < total; k++)
+            Assert.assertTrue(i.previous() == k);
+        Assert.assertFalse(i.hasPrevious());
+        i.end();
+        i.start();
+        Assert.assertTrue(i.next() == total - 1);
+    }
+}
@@ -0,0 +1,377 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaOrdenada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaOrdenada}.
+ */
+public class TestListaOrdenada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La lista. */
+    private ListaOrdenada<Integer> lista;
+
+    /* Clase para probar elementos iguales según compareTo pero distintos
+     * según equals. */
+    private class Par implements Comparable<Par> {
+
+        /* Valor del par.*/
+        private int valor;
+        /* Etiqueta del par.*/
+        private int etiqueta;
+
+        /* Constructor. */
+        public Par(int valor, int etiqueta) {
+            this.valor = valor;
+            this.etiqueta = etiqueta;
+        }
+
+        /* Compara dos pares por valor. */
+        @Override public int compareTo(Par par) {
+            return valor - par.valor;
+        }
+
+        /* Dos pares son iguales si tienen el mismo valor y etiqueta. */
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Par))
+                return false;
+            Par par = (Par)o;
+            return valor == par.valor && etiqueta == par.etiqueta;
+        }
+    }
+
+    /* Valida que la lista tenga los elementos del arreglo ordenado. */
+    private void listaValida(ListaOrdenada<Integer> lista, int[] arreglo,
+                             int n) {
+        int[] a = Arrays.copyOf(arreglo, n);
+        Arrays.sort(a);
+        Assert.assertTrue(lista.getElementos() == n);
+        Assert.assertTrue(lista.esVacia() == (n == 0));
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == a[i++]);
+        Assert.assertTrue(i == n);
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestra lista, y una lista.
+     */
+    public TestListaOrdenada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaOrdenada<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#ListaOrdenada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.getElementos() == 0);
+        Assert.assertFalse(lista.iterator().hasNext());
+        Lista<Integer> l = new Lista<Integer>();
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            l.agrega(a[i]);
+        }
+        listaValida(new ListaOrdenada<Integer>(l), a, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int[] a = new int[total * 4];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(total);
+            lista.agrega(a[i]);
+            Assert.assertTrue(lista.getElementos() == i + 1);
+        }
+        listaValida(lista, a, a.length);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#agrega} con elementos que se
+     * comparan iguales.
+     */
+    @Test public void testAgregaEstable() {
+        ListaOrdenada<Par> pares = new ListaOrdenada<Par>();
+        int m = 2 + random.nextInt(5);
+        for (int i = 0; i < total; i++)
+            pares.agrega(new Par(random.nextInt(m), i));
+        Par u = null;
+        for (Par p : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.valor <= p.valor);
+                if (u.valor == p.valor)
+                    Assert.assertTrue(u.etiqueta < p.etiqueta);
+            }
+            u = p;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#elimina}.
+     */
+    @Test public void testElimina() {
+        lista.elimina(null);
+        lista.elimina(0);
+        Assert.assertTrue(lista.esVacia());
+        int[] a = new int[total * 2];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(total);
+            lista.agrega(a[i]);
+        }
+        int n = a.length;
+        while (n > 0) {
+            int i = random.nextInt(n);
+            lista.elimina(a[i]);
+            a[i] = a[--n];
+            listaValida(lista, a, n);
+            lista.elimina(-1);
+            Assert.assertTrue(lista.getElementos() == n);
+        }
+        lista.agrega(total);
+        Assert.assertTrue(lista.getPrimero() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#elimina} y {@link
+     * ListaOrdenada#contiene} con elementos que se comparan iguales pero no
+     * son iguales.
+     */
+    @Test public void testEliminaIguales() {
+        ListaOrdenada<Par> pares = new ListaOrdenada<Par>();
+        for (int i = 0; i < total; i++)
+            pares.agrega(new Par(i % 3, i));
+        for (int i = total - 1; i >= 0; i -= 2) {
+            Assert.assertTrue(pares.contiene(new Par(i % 3, i)));
+            pares.elimina(new Par(i % 3, i));
+            Assert.assertFalse(pares.contiene(new Par(i % 3, i)));
+        }
+        Assert.assertTrue(pares.getElementos() == total / 2);
+        for (int i = total - 2; i >= 0; i -= 2)
+            Assert.assertTrue(pares.contiene(new Par(i % 3, i)));
+        Assert.assertFalse(pares.contiene(new Par(0, total)));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#contiene}.
+     */
+    @Test public void testContiene() {
+        Assert.assertFalse(lista.contiene(0));
+        Assert.assertFalse(lista.contiene(null));
+        for (int i = 0; i < total; i++)
+            lista.agrega(2 * i);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(lista.contiene(2 * i));
+            Assert.assertFalse(lista.contiene(2 * i + 1));
+        }
+        Assert.assertFalse(lista.contiene(-1));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#piso} y {@link
+     * ListaOrdenada#techo}.
+     */
+    @Test public void testPisoTecho() {
+        try {
+            lista.piso(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(lista.piso(0) == null);
+        Assert.assertTrue(lista.techo(0) == null);
+        for (int i = 1; i <= total; i++)
+            lista.agrega(10 * i);
+        Assert.assertTrue(lista.piso(9) == null);
+        Assert.assertTrue(lista.techo(9) == 10);
+        Assert.assertTrue(lista.piso(10 * total + 1) == 10 * total);
+        Assert.assertTrue(lista.techo(10 * total + 1) == null);
+        for (int i = 1; i <= total; i++) {
+            Assert.assertTrue(lista.piso(10 * i) == 10 * i);
+            Assert.assertTrue(lista.techo(10 * i) == 10 * i);
+            int r = 10 * i + 1 + random.nextInt(9);
+            Assert.assertTrue(lista.piso(r) == 10 * i);
+            if (i < total)
+                Assert.assertTrue(lista.techo(r) == 10 * (i + 1));
+        }
+        try {
+            lista.piso(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.techo(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#rango}.
+     */
+    @Test public void testRango() {
+        try {
+            lista.rango(null, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(lista.rango(0, total).esVacia());
+        for (int i = 0; i < total; i++) {
+            lista.agrega(i);
+            lista.agrega(i);
+        }
+        int desde = random.nextInt(total);
+        int hasta = desde + random.nextInt(total - desde);
+        Lista<Integer> rango = lista.rango(desde, hasta);
+        Assert.assertTrue(rango.getLongitud() == 2 * (hasta - desde + 1));
+        int i = 0;
+        for (int e : rango)
+            Assert.assertTrue(e == desde + i++ / 2);
+        Assert.assertTrue(lista.rango(hasta + 1, desde).esVacia());
+        Assert.assertTrue(lista.rango(-10, -1).esVacia());
+        Assert.assertTrue(lista.rango(-1, total).getLongitud() == 2 * total);
+        try {
+            lista.rango(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#getPrimero} y {@link
+     * ListaOrdenada#getUltimo}.
+     */
+    @Test public void testPrimeroUltimo() {
+        try {
+            lista.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.getUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt();
+            lista.agrega(e);
+            min = Math.min(min, e);
+            max = Math.max(max, e);
+            Assert.assertTrue(lista.getPrimero() == min);
+            Assert.assertTrue(lista.getUltimo() == max);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada} con muchos elementos.
+     */
+    @Test public void testGrande() {
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            lista.agrega(random.nextInt(n) * 2);
+        for (int i = 0; i < n; i++) {
+            int e = 2 * random.nextInt(n) + 1;
+            Assert.assertFalse(lista.contiene(e));
+            Integer p = lista.piso(e), t = lista.techo(e);
+            Assert.assertTrue(p == null || p < e);
+            Assert.assertTrue(t == null || t > e);
+        }
+        Assert.assertTrue(lista.getElementos() == n);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        lista.limpia();
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertFalse(lista.contiene(0));
+        Assert.assertFalse(lista.iterator().hasNext());
+        lista.agrega(1);
+        Assert.assertTrue(lista.getUltimo() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#toString}.
+     */
+    @Test public void testToString() {
+        Lista<Integer> control = new Lista<Integer>();
+        Assert.assertTrue(lista.toString().equals(control.toString()));
+        for (int i = 0; i < total; i++) {
+            lista.agrega(total - i);
+            control.agregaInicio(total - i);
+        }
+        Assert.assertTrue(lista.toString().equals(control.toString()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#escribe}.
+     */
+    @Test public void testEscribe() {
+        for (int i = 0; i < total; i++)
+            lista.agrega(random.nextInt(total));
+        StringWriter salida = new StringWriter();
+        try {
+            lista.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        Assert.assertTrue(salida.toString().equals(lista.toString()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#equals}.
+     */
+    @Test public void testEquals() {
+        ListaOrdenada<Integer> otra = new ListaOrdenada<Integer>();
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertTrue(lista.equals(otra));
+        for (int i = 0; i < total; i++) {
+            lista.agrega(i);
+            otra.agrega(total - 1 - i);
+        }
+        Assert.assertTrue(lista.equals(otra));
+        otra.elimina(0);
+        Assert.assertFalse(lista.equals(otra));
+        otra.agrega(-1);
+        Assert.assertFalse(lista.equals(otra));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaOrdenada#iterator}.
+     */
+    @Test public void testIterador() {
+        Iterator<Integer> iterador = lista.iterator();
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agrega(total - 1 - i);
+        iterador = lista.iterator();
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(iterador.next() == i);
+        Assert.assertFalse(iterador.hasNext());
+    }
+}
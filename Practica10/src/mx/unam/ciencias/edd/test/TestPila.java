@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.Cola;
@@ -147,6 +149,28 @@ public class TestPila {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Pila#escribe}.
+     */
+    @Test public void testEscribe() {
+        int n = 1000000;
+        for (int i = 0; i < n; i++)
+            pila.mete(i % 10);
+        StringWriter salida = new StringWriter();
+        try {
+            pila.escribe(salida);
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+        String s = salida.toString();
+        Assert.assertTrue(s.length() == 2 * n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(s.charAt(2 * i) == '0' + (n - 1 - i) % 10);
+            Assert.assertTrue(s.charAt(2 * i + 1) == '\n');
+        }
+        Assert.assertTrue(s.equals(pila.toString()));
+    }
+
     /**
      * Prueba unitaria para {@link Pila#equals}.
      */
@@ -0,0 +1,145 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaArreglo}.
+ */
+public class TestPilaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La pila. */
+    private PilaArreglo<Integer> pila;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra pila, y una pila.
+     */
+    public TestPilaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        pila = new PilaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#PilaArreglo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(pila.esVacia());
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nse) {}
+        pila = new PilaArreglo<Integer>(total);
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            pila.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int r = 0; r < 2; r++) {
+            for (int i = 0; i < total; i++)
+                pila.mete(i);
+            int c = total;
+            while (!pila.esVacia())
+                Assert.assertTrue(pila.saca() == --c);
+            Assert.assertTrue(c == 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#saca}.
+     */
+    @Test public void testSaca() {
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] a = new int[total * 10];
+        int n = 0;
+        for (int r = 0; r < total * 10; r++) {
+            if (n == 0 || random.nextInt(3) > 0) {
+                a[n] = random.nextInt();
+                pila.mete(a[n++]);
+            } else {
+                Assert.assertTrue(pila.saca() == a[--n]);
+            }
+        }
+        while (n > 0)
+            Assert.assertTrue(pila.saca() == a[--n]);
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertTrue(pila.mira() == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(pila.esVacia());
+        pila.mete(1);
+        Assert.assertFalse(pila.esVacia());
+        pila.saca();
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#toString}.
+     */
+    @Test public void testToString() {
+        Pila<Integer> control = new Pila<Integer>();
+        Assert.assertTrue(pila.toString().equals(""));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            control.mete(i);
+            Assert.assertTrue(pila.toString().equals(control.toString()));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(""));
+        Assert.assertFalse(pila.equals(new Pila<Integer>()));
+        PilaArreglo<Integer> pila2 = new PilaArreglo<Integer>();
+        Assert.assertTrue(pila.equals(pila2));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertFalse(pila.equals(pila2));
+            pila2.mete(i);
+            Assert.assertTrue(pila.equals(pila2));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaInt;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaInt}.
+ */
+public class TestPilaInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La pila. */
+    private PilaInt pila;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra pila, y una pila.
+     */
+    public TestPilaInt() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        pila = new PilaInt();
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#PilaInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(pila.esVacia());
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nse) {}
+        pila = new PilaInt(total);
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#mete}.
+     */
+    @Test public void testMete() {
+        for (int r = 0; r < 2; r++) {
+            for (int i = 0; i < total; i++)
+                pila.mete(i);
+            int c = total;
+            while (!pila.esVacia())
+                Assert.assertTrue(pila.saca() == --c);
+            Assert.assertTrue(c == 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#saca}.
+     */
+    @Test public void testSaca() {
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] a = new int[total * 10];
+        int n = 0;
+        for (int r = 0; r < total * 10; r++) {
+            if (n == 0 || random.nextInt(3) > 0) {
+                a[n] = random.nextInt();
+                pila.mete(a[n++]);
+            } else {
+                Assert.assertTrue(pila.saca() == a[--n]);
+            }
+        }
+        while (n > 0)
+            Assert.assertTrue(pila.saca() == a[--n]);
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertTrue(pila.mira() == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(pila.esVacia());
+        pila.mete(1);
+        Assert.assertFalse(pila.esVacia());
+        pila.saca();
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#getElementos} y {@link
+     * PilaInt#limpia}.
+     */
+    @Test public void testGetElementosLimpia() {
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertTrue(pila.getElementos() == i + 1);
+        }
+        pila.saca();
+        Assert.assertTrue(pila.getElementos() == total - 1);
+        pila.limpia();
+        Assert.assertTrue(pila.esVacia());
+        Assert.assertTrue(pila.getElementos() == 0);
+        pila.mete(total);
+        Assert.assertTrue(pila.mira() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#toString}.
+     */
+    @Test public void testToString() {
+        Pila<Integer> control = new Pila<Integer>();
+        Assert.assertTrue(pila.toString().equals(""));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            control.mete(i);
+            Assert.assertTrue(pila.toString().equals(control.toString()));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaInt#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(""));
+        Assert.assertFalse(pila.equals(new Pila<Integer>()));
+        PilaInt pila2 = new PilaInt();
+        Assert.assertTrue(pila.equals(pila2));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertFalse(pila.equals(pila2));
+            pila2.mete(i);
+            Assert.assertTrue(pila.equals(pila2));
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
 import java.util.Comparator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 
 
@@ -96,6 +98,10 @@ public class Lista<T> implements Coleccion<T> {
     private Nodo rabo;
     /* Número de elementos en la lista. */
     private int longitud;
+    /* El último nodo visitado por índice; null si no hay uno válido. */
+    private Nodo cursor;
+    /* El índice del cursor. */
+    private int indiceCursor;
 
     /**
      * Regresa la longitud de la lista. El método es idéntico a {@link
@@ -186,6 +192,7 @@ public class Lista<T> implements Coleccion<T> {
         	cabeza = n;
         }
         longitud ++;
+        indiceCursor++;
     }
 
     /**
@@ -205,38 +212,46 @@ public class Lista<T> implements Coleccion<T> {
      */
     public void inserta(int i, T elemento) {
         if (elemento == null)
-        	throw new IllegalArgumentException();
-        	if(i >= getLongitud() ) 
-        	{
-        		
-        		agregaFinal(elemento);
-        		return;
-        	}
-    
-    if (i <= 0) 
-    {
-    agregaInicio(elemento);	
-    return;
-    
+            throw new IllegalArgumentException();
+        if (i <= 0) {
+            agregaInicio(elemento);
+            return;
+        }
+        if (i >= longitud) {
+            agregaFinal(elemento);
+            return;
+        }
+        Nodo t = nodo(i);
+        Nodo e = new Nodo(elemento);
+        e.anterior = t.anterior;
+        e.siguiente = t;
+        t.anterior.siguiente = e;
+        t.anterior = e;
+        longitud++;
+        cursor = e;
     }
-    	
-    int contador = 0;
-    Nodo e = new Nodo(elemento);
-    Nodo t = cabeza;
-    while(t != null) {
-    	if (contador == i) {
-    		Nodo b = t.anterior;
-    		t.anterior = e;
-    		e.siguiente = t;
-    		b.siguiente = e;
-    		e.anterior = b;
-    		longitud ++;
-    		break;
-    		
-    	}
-    t = t.siguiente;
-    contador ++;
+
+    /* Regresa el primer nodo cuyo elemento es igual al recibido, o null si
+     * no hay ninguno. */
+    private Nodo buscaNodo(T elemento) {
+        Nodo n = cabeza;
+        while (n != null && !n.elemento.equals(elemento))
+            n = n.siguiente;
+        return n;
     }
+
+    /* Desliga el nodo de la lista. */
+    private void desliga(Nodo nodo) {
+        if (nodo.anterior == null)
+            cabeza = nodo.siguiente;
+        else
+            nodo.anterior.siguiente = nodo.siguiente;
+        if (nodo.siguiente == null)
+            rabo = nodo.anterior;
+        else
+            nodo.siguiente.anterior = nodo.anterior;
+        longitud--;
+        cursor = null;
     }
 
     /**
@@ -244,38 +259,41 @@ public class Lista<T> implements Coleccion<T> {
      * lista, el método no la modifica.
      * @param elemento el elemento a eliminar.
      */
-    
-    private Nodo buscaNodo(Nodo a, T elemento) {
-    if (a == null)
-    	return null;
-    if(a.elemento.equals(elemento))
-    	return a;
-    return buscaNodo(a.siguiente,elemento);
-    
-    }
-    
-    
-    
     @Override public void elimina(T elemento) {
-        Nodo nodo = buscaNodo(cabeza,elemento);
-        if (nodo == null) {
-        	return;
-        }else if (cabeza == rabo) {
-        	cabeza = rabo = null;
-        }else if (cabeza == nodo) {
-        		
-        	cabeza = cabeza.siguiente;
-        	cabeza.anterior = null;
-        }else if (rabo==nodo) {
-        	rabo = rabo.anterior;
-        	rabo.siguiente = null;
-        }else {
-        	nodo.siguiente.anterior = nodo.anterior;
-        	nodo.anterior.siguiente = nodo.siguiente;
+        Nodo nodo = buscaNodo(elemento);
+        if (nodo != null)
+            desliga(nodo);
+    }
+
+    /**
+     * Elimina de la lista todos los elementos que cumplen el predicado, en
+     * una sola pasada.
+     * @param predicado el predicado que decide qué elementos eliminar.
+     * @return el número de elementos eliminados.
+     */
+    public int eliminaTodos(Predicate<? super T> predicado) {
+        int eliminados = 0;
+        Nodo n = cabeza;
+        while (n != null) {
+            Nodo siguiente = n.siguiente;
+            if (predicado.test(n.elemento)) {
+                desliga(n);
+                eliminados++;
+            }
+            n = siguiente;
         }
-        longitud --;
-        
-    }	
+        return eliminados;
+    }
+
+    /**
+     * Deja en la lista únicamente los elementos que cumplen el predicado, en
+     * una sola pasada.
+     * @param predicado el predicado que decide qué elementos conservar.
+     * @return el número de elementos eliminados.
+     */
+    public int retiene(Predicate<? super T> predicado) {
+        return eliminaTodos(e -> !predicado.test(e));
+    }
 
     /**
      * Elimina el primer elemento de la lista y lo regresa.
@@ -287,14 +305,17 @@ public class Lista<T> implements Coleccion<T> {
         	throw new NoSuchElementException();
          if (cabeza == rabo) {
         	 T elemento = cabeza.elemento;
-         cabeza = rabo = null;
+         cabeza = rabo = cursor = null;
          longitud --;
          return elemento ;
     }
+    if (cursor == cabeza)
+        cursor = null;
     T elemento = cabeza.elemento;
     cabeza = cabeza.siguiente;
     cabeza.anterior = null;
     longitud --;
+    indiceCursor--;
     return elemento;
     }
 
@@ -308,11 +329,13 @@ public class Lista<T> implements Coleccion<T> {
       throw new   	NoSuchElementException();
         if (cabeza == rabo) {
         	T elemento = rabo.elemento;
-        	cabeza = rabo = null;
+        	cabeza = rabo = cursor = null;
         	longitud --;
         	return elemento;
         	
         }
+    if (cursor == rabo)
+        cursor = null;
     T elemento = rabo.elemento;
     rabo = rabo.anterior;
     rabo.siguiente = null;
@@ -330,12 +353,7 @@ public class Lista<T> implements Coleccion<T> {
      *         <tt>false</tt> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
-        for(T t : this) {
-        	if(t.equals(elemento))
-        		return true;
-        	
-        }
-        return false;
+        return buscaNodo(elemento) != null;
     }
 
     /**
@@ -373,6 +391,7 @@ public class Lista<T> implements Coleccion<T> {
         cabeza = null;
         rabo = null;
         longitud = 0;
+        cursor = null;
     }
 
     /**
@@ -406,15 +425,34 @@ public class Lista<T> implements Coleccion<T> {
      *         igual que el número de elementos en la lista.
      */
     public T get(int i) {
-        int contador = 0;
-        for(T t:this) {
-        	if(contador == i) 
-        		return t;
-        		contador ++;
-        	
-        
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+        return nodo(i).elemento;
+    }
+
+    /* Regresa el nodo con índice i, 0 <= i < longitud. Se camina desde el
+     * extremo o desde el cursor más cercano al índice, y el nodo encontrado
+     * queda como cursor; así los recorridos por índices consecutivos
+     * toman tiempo constante por paso. */
+    private Nodo nodo(int i) {
+        Nodo n = cabeza;
+        int j = 0;
+        if (longitud - 1 - i < i) {
+            n = rabo;
+            j = longitud - 1;
         }
-    throw new ExcepcionIndiceInvalido();
+        if (cursor != null &&
+            Math.abs(i - indiceCursor) < Math.abs(i - j)) {
+            n = cursor;
+            j = indiceCursor;
+        }
+        for (; j < i; j++)
+            n = n.siguiente;
+        for (; j > i; j--)
+            n = n.anterior;
+        cursor = n;
+        indiceCursor = i;
+        return n;
     }
 
     /**
@@ -440,13 +478,24 @@ return -1;
      * @return una representación en cadena de la lista.
      */
     @Override public String toString() {
-        String cadena = "[";
-        for(T t: this) {
-        	cadena += cadena.equals("[") ? t.toString() : ", " + t.toString();
-        
-        }
-        return cadena + "]";
+        return Escritura.cadena(this::escribe);
+    }
+
+    /**
+     * Escribe la representación en cadena de la lista en la salida recibida,
+     * elemento por elemento y sin construir cadenas intermedias.
+     * @param salida la salida donde se escribe la lista.
+     * @throws IOException si la salida no puede escribirse.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        salida.append('[');
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            if (n != cabeza)
+                salida.append(", ");
+            salida.append(n.elemento.toString());
         }
+        salida.append(']');
+    }
 
     /**
      * Nos dice si la lista es igual al objeto recibido.
@@ -485,76 +534,122 @@ return -1;
         return new Iterador();
     }
 
+    /**
+     * Mezcla dos listas ordenadas con el mismo comparador en una nueva lista
+     * ordenada. Las listas se recorren nodo por nodo, por lo que la mezcla
+     * toma tiempo lineal; en caso de empate se toma primero el elemento de
+     * <code>i</code>, por lo que la mezcla es estable.
+     * @param <T> tipo del que pueden ser las listas.
+     * @param i la primera lista ordenada.
+     * @param d la segunda lista ordenada.
+     * @param c el comparador con el que están ordenadas las listas.
+     * @return una nueva lista con los elementos de ambas listas, ordenada.
+     */
+    public static <T> Lista<T> merge(Lista<T> i, Lista<T> d,
+                                     Comparator<T> c) {
+        Lista<T> lista = new Lista<T>();
+        Lista<T>.Nodo a = i.cabeza;
+        Lista<T>.Nodo b = d.cabeza;
+        while (a != null && b != null) {
+            if (c.compare(a.elemento, b.elemento) <= 0) {
+                lista.agrega(a.elemento);
+                a = a.siguiente;
+            } else {
+                lista.agrega(b.elemento);
+                b = b.siguiente;
+            }
+        }
+        for (; a != null; a = a.siguiente)
+            lista.agrega(a.elemento);
+        for (; b != null; b = b.siguiente)
+            lista.agrega(b.elemento);
+        return lista;
+    }
+
     /**
      * Regresa una copia de la lista, pero ordenada. Para poder hacer el
      * ordenamiento, el método necesita una instancia de {@link Comparator} para
-     * poder comparar los elementos de la lista.
+     * poder comparar los elementos de la lista. El ordenamiento es estable.
      * @param comparador el comparador que la lista usará para hacer el
      *                   ordenamiento.
      * @return una copia de la lista, pero ordenada.
      */
-    public  static <T> Lista<T> merge(Lista <T> i, Lista <T> d,Comparator <T> c){
-   	 
-        int n1 = i.getLongitud();
-        int n2 = d.getLongitud();
- 
-  
- 
- Lista<T> list = new Lista<>();
-   
-  
-        int n  = 0, j = 0;
- 
- 
-      
-        while (n <n1 && j < n2)
-        { 
-            if (c.compare(i.get(n), d.get(j)) <= 0)
-            {
-                list.agrega(i.get(n));
-                n ++;
-                
-            }
-            else
-            {
-               list.agrega(d.get(j));;
-                j++;
+    public Lista<T> mergeSort(Comparator<T> comparador) {
+        Lista<T> lista = copia();
+        lista.ordena(comparador);
+        return lista;
+    }
+
+    /**
+     * Ordena la lista en su lugar usando el comparador recibido. Se usa
+     * MergeSort de abajo hacia arriba religando los nodos existentes: los
+     * nodos se toman uno por uno y se van mezclando en corridas ordenadas de
+     * tamaño 1, 2, 4, ..., como en un contador binario, por lo que las
+     * mezclas pequeñas se hacen mientras sus nodos siguen en caché. El
+     * ordenamiento toma tiempo <i>O</i>(<i>n</i> log <i>n</i>), es estable y
+     * no crea nodos ni listas auxiliares.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud < 2)
+            return;
+        /* corridas[k] es null o una corrida ordenada de 2^k nodos, con
+         * nodos anteriores en la lista que los de corridas[k-1]. */
+        @SuppressWarnings("unchecked") Nodo[] corridas =
+            (Nodo[])new Lista.Nodo[Integer.SIZE];
+        Nodo nodo = cabeza;
+        while (nodo != null) {
+            Nodo corrida = nodo;
+            nodo = nodo.siguiente;
+            corrida.siguiente = null;
+            int k = 0;
+            for (; corridas[k] != null; k++) {
+                corrida = mezcla(corridas[k], corrida, comparador);
+                corridas[k] = null;
             }
-            
+            corridas[k] = corrida;
         }
- 
-  
-        while (n<n1)
-        {
-       	 list.agrega(i.get(n));
-            n++;
-            
+        Nodo ordenada = null;
+        for (Nodo corrida : corridas)
+            if (corrida != null)
+                ordenada = ordenada == null ? corrida :
+                    mezcla(corrida, ordenada, comparador);
+        cabeza = ordenada;
+        cursor = null;
+        Nodo anterior = null;
+        for (nodo = cabeza; nodo != null; nodo = nodo.siguiente) {
+            nodo.anterior = anterior;
+            anterior = nodo;
         }
- 
-        
-        while (j < n2)
-        {
-       	 list.agrega(d.get(j));
-            j++;
-            
-        }
-   return list;
-   }
+        rabo = anterior;
+    }
 
-    
-public Lista<T> mergeSort(Comparator<T> comparador) {
-    	
-    	
-    	if(cabeza == rabo) return copia();
-        Lista<T> li = new Lista<>();
-        Lista<T> ld = new Lista<>();
-        int c = 0;
-        for (T el : this) {
-             
-            Lista<T> ll = (c++ < getLongitud()/2) ? li : ld;
-            ll.agrega(el);
+    /* Mezcla las cadenas ordenadas a y b, ligadas sólo por siguiente, y
+     * regresa el inicio de la cadena mezclada. En caso de empate toma
+     * primero el nodo de a. */
+    private Nodo mezcla(Nodo a, Nodo b, Comparator<T> comparador) {
+        Nodo inicio, ultimo;
+        if (comparador.compare(a.elemento, b.elemento) <= 0) {
+            inicio = a;
+            a = a.siguiente;
+        } else {
+            inicio = b;
+            b = b.siguiente;
+        }
+        ultimo = inicio;
+        while (a != null && b != null) {
+            if (comparador.compare(a.elemento, b.elemento) <= 0) {
+                ultimo.siguiente = a;
+                a = a.siguiente;
+            } else {
+                ultimo.siguiente = b;
+                b = b.siguiente;
+            }
+            ultimo = ultimo.siguiente;
         }
-        return merge(li.mergeSort(comparador), ld.mergeSort(comparador), comparador);
+        ultimo.siguiente = a != null ? a : b;
+        return inicio;
     }
 
     /**
@@ -571,20 +666,22 @@ public Lista<T> mergeSort(Comparator<T> comparador) {
 
     /**
      * Busca un elemento en la lista ordenada, usando el comparador recibido. El
-     * método supone que la lista está ordenada usando el mismo comparador.
+     * método supone que la lista está ordenada usando el mismo comparador, y
+     * deja de buscar en cuanto encuentra un elemento mayor que el buscado.
      * @param elemento el elemento a buscar.
      * @param comparador el comparador con el que la lista está ordenada.
      * @return <tt>true</tt> si elemento está contenido en la lista,
      *         <tt>false</tt> en otro caso.
      */
     public boolean busquedaLineal(T elemento, Comparator<T> comparador) {
-    	
-    	Lista<T> list = mergeSort(comparador); 
-    			for (T el :list )
-         if (comparador.compare(el, elemento)== 0) {
-        return true;
-        } 
-    			return false;
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            int c = comparador.compare(n.elemento, elemento);
+            if (c == 0)
+                return true;
+            if (c > 0)
+                return false;
+        }
+        return false;
     }
 
     /**
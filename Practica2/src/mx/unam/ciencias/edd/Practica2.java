@@ -47,25 +47,22 @@ public class Practica2 {
         for (int i = 0; i < N; i++)
             arreglo[i] = random.nextInt();
 
-        Integer[] is = new Integer[N];
+        int[] ss = new int[N];
         tiempoInicial = System.nanoTime();
         for (int i = 0; i < N; i++)
-            is[i] = arreglo[i];
+            ss[i] = arreglo[i];
         tiempoTotal = System.nanoTime() - tiempoInicial;
         System.out.printf("%2.9f segundos en llenar un arreglo con %s elementos.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
 
         tiempoInicial = System.nanoTime();
-        Arreglos.selectionSort(is);
+        Arreglos.selectionSort(ss);
         tiempoTotal = System.nanoTime() - tiempoInicial;
         System.out.printf("%2.9f segundos en ordenar un arreglo con %s elementos " +
                           "usando SelectionSort.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
 
-        Integer[] qs = new Integer[N];
-        for (int i = 0; i < N; i++)
-            qs[i] = arreglo[i];
-
+        int[] qs = arreglo.clone();
         tiempoInicial = System.nanoTime();
         Arreglos.quickSort(qs);
         tiempoTotal = System.nanoTime() - tiempoInicial;
@@ -73,6 +70,14 @@ public class Practica2 {
                           "usando QuickSort.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
 
+        int[] rs = arreglo.clone();
+        tiempoInicial = System.nanoTime();
+        Arreglos.radixSort(rs);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en ordenar un arreglo con %s elementos " +
+                          "usando RadixSort.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+
         int b = qs[random.nextInt(N)];
 
         tiempoInicial = System.nanoTime();
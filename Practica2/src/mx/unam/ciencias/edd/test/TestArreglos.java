@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Random;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
@@ -67,6 +68,181 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /* Regresa un arreglo de n elementos con el patrón recibido. */
+    private Integer[] patron(int p, int n) {
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            switch (p) {
+            case 0: a[i] = random.nextInt(); break;
+            case 1: a[i] = i; break;
+            case 2: a[i] = n - i; break;
+            case 3: a[i] = 7; break;
+            case 4: a[i] = random.nextInt(4); break;
+            case 5: a[i] = i < n / 2 ? i : n - i; break;
+            default: a[i] = i % 1000; break;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Object[],Comparator)}
+     * con arreglos ordenados, en reversa, con elementos repetidos y otros
+     * patrones que degeneran al QuickSort ingenuo.
+     */
+    @Test public void testQuickSortPatrones() {
+        int n = 100000;
+        long[] comparaciones = new long[1];
+        for (int p = 0; p < 7; p++) {
+            Integer[] a = patron(p, n);
+            Integer[] b = Arrays.copyOf(a, n);
+            Arrays.sort(b);
+            comparaciones[0] = 0;
+            Arreglos.quickSort(a, (x, y) -> {
+                    comparaciones[0]++;
+                    return x.compareTo(y);
+                });
+            Assert.assertTrue(Arrays.equals(a, b));
+            /* El peor caso es O(n log n); 17 ≈ log n. */
+            Assert.assertTrue(comparaciones[0] < 4L * n * 17);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Comparable[])} con
+     * arreglos de todas las longitudes pequeñas.
+     */
+    @Test public void testQuickSortPequenos() {
+        for (int n = 0; n < 300; n++) {
+            Integer[] a = new Integer[n];
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt(n / 2 + 1);
+            Integer[] b = Arrays.copyOf(a, n);
+            Arrays.sort(b);
+            Arreglos.quickSort(a);
+            Assert.assertTrue(Arrays.equals(a, b));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(int[])}, {@link
+     * Arreglos#quickSort(long[])} y {@link Arreglos#quickSort(double[])}.
+     */
+    @Test public void testQuickSortPrimitivos() {
+        for (int p = 0; p < 7; p++) {
+            int n = p == 0 ? total : 100000;
+            Integer[] a = patron(p, n);
+            int[] ia = new int[n];
+            long[] la = new long[n];
+            double[] da = new double[n];
+            for (int i = 0; i < n; i++) {
+                ia[i] = a[i];
+                la[i] = (long)a[i] << 20;
+                da[i] = a[i] / 3.0;
+            }
+            int[] ib = Arrays.copyOf(ia, n);
+            long[] lb = Arrays.copyOf(la, n);
+            double[] db = Arrays.copyOf(da, n);
+            Arrays.sort(ib);
+            Arrays.sort(lb);
+            Arrays.sort(db);
+            Arreglos.quickSort(ia);
+            Arreglos.quickSort(la);
+            Arreglos.quickSort(da);
+            Assert.assertTrue(Arrays.equals(ia, ib));
+            Assert.assertTrue(Arrays.equals(la, lb));
+            Assert.assertTrue(Arrays.equals(da, db));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(double[])} con ceros
+     * negativos y NaN.
+     */
+    @Test public void testQuickSortDouble() {
+        int n = 1000;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            switch (random.nextInt(4)) {
+            case 0: a[i] = -0.0; break;
+            case 1: a[i] = 0.0; break;
+            case 2: a[i] = Double.NaN; break;
+            default: a[i] = random.nextGaussian(); break;
+            }
+        }
+        double[] b = Arrays.copyOf(a, n);
+        Arrays.sort(b);
+        Arreglos.quickSort(a);
+        Assert.assertTrue(Arrays.equals(a, b));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#selectionSort(int[])}, {@link
+     * Arreglos#selectionSort(long[])} y {@link
+     * Arreglos#selectionSort(double[])}.
+     */
+    @Test public void testSelectionSortPrimitivos() {
+        int[] ia = new int[total];
+        long[] la = new long[total];
+        double[] da = new double[total];
+        for (int i = 0; i < total; i++) {
+            ia[i] = random.nextInt();
+            la[i] = random.nextLong();
+            da[i] = random.nextDouble() - 0.5;
+        }
+        int[] ib = Arrays.copyOf(ia, total);
+        long[] lb = Arrays.copyOf(la, total);
+        double[] db = Arrays.copyOf(da, total);
+        Arrays.sort(ib);
+        Arrays.sort(lb);
+        Arrays.sort(db);
+        Arreglos.selectionSort(ia);
+        Arreglos.selectionSort(la);
+        Arreglos.selectionSort(da);
+        Assert.assertTrue(Arrays.equals(ia, ib));
+        Assert.assertTrue(Arrays.equals(la, lb));
+        Assert.assertTrue(Arrays.equals(da, db));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#radixSort(int[])}.
+     */
+    @Test public void testRadixSortInt() {
+        for (int p = 0; p < 7; p++) {
+            int n = p == 0 ? total : 1000000;
+            int[] a = new int[n];
+            for (int i = 0; i < n; i++)
+                a[i] = p == 0 ? random.nextInt() : random.nextInt(p * 1000)
+                    - (p % 2 == 0 ? p * 500 : 0);
+            int[] b = Arrays.copyOf(a, n);
+            Arrays.sort(b);
+            Arreglos.radixSort(a);
+            Assert.assertTrue(Arrays.equals(a, b));
+        }
+        int[] extremos = { Integer.MAX_VALUE, -1, 0, Integer.MIN_VALUE, 1 };
+        Arreglos.radixSort(extremos);
+        Assert.assertTrue(Arrays.equals(extremos, new int[] {
+                    Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE }));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#radixSort(long[])}.
+     */
+    @Test public void testRadixSortLong() {
+        int n = 100000;
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextBoolean() ? random.nextLong() : i % 100;
+        long[] b = Arrays.copyOf(a, n);
+        Arrays.sort(b);
+        Arreglos.radixSort(a);
+        Assert.assertTrue(Arrays.equals(a, b));
+        long[] extremos = { Long.MAX_VALUE, -1, 0, Long.MIN_VALUE, 1 };
+        Arreglos.radixSort(extremos);
+        Assert.assertTrue(Arrays.equals(extremos, new long[] {
+                    Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE }));
+    }
+
     /**
      * Prueba unitaria para {@link Arreglos#selectionSort(Comparable[])}.
      */
@@ -120,4 +296,31 @@ public class TestArreglos {
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini - 1) == -1);
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini + total) == -1);
     }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#busquedaBinaria(int[],int)},
+     * {@link Arreglos#busquedaBinaria(long[],long)} y {@link
+     * Arreglos#busquedaBinaria(double[],double)}.
+     */
+    @Test public void testBusquedaBinariaPrimitivos() {
+        int ini = random.nextInt(total);
+        int[] ia = new int[total];
+        long[] la = new long[total];
+        double[] da = new double[total];
+        for (int i = 0; i < total; i++) {
+            ia[i] = 2 * (ini + i);
+            la[i] = 2L * (ini + i);
+            da[i] = 2.0 * (ini + i);
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(Arreglos.busquedaBinaria(ia, ia[i]) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(la, la[i]) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(da, da[i]) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(ia, ia[i] + 1) == -1);
+            Assert.assertTrue(Arreglos.busquedaBinaria(la, la[i] + 1) == -1);
+            Assert.assertTrue(Arreglos.busquedaBinaria(da, da[i] + 1) == -1);
+        }
+        Assert.assertTrue(Arreglos.busquedaBinaria(ia, -1) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(new int[0], 0) == -1);
+    }
 }
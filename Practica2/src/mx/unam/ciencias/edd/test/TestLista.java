@@ -1,5 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -280,6 +284,68 @@ public class TestLista {
         } catch (NoSuchElementException nsee) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#elimina} y {@link Lista#contiene}
+     * con una lista grande.
+     */
+    @Test public void testEliminaGrande() {
+        int n = 1000000;
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(i);
+        Assert.assertTrue(lista.contiene(n - 1));
+        Assert.assertFalse(lista.contiene(n));
+        lista.elimina(n);
+        lista.elimina(n - 1);
+        Assert.assertTrue(lista.getLongitud() == n - 1);
+        Assert.assertTrue(lista.getUltimo() == n - 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#eliminaTodos}.
+     */
+    @Test public void testEliminaTodos() {
+        Assert.assertTrue(lista.eliminaTodos(e -> true) == 0);
+        int m = 2 + random.nextInt(5);
+        int[] a = new int[total];
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total);
+            lista.agregaFinal(e);
+            if (e % m != 0)
+                a[n++] = e;
+        }
+        Assert.assertTrue(lista.eliminaTodos(e -> e % m == 0) == total - n);
+        listaValida(lista);
+        Assert.assertTrue(lista.getLongitud() == n);
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == a[i++]);
+        Assert.assertTrue(lista.eliminaTodos(e -> true) == n);
+        Assert.assertTrue(lista.esVacia());
+        lista.agrega(1);
+        Assert.assertTrue(lista.getPrimero() == 1);
+        Assert.assertTrue(lista.getUltimo() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#retiene}.
+     */
+    @Test public void testRetiene() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(i);
+        Assert.assertTrue(lista.retiene(e -> e % 2 == 1) == total - total / 2);
+        listaValida(lista);
+        Assert.assertTrue(lista.getLongitud() == total / 2);
+        int i = 1;
+        for (int e : lista) {
+            Assert.assertTrue(e == i);
+            i += 2;
+        }
+        Assert.assertTrue(lista.retiene(e -> true) == 0);
+        Assert.assertTrue(lista.retiene(e -> false) == total / 2);
+        Assert.assertTrue(lista.esVacia());
+    }
+
     /**
      * Prueba unitaria para {@link Lista#eliminaPrimero}.
      */
@@ -483,6 +549,75 @@ public class TestLista {
         } catch (ExcepcionIndiceInvalido eii) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#get} con recorridos secuenciales en
+     * una lista grande.
+     */
+    @Test public void testGetSecuencial() {
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(i);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(lista.get(i) == i);
+        for (int i = n - 1; i >= 0; i--)
+            Assert.assertTrue(lista.get(i) == i);
+        for (int i = 0; i < n; i += 2)
+            Assert.assertTrue(lista.get(i) == i);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#get} intercalado con operaciones que
+     * modifican la lista.
+     */
+    @Test public void testGetModificaciones() {
+        int[] a = new int[total * 4];
+        int n = 0;
+        for (int r = 0; r < total * 8; r++) {
+            int i = n == 0 ? 0 : random.nextInt(n);
+            switch (n == a.length ? 1 + random.nextInt(3) : random.nextInt(5)) {
+            case 0:
+                int e = random.nextInt(total);
+                lista.inserta(i, e);
+                for (int j = n; j > i; j--)
+                    a[j] = a[j - 1];
+                a[i] = e;
+                n++;
+                break;
+            case 1:
+                if (n == 0)
+                    break;
+                Assert.assertTrue(lista.eliminaPrimero() == a[0]);
+                for (int j = 0; j < n - 1; j++)
+                    a[j] = a[j + 1];
+                n--;
+                break;
+            case 2:
+                if (n == 0)
+                    break;
+                Assert.assertTrue(lista.eliminaUltimo() == a[--n]);
+                break;
+            case 3:
+                lista.agregaInicio(-r);
+                for (int j = n; j > 0; j--)
+                    a[j] = a[j - 1];
+                a[0] = -r;
+                n++;
+                break;
+            default:
+                lista.agregaFinal(r);
+                a[n++] = r;
+            }
+            Assert.assertTrue(lista.getLongitud() == n);
+            if (n > 0) {
+                i = random.nextInt(n);
+                Assert.assertTrue(lista.get(i) == a[i]);
+            }
+        }
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        listaValida(lista);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#indiceDe}.
      */
@@ -516,6 +651,29 @@ public class TestLista {
         Assert.assertTrue(s.equals(lista.toString()));
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#escribe}.
+     */
+    @Test public void testEscribe() {
+        StringWriter salida = new StringWriter();
+        try {
+            lista.escribe(salida);
+            Assert.assertTrue(salida.toString().equals("[]"));
+            int n = 1000000;
+            for (int i = 0; i < n; i++)
+                lista.agrega(i % 10);
+            salida = new StringWriter();
+            lista.escribe(salida);
+            String s = salida.toString();
+            Assert.assertTrue(s.length() == 3 * n);
+            Assert.assertTrue(s.startsWith("[0, 1, 2"));
+            Assert.assertTrue(s.endsWith("8, 9]"));
+            Assert.assertTrue(s.equals(lista.toString()));
+        } catch (IOException ioe) {
+            Assert.fail();
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Lista#equals}.
      */
@@ -692,6 +850,70 @@ public class TestLista {
         listaValida(ordenada);
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#ordena}.
+     */
+    @Test public void testOrdena() {
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.esVacia());
+        int n = total * 10 + random.nextInt(total);
+        Integer[] arreglo = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            arreglo[i] = random.nextInt(total);
+            lista.agregaFinal(arreglo[i]);
+        }
+        /* Compara sólo decenas, para probar la estabilidad. */
+        Comparator<Integer> decenas = (a, b) -> a / 10 - b / 10;
+        Arrays.sort(arreglo, decenas);
+        lista.ordena(decenas);
+        listaValida(lista);
+        Assert.assertTrue(lista.getLongitud() == n);
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == arreglo[i++]);
+        IteradorLista<Integer> iterador = lista.iteradorLista();
+        iterador.end();
+        while (iterador.hasPrevious())
+            Assert.assertTrue(iterador.previous() == arreglo[--i]);
+        Assert.assertTrue(lista.getUltimo() == arreglo[n - 1]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordena} con una lista grande.
+     */
+    @Test public void testOrdenaGrande() {
+        int n = 500000;
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(random.nextInt());
+        lista.ordena((a, b) -> b.compareTo(a));
+        Assert.assertTrue(lista.getLongitud() == n);
+        int a = lista.getPrimero();
+        for (int e : lista) {
+            Assert.assertTrue(a >= e);
+            a = e;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#merge}.
+     */
+    @Test public void testMerge() {
+        Lista<Integer> otra = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            lista.agregaFinal(2 * i);
+            otra.agregaFinal(2 * i + 1);
+        }
+        Lista<Integer> mezcla = Lista.merge(lista, otra,
+                                            (a, b) -> a.compareTo(b));
+        listaValida(mezcla);
+        Assert.assertTrue(mezcla.getLongitud() == 2 * total);
+        int i = 0;
+        for (int e : mezcla)
+            Assert.assertTrue(e == i++);
+        Assert.assertTrue(lista.getLongitud() == total);
+        Assert.assertTrue(otra.getLongitud() == total);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */